@@ -0,0 +1,177 @@
+package com.bankingapi.colunar;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bankingapi.enums.TipoTransacao;
+import com.bankingapi.utils.Centavos;
+
+/**
+ * Leitura de transações exportadas: CSV (uma linha por transação, como um export textual)
+ * contra o arquivo colunar, com as mesmas linhas.
+ * <p>
+ * {@code somarPix} soma o valor das transações PIX de um dia: no CSV toda linha é lida e
+ * quebrada; no colunar os grupos fora do dia são pulados pelo rodapé e só as colunas de data,
+ * tipo e valor são decodificadas. {@code lerTudo} materializa todas as colunas de todas as linhas.
+ * Os tamanhos dos dois arquivos são impressos no setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeitorColunarBenchmark {
+
+    private static final List<String> TIPOS = Arrays.stream(TipoTransacao.values()).map(Enum::name).toList();
+    private static final String[] DESCRICOES = {"Depósito em dinheiro", "Saque no caixa", "Transferência entre contas",
+            "PIX recebido", "Rendimento da poupança", "Tarifa de manutenção"};
+    private static final LocalDateTime INICIO = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final int DIAS = 30;
+
+    @Param({"1000000"})
+    public int quantidade;
+
+    private Path diretorio;
+    private Path csv;
+    private Path colunar;
+    private LeitorColunar leitor;
+    private int codigoPix;
+    private LocalDateTime dia;
+    private LocalDateTime diaSeguinte;
+
+    @Setup
+    public void setup() throws IOException {
+        diretorio = Files.createTempDirectory("bktx-benchmark");
+        csv = diretorio.resolve("transacoes.csv");
+        colunar = diretorio.resolve("transacoes.bktx");
+        SplittableRandom random = new SplittableRandom(42);
+        long intervaloMicros = DIAS * 86_400_000_000L / quantidade;
+        try (BufferedWriter texto = Files.newBufferedWriter(csv, StandardCharsets.UTF_8);
+             OutputStream binario = new BufferedOutputStream(Files.newOutputStream(colunar), 64 * 1024)) {
+            EscritorColunar escritor = new EscritorColunar(binario, TIPOS, 65536);
+            texto.write("id,data,tipo,valor,origem,destino,descricao\n");
+            for (int i = 0; i < quantidade; i++) {
+                long id = i + 1;
+                LocalDateTime data = INICIO.plusNanos(i * intervaloMicros * 1000);
+                int tipo = random.nextInt(TIPOS.size());
+                long valor = 1 + random.nextLong(500_000);
+                long origem = tipo == TipoTransacao.DEPOSITO.ordinal() ? 0 : 1 + random.nextLong(100_000);
+                long destino = tipo == TipoTransacao.SAQUE.ordinal() || tipo == TipoTransacao.TARIFA.ordinal()
+                        ? 0 : 1 + random.nextLong(100_000);
+                String descricao = DESCRICOES[tipo];
+                escritor.escrever(id, data, tipo, valor, origem, destino, descricao);
+                texto.write(id + "," + data + "," + TIPOS.get(tipo) + "," + Centavos.paraBigDecimal(valor) + ","
+                        + (origem == 0 ? "" : origem) + "," + (destino == 0 ? "" : destino) + "," + descricao + "\n");
+            }
+            escritor.finalizar();
+        }
+        System.out.printf("%n%d transações: CSV %,d bytes, colunar %,d bytes%n",
+                quantidade, Files.size(csv), Files.size(colunar));
+        leitor = LeitorColunar.abrir(colunar);
+        codigoPix = leitor.codigoTipo(TipoTransacao.PIX.name());
+        dia = INICIO.plusDays(DIAS / 2);
+        diaSeguinte = dia.plusDays(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        leitor.close();
+        Files.deleteIfExists(csv);
+        Files.deleteIfExists(colunar);
+        Files.deleteIfExists(diretorio);
+    }
+
+    @Benchmark
+    public BigDecimal somarPixCsv() throws IOException {
+        BigDecimal total = BigDecimal.ZERO;
+        try (BufferedReader linhas = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            linhas.readLine();
+            String linha;
+            while ((linha = linhas.readLine()) != null) {
+                String[] campos = linha.split(",", -1);
+                LocalDateTime data = LocalDateTime.parse(campos[1]);
+                if ("PIX".equals(campos[2]) && !data.isBefore(dia) && data.isBefore(diaSeguinte)) {
+                    total = total.add(new BigDecimal(campos[3]));
+                }
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long somarPixColunar() throws IOException {
+        long inicio = FormatoColunar.paraMicros(dia);
+        long fim = FormatoColunar.paraMicros(diaSeguinte);
+        long total = 0;
+        for (GrupoLinhas grupo : leitor.grupos()) {
+            if (!grupo.contemTipo(codigoPix) || !grupo.intersectaDatas(dia, diaSeguinte)) {
+                continue;
+            }
+            VarreduraColunar linhas = leitor.varrer(grupo);
+            while (linhas.proxima()) {
+                long data = linhas.dataMicros();
+                if (linhas.codigoTipo() == codigoPix && data >= inicio && data < fim) {
+                    total += linhas.valorCentavos();
+                }
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long lerTudoCsv() throws IOException {
+        long soma = 0;
+        try (BufferedReader linhas = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            linhas.readLine();
+            String linha;
+            while ((linha = linhas.readLine()) != null) {
+                String[] campos = linha.split(",", -1);
+                soma += Long.parseLong(campos[0]) + LocalDateTime.parse(campos[1]).getNano()
+                        + TipoTransacao.valueOf(campos[2]).ordinal() + Centavos.de(new BigDecimal(campos[3]))
+                        + (campos[4].isEmpty() ? 0 : Long.parseLong(campos[4]))
+                        + (campos[5].isEmpty() ? 0 : Long.parseLong(campos[5])) + campos[6].length();
+            }
+        }
+        return soma;
+    }
+
+    @Benchmark
+    public long lerTudoColunar() throws IOException {
+        long soma = 0;
+        for (GrupoLinhas grupo : leitor.grupos()) {
+            VarreduraColunar linhas = leitor.varrer(grupo);
+            while (linhas.proxima()) {
+                soma += linhas.id() + linhas.data().getNano() + linhas.codigoTipo() + linhas.valorCentavos()
+                        + linhas.contaOrigemId() + linhas.contaDestinoId() + linhas.descricao().length();
+            }
+        }
+        return soma;
+    }
+}
@@ -0,0 +1,135 @@
+package com.bankingapi.controller;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.bankingapi.BankingApiApplication;
+import com.bankingapi.dto.ContaBancariaRequestDTO;
+import com.bankingapi.dto.TransacaoRequestDTO;
+import com.bankingapi.service.ContaService;
+
+/**
+ * Teste de carga HTTP dos endpoints de conta com requisições em threads de plataforma
+ * (pool do Tomcat com {@value #THREADS_TOMCAT} threads) e em virtual threads
+ * ({@code spring.threads.virtual.enabled}).
+ * <p>
+ * São {@value #CLIENTES} clientes em laço fechado contra a aplicação completa, com
+ * {@code latenciaJdbcMs} de espera por statement e por commit (ver {@link LatenciaJdbc}) e um
+ * pool de conexões do tamanho da concorrência, para que o limite seja o modelo de threads e
+ * não o banco. {@code Throughput} dá a vazão máxima e {@code SampleTime} os percentis
+ * (p0.99) de latência. {@code -Djdk.tracePinnedThreads=short} imprime qualquer virtual thread
+ * presa ao carrier durante uma espera.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+@Threads(ContaControllerCargaBenchmark.CLIENTES)
+public class ContaControllerCargaBenchmark {
+
+    static final int CLIENTES = 128;
+    private static final int THREADS_TOMCAT = 32;
+    private static final int CONTAS = 256;
+
+    @Param({"plataforma", "virtual"})
+    public String modo;
+
+    @Param({"10"})
+    public long latenciaJdbcMs;
+
+    private ConfigurableApplicationContext contexto;
+    private HttpClient http;
+    private URI[] historicos;
+    private URI[] depositos;
+
+    @State(Scope.Thread)
+    public static class Cliente {
+        final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Setup
+    public void iniciar() {
+        LatenciaJdbc latencia = new LatenciaJdbc(latenciaJdbcMs);
+        contexto = new SpringApplicationBuilder(BankingApiApplication.class)
+                .logStartupInfo(false)
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(latencia))
+                .run("--spring.threads.virtual.enabled=" + "virtual".equals(modo),
+                     "--server.port=0",
+                     "--server.tomcat.threads.max=" + THREADS_TOMCAT,
+                     "--spring.datasource.hikari.maximum-pool-size=" + CLIENTES,
+                     "--banking.cache.contas.habilitado=false",
+                     "--spring.jpa.show-sql=false",
+                     "--logging.level.root=WARN",
+                     "--logging.level.org.springframework.web=WARN",
+                     "--logging.level.org.hibernate.SQL=WARN",
+                     "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+
+        ContaService contaService = contexto.getBean(ContaService.class);
+        String base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port") + "/api/contas/";
+        historicos = new URI[CONTAS];
+        depositos = new URI[CONTAS];
+        for (int i = 0; i < CONTAS; i++) {
+            Long id = contaService.criarConta(new ContaBancariaRequestDTO(
+                    "Cliente " + i, String.format("%011d", i + 1), new BigDecimal("1000.00"))).getId();
+            for (int j = 0; j < 10; j++) {
+                contaService.depositar(id, new TransacaoRequestDTO(BigDecimal.ONE, "carga"));
+            }
+            historicos[i] = URI.create(base + id + "/historico?limit=10");
+            depositos[i] = URI.create(base + id + "/deposito");
+        }
+        http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        latencia.ativar();
+    }
+
+    @TearDown
+    public void encerrar() {
+        http.close();
+        contexto.close();
+    }
+
+    @Benchmark
+    public int consultarHistorico(Cliente cliente) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(historicos[cliente.random.nextInt(CONTAS)]).GET().build();
+        return verificar(http.send(request, HttpResponse.BodyHandlers.discarding()));
+    }
+
+    @Benchmark
+    public int depositar(Cliente cliente) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(depositos[cliente.random.nextInt(CONTAS)])
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"valor\":1.00,\"descricao\":\"carga\"}"))
+                .build();
+        return verificar(http.send(request, HttpResponse.BodyHandlers.discarding()));
+    }
+
+    private static int verificar(HttpResponse<Void> resposta) {
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException("HTTP " + resposta.statusCode() + " em " + resposta.uri());
+        }
+        return resposta.statusCode();
+    }
+}
@@ -0,0 +1,67 @@
+package com.bankingapi.controller;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Simula a ida e volta de rede de um banco remoto sobre o H2 em memória: cada statement
+ * preparado e cada commit esperam {@code latenciaMs} na thread que fez a chamada. Sem isso
+ * o H2 nunca bloqueia, e o pool de threads do Tomcat não chega a ser o limite. Fica desligada
+ * até {@link #ativar()}, para não atrasar a carga inicial de dados.
+ */
+class LatenciaJdbc implements BeanPostProcessor {
+
+    private static final Set<String> IDA_E_VOLTA = Set.of(
+            "prepareStatement", "prepareCall", "createStatement", "commit", "rollback");
+
+    private final long latenciaMs;
+    private volatile boolean ativa;
+
+    LatenciaJdbc(long latenciaMs) {
+        this.latenciaMs = latenciaMs;
+    }
+
+    void ativar() {
+        ativa = true;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return comLatencia(super.getConnection());
+                }
+
+                @Override
+                public Connection getConnection(String usuario, String senha) throws SQLException {
+                    return comLatencia(super.getConnection(usuario, senha));
+                }
+            };
+        }
+        return bean;
+    }
+
+    private Connection comLatencia(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, metodo, args) -> {
+                    if (ativa && IDA_E_VOLTA.contains(metodo.getName())) {
+                        Thread.sleep(latenciaMs);
+                    }
+                    try {
+                        return metodo.invoke(conexao, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
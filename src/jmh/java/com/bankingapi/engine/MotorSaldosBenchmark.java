@@ -0,0 +1,96 @@
+package com.bankingapi.engine;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.bankingapi.BankingApiApplication;
+import com.bankingapi.dto.ContaBancariaRequestDTO;
+import com.bankingapi.dto.ContaBancariaResponseDTO;
+import com.bankingapi.dto.TransacaoRequestDTO;
+import com.bankingapi.dto.TransferenciaRequestDTO;
+import com.bankingapi.dto.TransferenciaResponseDTO;
+import com.bankingapi.service.ContaService;
+
+/**
+ * Vazão de depósitos e transferências pelo ContaService no caminho JPA atual
+ * comparada ao motor de saldos em memória, com a aplicação completa sobre H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class MotorSaldosBenchmark {
+    
+    private static final int CONTAS = 64;
+    private static final TransacaoRequestDTO DEPOSITO = new TransacaoRequestDTO(new BigDecimal("1.00"), "benchmark");
+    
+    @Param({"jpa", "memoria"})
+    public String modo;
+    
+    private ConfigurableApplicationContext contexto;
+    private ContaService contaService;
+    private Long[] ids;
+    
+    @State(Scope.Thread)
+    public static class Operador {
+        final SplittableRandom random = new SplittableRandom();
+    }
+    
+    @Setup
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(BankingApiApplication.class)
+                .logStartupInfo(false)
+                .run("--banking.engine.modo=" + modo,
+                     "--server.port=0",
+                     "--spring.jpa.show-sql=false",
+                     "--logging.level.root=WARN",
+                     "--logging.level.org.springframework.web=WARN",
+                     "--logging.level.org.hibernate.SQL=WARN",
+                     "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        contaService = contexto.getBean(ContaService.class);
+        
+        ids = new Long[CONTAS];
+        for (int i = 0; i < CONTAS; i++) {
+            ContaBancariaRequestDTO request = new ContaBancariaRequestDTO(
+                    "Cliente " + i, String.format("%011d", i + 1), new BigDecimal("1000000.00"));
+            ids[i] = contaService.criarConta(request).getId();
+        }
+    }
+    
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+    
+    @Benchmark
+    public ContaBancariaResponseDTO depositar(Operador operador) {
+        return contaService.depositar(ids[operador.random.nextInt(CONTAS)], DEPOSITO);
+    }
+    
+    @Benchmark
+    public TransferenciaResponseDTO transferir(Operador operador) {
+        int origem = operador.random.nextInt(CONTAS);
+        int destino = (origem + 1 + operador.random.nextInt(CONTAS - 1)) % CONTAS;
+        return contaService.transferir(new TransferenciaRequestDTO(ids[origem], ids[destino], BigDecimal.ONE, "benchmark"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.bankingapi.entity;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Operações de domínio de {@link ContaBancaria} e {@link ContaPoupanca}, sem banco.
+ * <p>
+ * Os saldos são recriados a cada iteração com folga suficiente para que nenhum
+ * saque falhe durante a medição. As variantes {@code *Centavos} usam a API em {@code long},
+ * sem a conversão de {@code BigDecimal} na entrada e na saída.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContaBancariaBenchmark {
+
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("1000000000000.00");
+    private static final BigDecimal VALOR = new BigDecimal("10.00");
+    private static final long VALOR_CENTAVOS = 1_000;
+
+    private ContaCorrente corrente;
+    private ContaPoupanca poupanca;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        Cliente cliente = new Cliente("Cliente Benchmark", "12345678901");
+        corrente = new ContaCorrente("00000001-9", cliente, SALDO_INICIAL);
+        poupanca = new ContaPoupanca("00000002-7", cliente, SALDO_INICIAL);
+    }
+
+    @Benchmark
+    public BigDecimal depositarCorrente() {
+        corrente.depositar(VALOR);
+        return corrente.getSaldo();
+    }
+
+    @Benchmark
+    public long depositarCorrenteCentavos() {
+        corrente.depositar(VALOR_CENTAVOS);
+        return corrente.getSaldoCentavos();
+    }
+
+    @Benchmark
+    public BigDecimal sacarCorrente() {
+        corrente.sacar(VALOR);
+        return corrente.getSaldo();
+    }
+
+    @Benchmark
+    public long sacarCorrenteCentavos() {
+        corrente.sacar(VALOR_CENTAVOS);
+        return corrente.getSaldoCentavos();
+    }
+
+    @Benchmark
+    public BigDecimal sacarPoupanca() {
+        poupanca.sacar(VALOR);
+        return poupanca.getSaldo();
+    }
+
+    @Benchmark
+    public boolean podeTransferirCorrente() {
+        return corrente.podeTransferir(VALOR);
+    }
+
+    @Benchmark
+    public boolean podeTransferirCorrenteCentavos() {
+        return corrente.podeTransferir(VALOR_CENTAVOS);
+    }
+
+    @Benchmark
+    public boolean podeTransferirPoupanca() {
+        return poupanca.podeTransferir(VALOR);
+    }
+
+    @Benchmark
+    public BigDecimal rendimentoAcumulado(Periodo periodo) {
+        return poupanca.getRendimentoAcumulado(periodo.meses);
+    }
+
+    @State(Scope.Thread)
+    public static class Periodo {
+        @Param({"12", "120"})
+        public int meses;
+    }
+}
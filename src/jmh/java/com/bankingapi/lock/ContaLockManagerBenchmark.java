@@ -0,0 +1,99 @@
+package com.bankingapi.lock;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bankingapi.entity.ContaBancaria;
+import com.bankingapi.entity.ContaCorrente;
+
+/**
+ * Contenção de transferências sob o {@link ContaLockManager}.
+ * <p>
+ * QUENTE: todas as threads disputam o mesmo par de contas, nos dois sentidos.
+ * FRIO: pares aleatórios entre {@value #CONTAS_FRIAS} contas.
+ * {@code stripes=1} equivale a um lock global e serve de linha de base.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContaLockManagerBenchmark {
+    
+    private static final int CONTAS_FRIAS = 10_000;
+    private static final BigDecimal VALOR = new BigDecimal("1.00");
+    
+    @Param({"QUENTE", "FRIO"})
+    public String cenario;
+    
+    @Param({"1", "1024"})
+    public int stripes;
+    
+    private ContaLockManager lockManager;
+    private ContaBancaria[] contas;
+    
+    @State(Scope.Thread)
+    public static class Transferidor {
+        final SplittableRandom random = new SplittableRandom();
+    }
+    
+    @Setup
+    public void setup() {
+        lockManager = new ContaLockManager(stripes, 5000);
+        int quantidade = "QUENTE".equals(cenario) ? 2 : CONTAS_FRIAS;
+        contas = new ContaBancaria[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            contas[i] = new ContaCorrente(String.format("%08d", i), null, new BigDecimal("1000000000.00"));
+            contas[i].setId((long) i + 1);
+        }
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public ContaBancaria transferir01(Transferidor t) {
+        return transferir(t.random);
+    }
+    
+    @Benchmark
+    @Threads(8)
+    public ContaBancaria transferir08(Transferidor t) {
+        return transferir(t.random);
+    }
+    
+    @Benchmark
+    @Threads(64)
+    public ContaBancaria transferir64(Transferidor t) {
+        return transferir(t.random);
+    }
+    
+    private ContaBancaria transferir(SplittableRandom random) {
+        int origem = random.nextInt(contas.length);
+        int destino = random.nextInt(contas.length - 1);
+        if (destino >= origem) {
+            destino++;
+        }
+        ContaBancaria contaOrigem = contas[origem];
+        ContaBancaria contaDestino = contas[destino];
+        
+        return lockManager.executarComLock(() -> {
+            contaOrigem.sacar(VALOR);
+            contaDestino.depositar(VALOR);
+            return contaDestino;
+        }, contaOrigem.getId(), contaDestino.getId());
+    }
+}
@@ -0,0 +1,87 @@
+package com.bankingapi.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.bankingapi.BankingApiApplication;
+import com.bankingapi.dto.ContaBancariaRequestDTO;
+import com.bankingapi.dto.ContaBancariaResponseDTO;
+import com.bankingapi.repository.ContaBancariaRepository;
+
+/**
+ * Listagem de {@value #CONTAS} contas ativas carregando entidades {@code ContaBancaria} (com o
+ * cliente {@code EAGER}) e convertendo para DTO, contra a projeção {@code ContaResumo} usada
+ * por {@link ContaService#listarContas()}. Os tempos e, com {@code -prof gc},
+ * {@code gc.alloc.rate.norm} são por linha.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContaLeituraBenchmark {
+
+    private static final int CONTAS = 1000;
+
+    private ConfigurableApplicationContext contexto;
+    private ContaBancariaRepository repository;
+    private ContaService mapeamento;
+
+    @Setup
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(BankingApiApplication.class)
+                .logStartupInfo(false)
+                .run("--server.port=0",
+                     "--logging.level.root=WARN",
+                     "--logging.level.org.springframework.web=WARN",
+                     "--logging.level.org.hibernate.SQL=WARN",
+                     "--logging.level.org.hibernate.orm.jdbc.bind=WARN");
+
+        ContaService contaService = contexto.getBean(ContaService.class);
+        for (int i = 0; i < CONTAS; i++) {
+            contaService.criarConta(new ContaBancariaRequestDTO(
+                    "Cliente " + i, String.format("%011d", i + 1), new BigDecimal("1000.00")));
+        }
+        repository = contexto.getBean(ContaBancariaRepository.class);
+        // O bean é um proxy; o mapeamento não usa dependências injetadas
+        mapeamento = new ContaService();
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONTAS)
+    public List<ContaBancariaResponseDTO> listarPorEntidades() {
+        return repository.findByAtivaTrue().stream()
+                .map(mapeamento::convertToResponseDTO)
+                .toList();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONTAS)
+    public List<ContaBancariaResponseDTO> listarPorProjecao() {
+        return repository.listarResumosAtivos().stream()
+                .map(mapeamento::convertToResponseDTO)
+                .toList();
+    }
+}
@@ -0,0 +1,51 @@
+package com.bankingapi.service;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bankingapi.dto.ContaBancariaResponseDTO;
+import com.bankingapi.entity.Cliente;
+import com.bankingapi.entity.ContaBancaria;
+import com.bankingapi.entity.ContaCorrente;
+
+/**
+ * Mapeamento entidade → DTO de {@link ContaService#convertToResponseDTO}, chamado em toda
+ * resposta de conta. O mapeamento não usa dependências injetadas, então o serviço é
+ * instanciado sem o contexto Spring.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContaMapeamentoBenchmark {
+
+    private ContaService contaService;
+    private ContaBancaria conta;
+
+    @Setup
+    public void setup() {
+        contaService = new ContaService();
+        Cliente cliente = new Cliente("Cliente Benchmark", "12345678901");
+        cliente.setId(1L);
+        conta = new ContaCorrente("00000001-9", cliente, new BigDecimal("1500.00"));
+        conta.setId(1L);
+    }
+
+    @Benchmark
+    public ContaBancariaResponseDTO converterParaResponseDTO() {
+        return contaService.convertToResponseDTO(conta);
+    }
+}
@@ -0,0 +1,82 @@
+package com.bankingapi.utils;
+
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bankingapi.entity.Cliente;
+import com.bankingapi.entity.ContaBancaria;
+import com.bankingapi.entity.ContaCorrente;
+import com.bankingapi.repository.ContaExportacao;
+
+/**
+ * Custo por exportação do {@link CsvExporter}: montando a {@code String} inteira
+ * ({@code exportarContas}) e escrevendo em streaming para um writer descartável.
+ * Nomes com vírgula exercitam o escape.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvExporterBenchmark {
+
+    @Param({"100", "10000"})
+    public int quantidade;
+
+    private final CsvExporter csvExporter = new CsvExporter();
+    private List<ContaBancaria> contas;
+    private List<ContaExportacao> linhas;
+
+    @Setup
+    public void setup() {
+        contas = new ArrayList<>(quantidade);
+        linhas = new ArrayList<>(quantidade);
+        LocalDateTime agora = LocalDateTime.now();
+        for (int i = 0; i < quantidade; i++) {
+            String nome = i % 10 == 0 ? "Silva, Cliente " + i : "Cliente " + i;
+            String cpf = String.format("%011d", i);
+            BigDecimal saldo = BigDecimal.valueOf(i * 137L, 2);
+
+            ContaCorrente conta = new ContaCorrente(String.format("%08d", i), new Cliente(nome, cpf), saldo);
+            conta.setId((long) i + 1);
+            contas.add(conta);
+            linhas.add(new ContaExportacao((long) i + 1, conta.getNumero(), saldo, nome, cpf, agora));
+        }
+    }
+
+    @Benchmark
+    public String exportarContas() {
+        return csvExporter.exportarContas(contas);
+    }
+
+    @Benchmark
+    public Writer escreverContasStreaming() {
+        Writer writer = Writer.nullWriter();
+        csvExporter.escreverContas(contas.stream(), writer);
+        return writer;
+    }
+
+    @Benchmark
+    public Writer escreverContasAtivasStreaming() {
+        Writer writer = Writer.nullWriter();
+        csvExporter.escreverContasAtivas(linhas.stream(), writer);
+        return writer;
+    }
+}
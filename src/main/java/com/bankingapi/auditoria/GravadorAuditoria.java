@@ -0,0 +1,418 @@
+package com.bankingapi.auditoria;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bankingapi.exception.AuditoriaNaoConfirmadaException;
+import com.bankingapi.exception.SobrecargaException;
+import com.bankingapi.repository.RegistroTransacao;
+import com.bankingapi.repository.TransacaoJdbcRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Grava as linhas de {@code transacoes} fora da transação do saldo, em lotes
+ * (banking.auditoria.assincrona=true).
+ * <p>
+ * As movimentações reservam vaga na fila ainda dentro da transação e só entram na fila
+ * depois do commit. Uma thread dedicada junta o que chegou em até
+ * {@code banking.auditoria.intervalo-ms}, ou até {@code banking.auditoria.tamanho-lote}
+ * registros, e grava tudo em um único lote JDBC (group commit).
+ * <p>
+ * A gravação usa uma conexão própria, fora do pool das requisições: com durabilidade
+ * confirmada, cada requisição aguardando o lote ainda segura sua conexão, e com o pool
+ * esgotado o lote nunca conseguiria ser gravado.
+ * <p>
+ * Com durabilidade {@code confirmada}, quem executa a operação via {@link #aguardandoGravacao}
+ * só recebe o resultado depois que o lote que a contém foi gravado em {@code transacoes} ou em
+ * {@code banking.auditoria.arquivo-pendentes}. A espera acontece depois que a transação terminou
+ * e liberou os locks das contas, e dura no máximo {@code banking.auditoria.espera-confirmacao-ms};
+ * passado esse prazo a chamada falha com {@link AuditoriaNaoConfirmadaException}, com o saldo já
+ * movido e os registros ainda na fila. Fora de {@link #aguardandoGravacao} (jobs e importação) e
+ * com {@code sem-confirmacao} a operação retorna no commit do saldo, e um crash perde o que ainda
+ * estiver na fila.
+ * <p>
+ * A única recusa é a reserva de vaga: fila cheia por mais de {@code banking.auditoria.espera-fila-ms}
+ * lança {@link SobrecargaException} antes do commit, sem mover saldo. Depois do commit o saldo
+ * já mudou, então falhas de gravação nunca chegam ao cliente: o lote é tentado de novo até ser
+ * gravado e, no desligamento, o que não pôde ser gravado vai para o arquivo de pendentes, que
+ * é inserido em {@code transacoes} na próxima inicialização.
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.auditoria", name = "assincrona", havingValue = "true")
+public class GravadorAuditoria {
+
+    private static final Logger log = LoggerFactory.getLogger(GravadorAuditoria.class);
+    private static final long ESPERA_NOVA_TENTATIVA_MS = 1000;
+
+    private record Pedido(List<RegistroTransacao> registros, CompletableFuture<Void> gravado) {}
+
+    // Pedidos enfileirados pela operação em curso em aguardandoGravacao, por thread
+    private static final ThreadLocal<List<Pedido>> AGUARDANDO = new ThreadLocal<>();
+
+    @Autowired
+    private TransacaoJdbcRepository transacaoJdbcRepository;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.auditoria.durabilidade:confirmada}")
+    private String durabilidade;
+
+    @Value("${banking.auditoria.capacidade-fila:10000}")
+    private int capacidade;
+
+    @Value("${banking.auditoria.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${banking.auditoria.intervalo-ms:5}")
+    private long intervaloMillis;
+
+    @Value("${banking.auditoria.espera-fila-ms:100}")
+    private long esperaFilaMillis;
+
+    @Value("${banking.auditoria.espera-confirmacao-ms:5000}")
+    private long esperaConfirmacaoMillis;
+
+    @Value("${banking.auditoria.arquivo-pendentes:./data/auditoria/pendentes.jsonl}")
+    private String arquivoPendentes;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final LinkedBlockingQueue<Pedido> fila = new LinkedBlockingQueue<>();
+    private final Thread thread = new Thread(this::loopGroupCommit, "auditoria-group-commit");
+    private final ReentrantLock pendentes = new ReentrantLock();
+    private volatile boolean ativo = true;
+    private boolean confirmada;
+    private Semaphore vagas;
+    private HikariDataSource conexaoDedicada;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private Counter recusas;
+    private Counter naoConfirmadas;
+    private DistributionSummary registrosPorLote;
+    private Timer gravacao;
+
+    @PostConstruct
+    public void iniciar() {
+        confirmada = switch (durabilidade) {
+            case "confirmada" -> true;
+            case "sem-confirmacao" -> false;
+            default -> throw new IllegalStateException(
+                    "banking.auditoria.durabilidade inválida: " + durabilidade + " (confirmada|sem-confirmacao)");
+        };
+        vagas = new Semaphore(capacidade);
+        conexaoDedicada = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        conexaoDedicada.setPoolName("auditoria");
+        conexaoDedicada.setMaximumPoolSize(1);
+        jdbcTemplate = new JdbcTemplate(conexaoDedicada);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(conexaoDedicada));
+
+        Gauge.builder("banking.auditoria.fila", vagas, v -> capacidade - v.availablePermits())
+                .description("Registros de auditoria reservados ou aguardando gravação")
+                .register(meterRegistry);
+        recusas = Counter.builder("banking.auditoria.recusas")
+                .description("Movimentações recusadas por fila de auditoria cheia")
+                .register(meterRegistry);
+        naoConfirmadas = Counter.builder("banking.auditoria.nao-confirmadas")
+                .description("Operações que responderam com erro por esgotar a espera do group commit")
+                .register(meterRegistry);
+        registrosPorLote = DistributionSummary.builder("banking.auditoria.lote")
+                .description("Registros gravados por group commit")
+                .register(meterRegistry);
+        gravacao = Timer.builder("banking.auditoria.gravacao")
+                .description("Tempo de gravação de um lote de auditoria")
+                .register(meterRegistry);
+
+        log.info("Auditoria assíncrona: durabilidade {}, lote de até {} registros a cada {} ms",
+                 durabilidade, tamanhoLote, intervaloMillis);
+        reinserirPendentes();
+        thread.start();
+    }
+
+    @PreDestroy
+    public void parar() throws InterruptedException {
+        ativo = false;
+        thread.join();
+        conexaoDedicada.close();
+    }
+
+    /**
+     * Executa a operação e, com durabilidade confirmada, aguarda a gravação dos registros que
+     * ela enfileirou. Deve ser chamado fora de transação: a espera só começa depois que a
+     * operação retornou, com seus commits feitos e os locks das contas liberados.
+     *
+     * @throws AuditoriaNaoConfirmadaException se os registros não forem gravados em
+     *         {@code banking.auditoria.espera-confirmacao-ms}
+     */
+    public <T> T aguardandoGravacao(Supplier<T> operacao) {
+        if (!confirmada || AGUARDANDO.get() != null) {
+            return operacao.get();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Espera pela auditoria não pode acontecer dentro de uma transação");
+        }
+        List<Pedido> pedidos = new ArrayList<>();
+        AGUARDANDO.set(pedidos);
+        T resultado;
+        try {
+            resultado = operacao.get();
+        } finally {
+            AGUARDANDO.remove();
+        }
+        aguardar(pedidos);
+        return resultado;
+    }
+
+    /**
+     * Reserva vaga para os registros e os enfileira no commit da transação corrente (ou na
+     * hora, sem transação). O commit não espera a gravação; quem precisa dela usa
+     * {@link #aguardandoGravacao}.
+     */
+    public void registrarTodos(List<RegistroTransacao> registros) {
+        int quantidade = registros.size();
+        reservar(quantidade);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enfileirar(registros);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enfileirar(registros);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    vagas.release(quantidade);
+                }
+            }
+        });
+    }
+
+    private void reservar(int quantidade) {
+        try {
+            if (!vagas.tryAcquire(quantidade, esperaFilaMillis, TimeUnit.MILLISECONDS)) {
+                recusas.increment();
+                throw new SobrecargaException("Fila de auditoria cheia");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SobrecargaException("Interrompido aguardando vaga na fila de auditoria", e);
+        }
+    }
+
+    // Roda depois do commit do saldo: não lança
+    private void enfileirar(List<RegistroTransacao> registros) {
+        Pedido pedido = new Pedido(registros, new CompletableFuture<>());
+        fila.add(pedido);
+        if (!thread.isAlive()) {
+            retirarDaFila(pedido);
+            return;
+        }
+        List<Pedido> aguardando = AGUARDANDO.get();
+        if (aguardando != null) {
+            aguardando.add(pedido);
+        }
+    }
+
+    private void aguardar(List<Pedido> pedidos) {
+        if (pedidos.isEmpty()) {
+            return;
+        }
+        CompletableFuture<Void> gravados = CompletableFuture.allOf(
+                pedidos.stream().map(Pedido::gravado).toArray(CompletableFuture[]::new));
+        long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaConfirmacaoMillis);
+        try {
+            while (true) {
+                long restante = prazo - System.nanoTime();
+                if (restante <= 0) {
+                    break;
+                }
+                try {
+                    gravados.get(Math.min(restante, TimeUnit.MILLISECONDS.toNanos(100)), TimeUnit.NANOSECONDS);
+                    return;
+                } catch (TimeoutException e) {
+                    if (!thread.isAlive()) {
+                        pedidos.forEach(this::retirarDaFila);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Falha inesperada no group commit da auditoria", e.getCause());
+        }
+        naoConfirmadas.increment();
+        throw new AuditoriaNaoConfirmadaException("Movimentação efetivada, mas a gravação no histórico não foi "
+                + "confirmada em " + esperaConfirmacaoMillis + " ms; não a repita");
+    }
+
+    // Gravador encerrado: o pedido que ainda estiver na fila vai para o arquivo de pendentes
+    private void retirarDaFila(Pedido pedido) {
+        if (fila.remove(pedido)) {
+            guardarPendentes(pedido.registros());
+            vagas.release(pedido.registros().size());
+            pedido.gravado().complete(null);
+        }
+    }
+
+    private void loopGroupCommit() {
+        List<Pedido> lote = new ArrayList<>();
+        while (ativo || !fila.isEmpty()) {
+            try {
+                Pedido primeiro = fila.poll(100, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                int registros = primeiro.registros().size();
+                long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(intervaloMillis);
+                while (registros < tamanhoLote) {
+                    long restante = prazo - System.nanoTime();
+                    Pedido proximo = restante > 0 ? fila.poll(restante, TimeUnit.NANOSECONDS) : null;
+                    if (proximo == null) {
+                        break;
+                    }
+                    lote.add(proximo);
+                    registros += proximo.registros().size();
+                }
+                gravar(lote, registros);
+                lote.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void gravar(List<Pedido> lote, int quantidade) throws InterruptedException {
+        List<RegistroTransacao> registros = new ArrayList<>(quantidade);
+        for (Pedido pedido : lote) {
+            registros.addAll(pedido.registros());
+        }
+
+        while (true) {
+            try {
+                gravacao.record(() -> transactionTemplate.executeWithoutResult(
+                        status -> transacaoJdbcRepository.inserirEmLote(jdbcTemplate, registros)));
+                registrosPorLote.record(quantidade);
+                concluir(lote, quantidade);
+                return;
+            } catch (RuntimeException e) {
+                if (!ativo) {
+                    log.error("Falha ao gravar lote de {} registros de auditoria no desligamento; "
+                              + "guardando em {}", quantidade, arquivoPendentes, e);
+                    guardarPendentes(registros);
+                    concluir(lote, quantidade);
+                    return;
+                }
+                log.warn("Falha ao gravar lote de {} registros de auditoria; nova tentativa em {} ms",
+                         quantidade, ESPERA_NOVA_TENTATIVA_MS, e);
+                Thread.sleep(ESPERA_NOVA_TENTATIVA_MS);
+            }
+        }
+    }
+
+    private void concluir(List<Pedido> lote, int quantidade) {
+        vagas.release(quantidade);
+        for (Pedido pedido : lote) {
+            pedido.gravado().complete(null);
+        }
+    }
+
+    /**
+     * Anexa os registros ao arquivo de pendentes, um JSON por linha, com force antes de
+     * retornar. Se nem isso for possível, os registros ficam apenas no log.
+     */
+    private void guardarPendentes(List<RegistroTransacao> registros) {
+        pendentes.lock();
+        try {
+            Path arquivo = Path.of(arquivoPendentes);
+            if (arquivo.getParent() != null) {
+                Files.createDirectories(arquivo.getParent());
+            }
+            StringBuilder linhas = new StringBuilder();
+            for (RegistroTransacao registro : registros) {
+                linhas.append(objectMapper.writeValueAsString(registro)).append('\n');
+            }
+            try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer dados = ByteBuffer.wrap(linhas.toString().getBytes(StandardCharsets.UTF_8));
+                while (dados.hasRemaining()) {
+                    canal.write(dados);
+                }
+                canal.force(false);
+            }
+        } catch (IOException e) {
+            log.error("Falha ao guardar {} registros de auditoria em {}: {}", 
+                      registros.size(), arquivoPendentes, registros, e);
+        } finally {
+            pendentes.unlock();
+        }
+    }
+
+    private void reinserirPendentes() {
+        Path arquivo = Path.of(arquivoPendentes);
+        if (!Files.exists(arquivo)) {
+            return;
+        }
+        try {
+            List<RegistroTransacao> registros = new ArrayList<>();
+            for (String linha : Files.readAllLines(arquivo, StandardCharsets.UTF_8)) {
+                if (!linha.isBlank()) {
+                    registros.add(objectMapper.readValue(linha, RegistroTransacao.class));
+                }
+            }
+            transactionTemplate.executeWithoutResult(
+                    status -> transacaoJdbcRepository.inserirEmLote(jdbcTemplate, registros));
+            Files.delete(arquivo);
+            log.info("{} registros de auditoria pendentes reinseridos a partir de {}", registros.size(), arquivo);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao reinserir os registros de auditoria pendentes de " + arquivo, e);
+        }
+    }
+}
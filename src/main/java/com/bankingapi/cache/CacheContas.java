@@ -0,0 +1,123 @@
+package com.bankingapi.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bankingapi.dto.ContaBancariaResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Cache em processo das contas lidas por id, limitado por quantidade (W-TinyLFU do Caffeine).
+ * <p>
+ * Guarda o DTO de resposta já montado; os valores são compartilhados entre requisições e não
+ * devem ser alterados. Escritas atualizam ou invalidam a entrada só depois do commit: como os
+ * locks de conta são liberados em {@code afterCompletion}, que roda depois de todos os
+ * {@code afterCommit}, duas escritas na mesma conta atualizam o cache na ordem dos commits.
+ * Uma carga em andamento para a chave termina antes de uma atualização concorrente, que
+ * então a sobrescreve.
+ * <p>
+ * Escritas que não passam pelos serviços (write-behind do motor em memória, SQL direto)
+ * só aparecem depois do {@code banking.cache.contas.ttl-segundos}.
+ * <p>
+ * Métricas: {@code cache.gets} (hit/miss), {@code cache.evictions} e {@code cache.size} com
+ * {@code cache=contas}, {@code banking.cache.contas.taxa-acerto} e o timer
+ * {@code banking.cache.contas.carga} (latência das cargas do banco em caso de miss).
+ */
+@Component
+public class CacheContas {
+
+    private static final String NOME = "contas";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.cache.contas.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${banking.cache.contas.capacidade:10000}")
+    private long capacidade;
+
+    @Value("${banking.cache.contas.ttl-segundos:60}")
+    private long ttlSegundos;
+
+    private Cache<Long, ContaBancariaResponseDTO> cache;
+    private Timer tempoCarga;
+
+    @PostConstruct
+    public void iniciar() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(capacidade)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NOME);
+        Gauge.builder("banking.cache.contas.taxa-acerto", cache, c -> c.stats().hitRate())
+                .description("Fração das leituras de conta atendidas pelo cache")
+                .register(meterRegistry);
+        tempoCarga = Timer.builder("banking.cache.contas.carga")
+                .description("Carga de conta do banco em caso de miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Conta em cache ou carregada por {@code carregar}; exceções da carga (conta inexistente,
+     * por exemplo) não são guardadas.
+     */
+    public ContaBancariaResponseDTO buscar(Long id, Function<Long, ContaBancariaResponseDTO> carregar) {
+        if (!habilitado) {
+            return carregar.apply(id);
+        }
+        return cache.get(id, chave -> tempoCarga.record(() -> carregar.apply(chave)));
+    }
+
+    /**
+     * Substitui as entradas pelos estados gravados, após o commit da transação corrente
+     * (ou imediatamente, fora de transação).
+     */
+    public void atualizarAposCommit(ContaBancariaResponseDTO... contas) {
+        aposCommit(() -> {
+            for (ContaBancariaResponseDTO conta : contas) {
+                cache.put(conta.getId(), conta);
+            }
+        });
+    }
+
+    public void invalidarAposCommit(Long... ids) {
+        invalidarAposCommit(List.of(ids));
+    }
+
+    public void invalidarAposCommit(Collection<Long> ids) {
+        aposCommit(() -> cache.invalidateAll(ids));
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (!habilitado) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package com.bankingapi.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de strings, seguro para uso concorrente e sem remoção.
+ * <p>
+ * {@link #podeConter(String)} falso garante que a chave nunca foi adicionada; verdadeiro
+ * pode ser falso positivo, com taxa próxima da configurada enquanto o número de chaves não
+ * passar da capacidade esperada. Os {@code k} índices vêm de hashing duplo sobre um hash
+ * de 64 bits da chave.
+ */
+public class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long quantidadeBits;
+    private final int quantidadeHashes;
+
+    public FiltroBloom(long capacidadeEsperada, double taxaFalsoPositivo) {
+        if (capacidadeEsperada <= 0 || taxaFalsoPositivo <= 0 || taxaFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva e taxa entre 0 e 1");
+        }
+        long m = (long) Math.ceil(-capacidadeEsperada * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        int palavras = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64);
+        this.bits = new AtomicLongArray(palavras);
+        this.quantidadeBits = (long) palavras * 64;
+        this.quantidadeHashes = Math.max(1, (int) Math.round((double) quantidadeBits / capacidadeEsperada * Math.log(2)));
+    }
+
+    public void adicionar(String chave) {
+        long hash = hash64(chave);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= quantidadeHashes; i++) {
+            long bit = indice(h1 + (long) i * h2);
+            int palavra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long atual = bits.get(palavra);
+            while ((atual & mascara) == 0 && !bits.compareAndSet(palavra, atual, atual | mascara)) {
+                atual = bits.get(palavra);
+            }
+        }
+    }
+
+    public boolean podeConter(String chave) {
+        long hash = hash64(chave);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= quantidadeHashes; i++) {
+            long bit = indice(h1 + (long) i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getQuantidadeBits() {
+        return quantidadeBits;
+    }
+
+    public int getQuantidadeHashes() {
+        return quantidadeHashes;
+    }
+
+    private long indice(long combinado) {
+        return (combinado & Long.MAX_VALUE) % quantidadeBits;
+    }
+
+    // FNV-1a seguido do finalizador do MurmurHash3 para espalhar os bits
+    private static long hash64(String chave) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < chave.length(); i++) {
+            h ^= chave.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
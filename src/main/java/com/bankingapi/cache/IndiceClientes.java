@@ -0,0 +1,207 @@
+package com.bankingapi.cache;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bankingapi.entity.Cliente;
+import com.bankingapi.exception.ConflitoConcorrenciaException;
+import com.bankingapi.repository.ClienteRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Localiza o cliente de um CPF na abertura de conta, evitando a consulta por CPF quando
+ * o cliente certamente não existe.
+ * <p>
+ * Um {@link FiltroBloom} com todos os CPFs (carregado na inicialização e atualizado a cada
+ * inserção) responde "certamente não existe" sem ir ao banco; um cache pequeno CPF → id
+ * atende os clientes que abrem várias contas. Só um "talvez exista" do filtro sem entrada
+ * no cache consulta {@code findByCpf}.
+ * <p>
+ * Um lock listrado por CPF, mantido até o fim da transação, serializa aberturas concorrentes
+ * do mesmo CPF: a segunda só decide depois que a primeira confirmou (e já encontra o cliente)
+ * ou desfez a inserção. O filtro é local à instância; inserções feitas por outra instância ou
+ * fora da aplicação não passam por ele e ficam protegidas apenas pela restrição única de
+ * {@code clientes.cpf}.
+ */
+@Component
+public class IndiceClientes {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceClientes.class);
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.clientes.filtro.capacidade-esperada:1000000}")
+    private long capacidadeEsperada;
+
+    @Value("${banking.clientes.filtro.taxa-falso-positivo:0.01}")
+    private double taxaFalsoPositivo;
+
+    @Value("${banking.clientes.cache.capacidade:10000}")
+    private long capacidadeCache;
+
+    @Value("${banking.clientes.lock.stripes:256}")
+    private int stripes;
+
+    @Value("${banking.lock.timeout-ms:5000}")
+    private long timeoutMillis;
+
+    private FiltroBloom filtro;
+    private Cache<String, Long> idsPorCpf;
+    private ReentrantLock[] locks;
+    private Counter consultasEvitadas;
+    private Counter acertosCache;
+    private Counter consultasNoBanco;
+    private Counter falsosPositivos;
+
+    @PostConstruct
+    public void iniciar() {
+        filtro = new FiltroBloom(capacidadeEsperada, taxaFalsoPositivo);
+        idsPorCpf = Caffeine.newBuilder().maximumSize(capacidadeCache).build();
+        int tamanho = 1;
+        while (tamanho < stripes) {
+            tamanho <<= 1;
+        }
+        locks = new ReentrantLock[tamanho];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+
+        consultasEvitadas = contador("evitada");
+        acertosCache = contador("cache");
+        consultasNoBanco = contador("banco");
+        falsosPositivos = Counter.builder("banking.clientes.cpf.falsos-positivos")
+                .description("Consultas por CPF feitas por falso positivo do filtro")
+                .register(meterRegistry);
+
+        long inicio = System.nanoTime();
+        long[] carregados = new long[1];
+        jdbcTemplate.query("SELECT cpf FROM clientes", rs -> {
+            filtro.adicionar(rs.getString(1));
+            carregados[0]++;
+        });
+        log.info("Filtro de CPFs carregado: {} clientes, {} bits, {} hashes, {} ms",
+                 carregados[0], filtro.getQuantidadeBits(), filtro.getQuantidadeHashes(),
+                 (System.nanoTime() - inicio) / 1_000_000);
+        if (carregados[0] > capacidadeEsperada) {
+            log.warn("Clientes ({}) acima de banking.clientes.filtro.capacidade-esperada ({}): "
+                     + "a taxa de falsos positivos vai subir", carregados[0], capacidadeEsperada);
+        }
+    }
+
+    /**
+     * Cliente do CPF, criado com {@code novoCliente} se não existir. Exige transação ativa:
+     * o lock do CPF é liberado no commit/rollback.
+     */
+    public Cliente buscarOuCriar(String cpf, Supplier<Cliente> novoCliente) {
+        bloquearAteFimDaTransacao(cpf);
+
+        Long id = idsPorCpf.getIfPresent(cpf);
+        if (id != null) {
+            Optional<Cliente> emCache = clienteRepository.findById(id);
+            if (emCache.isPresent()) {
+                acertosCache.increment();
+                return emCache.get();
+            }
+            idsPorCpf.invalidate(cpf);
+        }
+
+        if (filtro.podeConter(cpf)) {
+            consultasNoBanco.increment();
+            Optional<Cliente> existente = clienteRepository.findByCpf(cpf);
+            if (existente.isPresent()) {
+                idsPorCpf.put(cpf, existente.get().getId());
+                return existente.get();
+            }
+            falsosPositivos.increment();
+        } else {
+            consultasEvitadas.increment();
+        }
+
+        Cliente cliente = clienteRepository.save(novoCliente.get());
+        // Antes do commit: um falso positivo se a transação for desfeita, nunca um falso negativo
+        filtro.adicionar(cpf);
+        Long novoId = cliente.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                idsPorCpf.put(cpf, novoId);
+            }
+        });
+        return cliente;
+    }
+
+    /**
+     * Falso só quando o CPF certamente não tem cliente; usado pela importação em massa para
+     * consultar no banco apenas os CPFs que podem existir.
+     */
+    public boolean podeExistir(String cpf) {
+        return filtro.podeConter(cpf);
+    }
+
+    /**
+     * Registra clientes inseridos fora de {@link #buscarOuCriar} (importação em massa via JDBC),
+     * na transação que os insere: o filtro recebe os CPFs já, e o cache depois do commit.
+     */
+    public void registrarImportados(Map<String, Long> idsPorCpfImportados) {
+        idsPorCpfImportados.keySet().forEach(filtro::adicionar);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                idsPorCpf.putAll(idsPorCpfImportados);
+            }
+        });
+    }
+
+    private void bloquearAteFimDaTransacao(String cpf) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Lock de CPF exige uma transação ativa");
+        }
+
+        ReentrantLock lock = locks[(cpf.hashCode() * 0x9E3779B9 >>> 16) & (locks.length - 1)];
+        try {
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new ConflitoConcorrenciaException("Tempo esgotado aguardando lock do CPF do cliente");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflitoConcorrenciaException("Interrompido aguardando lock do CPF do cliente", e);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private Counter contador(String resultado) {
+        return Counter.builder("banking.clientes.cpf.consultas")
+                .description("Buscas de cliente por CPF na abertura de conta, por resultado")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+}
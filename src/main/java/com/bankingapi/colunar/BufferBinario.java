@@ -0,0 +1,81 @@
+package com.bankingapi.colunar;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Array de bytes que cresce conforme a escrita, reaproveitado entre grupos pelo escritor.
+ */
+final class BufferBinario {
+
+    private byte[] bytes;
+    private int tamanho;
+
+    BufferBinario(int capacidadeInicial) {
+        this.bytes = new byte[capacidadeInicial];
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    void limpar() {
+        tamanho = 0;
+    }
+
+    void escreverEm(OutputStream saida) throws IOException {
+        saida.write(bytes, 0, tamanho);
+    }
+
+    void byteUnico(int valor) {
+        garantir(1);
+        bytes[tamanho++] = (byte) valor;
+    }
+
+    void inteiro(int valor) {
+        garantir(4);
+        for (int deslocamento = 24; deslocamento >= 0; deslocamento -= 8) {
+            bytes[tamanho++] = (byte) (valor >>> deslocamento);
+        }
+    }
+
+    void longo(long valor) {
+        garantir(8);
+        for (int deslocamento = 56; deslocamento >= 0; deslocamento -= 8) {
+            bytes[tamanho++] = (byte) (valor >>> deslocamento);
+        }
+    }
+
+    void varint(long valor) {
+        garantir(10);
+        while ((valor & ~0x7FL) != 0) {
+            bytes[tamanho++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        bytes[tamanho++] = (byte) valor;
+    }
+
+    void zigZag(long valor) {
+        varint(FormatoColunar.zigZag(valor));
+    }
+
+    void bytes(byte[] origem) {
+        garantir(origem.length);
+        System.arraycopy(origem, 0, bytes, tamanho, origem.length);
+        tamanho += origem.length;
+    }
+
+    void texto(String texto) {
+        byte[] utf8 = texto.getBytes(StandardCharsets.UTF_8);
+        varint(utf8.length);
+        bytes(utf8);
+    }
+
+    private void garantir(int adicional) {
+        if (tamanho + adicional > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, tamanho + adicional));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.bankingapi.colunar;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Cursor sobre uma coluna de varints. Só avança quando a coluna é lida: linhas puladas por
+ * quem não acessa a coluna são decodificadas de uma vez no próximo acesso.
+ */
+final class ColunaVarint {
+
+    private final ByteBuffer dados;
+    private final boolean zigZag;
+    private final boolean delta;
+    private int linhasLidas;
+    private long valor;
+
+    ColunaVarint(ByteBuffer dados, boolean zigZag, boolean delta) {
+        this.dados = dados;
+        this.zigZag = zigZag;
+        this.delta = delta;
+    }
+
+    /** Valor da linha {@code linha} (a partir de 0); linhas só podem ser pedidas em ordem crescente. */
+    long valor(int linha) {
+        while (linhasLidas <= linha) {
+            long lido = FormatoColunar.lerVarint(dados);
+            if (zigZag) {
+                lido = FormatoColunar.deZigZag(lido);
+            }
+            valor = delta ? valor + lido : lido;
+            linhasLidas++;
+        }
+        return valor;
+    }
+}
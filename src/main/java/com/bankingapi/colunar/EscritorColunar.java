@@ -0,0 +1,225 @@
+package com.bankingapi.colunar;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escreve transações no formato de {@link FormatoColunar} à medida que chegam. Só o grupo
+ * corrente fica em memória (arrays de {@code linhasPorGrupo} posições, reaproveitados); ao
+ * completar, cada coluna é codificada e escrita na saída. O rodapé guarda uma entrada por grupo.
+ * <p>
+ * Não é thread-safe. {@link #finalizar()} escreve o último grupo e o rodapé, e não fecha a saída.
+ */
+public final class EscritorColunar {
+
+    private final OutputStream saida;
+    private final int linhasPorGrupo;
+    private final int quantidadeTipos;
+
+    private final long[] ids;
+    private final long[] datas;
+    private final byte[] tipos;
+    private final long[] valores;
+    private final long[] origens;
+    private final long[] destinos;
+    private final int[] codigosDescricao;
+    private final Map<String, Integer> dicionarioDescricoes = new HashMap<>();
+    private final List<String> descricoes = new ArrayList<>();
+
+    private final BufferBinario coluna = new BufferBinario(64 * 1024);
+    private final List<GrupoLinhas> grupos = new ArrayList<>();
+    private long posicao;
+    private long totalLinhas;
+    private boolean finalizado;
+
+    private int linhas;
+    private long idMinimo, idMaximo, dataMinima, dataMaxima, valorMinimo, valorMaximo, mascaraTipos;
+
+    /**
+     * @param tipos nomes dos tipos de transação; o código de cada um, em {@link #escrever}, é a posição na lista
+     */
+    public EscritorColunar(OutputStream saida, List<String> tipos, int linhasPorGrupo) throws IOException {
+        if (tipos.size() > FormatoColunar.MAXIMO_TIPOS) {
+            throw new IllegalArgumentException("No máximo " + FormatoColunar.MAXIMO_TIPOS + " tipos");
+        }
+        if (linhasPorGrupo < 1) {
+            throw new IllegalArgumentException("linhasPorGrupo deve ser positivo");
+        }
+        this.saida = saida;
+        this.linhasPorGrupo = linhasPorGrupo;
+        this.quantidadeTipos = tipos.size();
+        this.ids = new long[linhasPorGrupo];
+        this.datas = new long[linhasPorGrupo];
+        this.tipos = new byte[linhasPorGrupo];
+        this.valores = new long[linhasPorGrupo];
+        this.origens = new long[linhasPorGrupo];
+        this.destinos = new long[linhasPorGrupo];
+        this.codigosDescricao = new int[linhasPorGrupo];
+
+        coluna.bytes(FormatoColunar.MAGICA);
+        coluna.inteiro(FormatoColunar.VERSAO);
+        coluna.inteiro(linhasPorGrupo);
+        coluna.varint(tipos.size());
+        tipos.forEach(coluna::texto);
+        despejar();
+    }
+
+    /**
+     * Acrescenta uma transação. Contas ausentes são {@link FormatoColunar#SEM_CONTA}.
+     */
+    public void escrever(long id, LocalDateTime data, int codigoTipo, long valorCentavos,
+                         long contaOrigemId, long contaDestinoId, String descricao) throws IOException {
+        if (finalizado) {
+            throw new IllegalStateException("Escritor já finalizado");
+        }
+        if (codigoTipo < 0 || codigoTipo >= quantidadeTipos) {
+            throw new IllegalArgumentException("Código de tipo inválido: " + codigoTipo);
+        }
+        long micros = FormatoColunar.paraMicros(data);
+        if (linhas == 0) {
+            idMinimo = idMaximo = id;
+            dataMinima = dataMaxima = micros;
+            valorMinimo = valorMaximo = valorCentavos;
+            mascaraTipos = 0;
+        } else {
+            idMinimo = Math.min(idMinimo, id);
+            idMaximo = Math.max(idMaximo, id);
+            dataMinima = Math.min(dataMinima, micros);
+            dataMaxima = Math.max(dataMaxima, micros);
+            valorMinimo = Math.min(valorMinimo, valorCentavos);
+            valorMaximo = Math.max(valorMaximo, valorCentavos);
+        }
+        mascaraTipos |= 1L << codigoTipo;
+
+        ids[linhas] = id;
+        datas[linhas] = micros;
+        tipos[linhas] = (byte) codigoTipo;
+        valores[linhas] = valorCentavos;
+        origens[linhas] = contaOrigemId;
+        destinos[linhas] = contaDestinoId;
+        codigosDescricao[linhas] = descricao == null ? 0
+                : dicionarioDescricoes.computeIfAbsent(descricao, d -> {
+                    descricoes.add(d);
+                    return descricoes.size();
+                });
+        if (++linhas == linhasPorGrupo) {
+            fecharGrupo();
+        }
+    }
+
+    /**
+     * Escreve o grupo incompleto e o rodapé. Retorna a quantidade de linhas escritas.
+     */
+    public long finalizar() throws IOException {
+        if (finalizado) {
+            return totalLinhas;
+        }
+        if (linhas > 0) {
+            fecharGrupo();
+        }
+        long posicaoRodape = posicao;
+        coluna.inteiro(grupos.size());
+        for (GrupoLinhas grupo : grupos) {
+            coluna.longo(grupo.posicao());
+            coluna.inteiro(grupo.tamanho());
+            coluna.inteiro(grupo.linhas());
+            coluna.longo(grupo.idMinimo());
+            coluna.longo(grupo.idMaximo());
+            coluna.longo(grupo.dataMinima());
+            coluna.longo(grupo.dataMaxima());
+            coluna.longo(grupo.valorMinimo());
+            coluna.longo(grupo.valorMaximo());
+            coluna.longo(grupo.mascaraTipos());
+        }
+        coluna.longo(posicaoRodape);
+        coluna.bytes(FormatoColunar.MAGICA);
+        despejar();
+        saida.flush();
+        finalizado = true;
+        return totalLinhas;
+    }
+
+    public long getTotalLinhas() {
+        return totalLinhas + linhas;
+    }
+
+    public long getBytesEscritos() {
+        return posicao;
+    }
+
+    private void fecharGrupo() throws IOException {
+        long inicio = posicao;
+        coluna.inteiro(linhas);
+        despejar();
+
+        long anterior = 0;
+        for (int i = 0; i < linhas; i++) {
+            coluna.zigZag(ids[i] - anterior);
+            anterior = ids[i];
+        }
+        escreverColuna();
+
+        anterior = 0;
+        for (int i = 0; i < linhas; i++) {
+            coluna.zigZag(datas[i] - anterior);
+            anterior = datas[i];
+        }
+        escreverColuna();
+
+        for (int i = 0; i < linhas; i++) {
+            coluna.byteUnico(tipos[i]);
+        }
+        escreverColuna();
+
+        for (int i = 0; i < linhas; i++) {
+            coluna.zigZag(valores[i]);
+        }
+        escreverColuna();
+
+        for (int i = 0; i < linhas; i++) {
+            coluna.varint(origens[i]);
+        }
+        escreverColuna();
+
+        for (int i = 0; i < linhas; i++) {
+            coluna.varint(destinos[i]);
+        }
+        escreverColuna();
+
+        coluna.varint(descricoes.size());
+        descricoes.forEach(coluna::texto);
+        for (int i = 0; i < linhas; i++) {
+            coluna.varint(codigosDescricao[i]);
+        }
+        escreverColuna();
+
+        grupos.add(new GrupoLinhas(grupos.size(), inicio, (int) (posicao - inicio), linhas,
+                idMinimo, idMaximo, dataMinima, dataMaxima, valorMinimo, valorMaximo, mascaraTipos));
+        totalLinhas += linhas;
+        linhas = 0;
+        dicionarioDescricoes.clear();
+        descricoes.clear();
+    }
+
+    // Tamanho da coluna antes dos dados, sem copiar os dados para outro buffer
+    private void escreverColuna() throws IOException {
+        int tamanho = coluna.tamanho();
+        saida.write(tamanho >>> 24);
+        saida.write(tamanho >>> 16);
+        saida.write(tamanho >>> 8);
+        saida.write(tamanho);
+        posicao += 4;
+        despejar();
+    }
+
+    private void despejar() throws IOException {
+        coluna.escreverEm(saida);
+        posicao += coluna.tamanho();
+        coluna.limpar();
+    }
+}
@@ -0,0 +1,99 @@
+package com.bankingapi.colunar;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Formato colunar das transações exportadas ({@code .bktx}), versão {@value #VERSAO}.
+ * Inteiros de tamanho fixo são big-endian; "varint" é LEB128 sem sinal e "zigzag" é o varint
+ * de {@code (n << 1) ^ (n >> 63)}.
+ * <pre>
+ * cabeçalho
+ *   4 bytes  "BKTX"
+ *   int      versão
+ *   int      linhas por grupo (o último grupo pode ter menos)
+ *   varint   n tipos, e n × (varint tamanho + UTF-8 do nome); o código de um tipo é a sua posição
+ * grupos de linhas, em sequência
+ *   int      linhas
+ *   7 colunas, cada uma com int tamanho em bytes seguido dos dados:
+ *     id              zigzag da diferença para o id da linha anterior (a primeira, para 0)
+ *     data_transacao  zigzag da diferença, em micros desde a época (UTC), para a linha anterior
+ *     tipo            1 byte por linha: código no dicionário de tipos
+ *     valor           zigzag do valor em centavos
+ *     conta_origem    varint do id; 0 = sem conta
+ *     conta_destino   varint do id; 0 = sem conta
+ *     descricao       varint n, n × (varint tamanho + UTF-8); depois um varint por linha:
+ *                     0 = sem descrição, k = k-ésima do dicionário do grupo
+ * rodapé
+ *   int      quantidade de grupos, e para cada um:
+ *            long posição, int tamanho em bytes, int linhas,
+ *            long id mínimo, long id máximo, long data mínima, long data máxima (micros),
+ *            long valor mínimo, long valor máximo (centavos), long máscara dos códigos de tipo presentes
+ * cauda
+ *   long     posição do rodapé
+ *   4 bytes  "BKTX"
+ * </pre>
+ * Cada grupo é independente (deltas e dicionário recomeçam), então um leitor pode pular
+ * grupos pelas estatísticas do rodapé e varrer os demais em paralelo. Não há compressão de
+ * uso geral: as codificações acima já compactam, e os dados podem ser lidos direto do
+ * arquivo mapeado, sem descomprimir para um buffer intermediário.
+ */
+public final class FormatoColunar {
+
+    public static final int VERSAO = 1;
+    public static final int COLUNAS = 7;
+    public static final int TAMANHO_CAUDA = 12;
+    public static final int TAMANHO_ESTATISTICAS_GRUPO = 8 + 4 + 4 + 7 * 8;
+    /** A máscara de tipos do rodapé comporta até 64 códigos. */
+    public static final int MAXIMO_TIPOS = 64;
+    public static final long SEM_CONTA = 0;
+
+    static final byte[] MAGICA = "BKTX".getBytes(StandardCharsets.US_ASCII);
+
+    private FormatoColunar() {
+    }
+
+    public static long paraMicros(LocalDateTime data) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, data.toInstant(ZoneOffset.UTC));
+    }
+
+    public static LocalDateTime deMicros(long micros) {
+        return LocalDateTime.ofInstant(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), ZoneOffset.UTC);
+    }
+
+    static long zigZag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    static long deZigZag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    /** Lê um varint a partir da posição corrente do buffer, avançando-a. */
+    static long lerVarint(ByteBuffer buffer) {
+        long valor = 0;
+        int deslocamento = 0;
+        while (true) {
+            byte b = buffer.get();
+            valor |= (long) (b & 0x7F) << deslocamento;
+            if (b >= 0) {
+                return valor;
+            }
+            deslocamento += 7;
+            if (deslocamento > 63) {
+                throw new IllegalStateException("Varint inválido na posição " + buffer.position());
+            }
+        }
+    }
+
+    static String lerTexto(ByteBuffer buffer) {
+        int tamanho = (int) lerVarint(buffer);
+        String texto = StandardCharsets.UTF_8.decode(buffer.slice(buffer.position(), tamanho)).toString();
+        buffer.position(buffer.position() + tamanho);
+        return texto;
+    }
+}
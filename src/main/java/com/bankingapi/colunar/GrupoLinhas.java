@@ -0,0 +1,30 @@
+package com.bankingapi.colunar;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrada do rodapé para um grupo de linhas: onde ele está no arquivo e as estatísticas
+ * que permitem pulá-lo sem ler os dados. Datas em micros desde a época e valores em centavos.
+ */
+public record GrupoLinhas(
+        int indice,
+        long posicao,
+        int tamanho,
+        int linhas,
+        long idMinimo,
+        long idMaximo,
+        long dataMinima,
+        long dataMaxima,
+        long valorMinimo,
+        long valorMaximo,
+        long mascaraTipos) {
+
+    public boolean contemTipo(int codigo) {
+        return (mascaraTipos & (1L << codigo)) != 0;
+    }
+
+    /** Se alguma linha do grupo pode ter data em {@code [inicio, fim)}. */
+    public boolean intersectaDatas(LocalDateTime inicio, LocalDateTime fim) {
+        return dataMaxima >= FormatoColunar.paraMicros(inicio) && dataMinima < FormatoColunar.paraMicros(fim);
+    }
+}
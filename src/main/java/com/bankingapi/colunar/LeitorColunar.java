@@ -0,0 +1,142 @@
+package com.bankingapi.colunar;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lê arquivos {@code .bktx} (ver {@link FormatoColunar}) mapeados em memória. Abrir lê só a
+ * cauda, o rodapé e o cabeçalho; cada {@link #varrer(GrupoLinhas)} mapeia apenas o grupo
+ * pedido, e a varredura decodifica direto dos bytes mapeados, só as colunas acessadas.
+ * <pre>
+ * try (LeitorColunar leitor = LeitorColunar.abrir(arquivo)) {
+ *     int pix = leitor.codigoTipo("PIX");
+ *     long total = 0;
+ *     for (GrupoLinhas grupo : leitor.grupos()) {
+ *         if (!grupo.contemTipo(pix)) continue;
+ *         VarreduraColunar linhas = leitor.varrer(grupo);
+ *         while (linhas.proxima()) {
+ *             if (linhas.codigoTipo() == pix) total += linhas.valorCentavos();
+ *         }
+ *     }
+ * }
+ * </pre>
+ * Grupos diferentes podem ser varridos em threads diferentes, cada uma com sua varredura.
+ */
+public final class LeitorColunar implements Closeable {
+
+    private final FileChannel canal;
+    private final int linhasPorGrupo;
+    private final List<String> tipos;
+    private final List<GrupoLinhas> grupos;
+    private final long linhas;
+
+    private LeitorColunar(FileChannel canal, int linhasPorGrupo, List<String> tipos, List<GrupoLinhas> grupos) {
+        this.canal = canal;
+        this.linhasPorGrupo = linhasPorGrupo;
+        this.tipos = tipos;
+        this.grupos = grupos;
+        this.linhas = grupos.stream().mapToLong(GrupoLinhas::linhas).sum();
+    }
+
+    public static LeitorColunar abrir(Path arquivo) throws IOException {
+        FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+        try {
+            long tamanho = canal.size();
+            if (tamanho < 4 + 4 + 4 + 1 + 4 + FormatoColunar.TAMANHO_CAUDA) {
+                throw new IOException("Arquivo colunar truncado: " + arquivo);
+            }
+            MappedByteBuffer cauda = canal.map(FileChannel.MapMode.READ_ONLY,
+                    tamanho - FormatoColunar.TAMANHO_CAUDA, FormatoColunar.TAMANHO_CAUDA);
+            long posicaoRodape = cauda.getLong();
+            verificarMagica(cauda, arquivo);
+
+            MappedByteBuffer rodape = canal.map(FileChannel.MapMode.READ_ONLY,
+                    posicaoRodape, tamanho - FormatoColunar.TAMANHO_CAUDA - posicaoRodape);
+            int quantidade = rodape.getInt();
+            List<GrupoLinhas> grupos = new ArrayList<>(quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                grupos.add(new GrupoLinhas(i, rodape.getLong(), rodape.getInt(), rodape.getInt(),
+                        rodape.getLong(), rodape.getLong(), rodape.getLong(), rodape.getLong(),
+                        rodape.getLong(), rodape.getLong(), rodape.getLong()));
+            }
+
+            long fimCabecalho = grupos.isEmpty() ? posicaoRodape : grupos.get(0).posicao();
+            MappedByteBuffer cabecalho = canal.map(FileChannel.MapMode.READ_ONLY, 0, fimCabecalho);
+            verificarMagica(cabecalho, arquivo);
+            int versao = cabecalho.getInt();
+            if (versao != FormatoColunar.VERSAO) {
+                throw new IOException("Versão " + versao + " não suportada: " + arquivo);
+            }
+            int linhasPorGrupo = cabecalho.getInt();
+            int quantidadeTipos = (int) FormatoColunar.lerVarint(cabecalho);
+            List<String> tipos = new ArrayList<>(quantidadeTipos);
+            for (int i = 0; i < quantidadeTipos; i++) {
+                tipos.add(FormatoColunar.lerTexto(cabecalho));
+            }
+            return new LeitorColunar(canal, linhasPorGrupo, List.copyOf(tipos), List.copyOf(grupos));
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    public List<GrupoLinhas> grupos() {
+        return grupos;
+    }
+
+    /** Nomes dos tipos de transação, na ordem dos códigos. */
+    public List<String> tipos() {
+        return tipos;
+    }
+
+    /** Código do tipo no dicionário do arquivo, ou -1 se o arquivo não o conhece. */
+    public int codigoTipo(String nome) {
+        return tipos.indexOf(nome);
+    }
+
+    public int linhasPorGrupo() {
+        return linhasPorGrupo;
+    }
+
+    public long linhas() {
+        return linhas;
+    }
+
+    public VarreduraColunar varrer(GrupoLinhas grupo) throws IOException {
+        MappedByteBuffer dados = canal.map(FileChannel.MapMode.READ_ONLY, grupo.posicao(), grupo.tamanho());
+        int linhasGrupo = dados.getInt();
+        if (linhasGrupo != grupo.linhas()) {
+            throw new IOException("Grupo " + grupo.indice() + " com " + linhasGrupo + " linhas; rodapé indica "
+                    + grupo.linhas());
+        }
+        ByteBuffer[] colunas = new ByteBuffer[FormatoColunar.COLUNAS];
+        int posicao = 4;
+        for (int i = 0; i < colunas.length; i++) {
+            int tamanho = dados.getInt(posicao);
+            colunas[i] = dados.slice(posicao + 4, tamanho);
+            posicao += 4 + tamanho;
+        }
+        return new VarreduraColunar(linhasGrupo, colunas, tipos);
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    private static void verificarMagica(ByteBuffer buffer, Path arquivo) throws IOException {
+        byte[] magica = new byte[FormatoColunar.MAGICA.length];
+        buffer.get(magica);
+        if (!Arrays.equals(magica, FormatoColunar.MAGICA)) {
+            throw new IOException("Não é um arquivo colunar de transações: " + arquivo);
+        }
+    }
+}
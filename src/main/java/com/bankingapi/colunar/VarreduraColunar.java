@@ -0,0 +1,107 @@
+package com.bankingapi.colunar;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cursor sobre as linhas de um grupo. Cada coluna é decodificada sob demanda a partir do
+ * arquivo mapeado; uma varredura que só soma valores nunca toca as descrições, e o dicionário
+ * de descrições do grupo só é lido no primeiro {@link #descricao()}.
+ * <p>
+ * Não é thread-safe; use uma varredura por thread.
+ */
+public final class VarreduraColunar {
+
+    private static final int ID = 0, DATA = 1, TIPO = 2, VALOR = 3, ORIGEM = 4, DESTINO = 5, DESCRICAO = 6;
+
+    private final int linhas;
+    private final List<String> tipos;
+    private final ByteBuffer colunaTipos;
+    private final ColunaVarint ids;
+    private final ColunaVarint datas;
+    private final ColunaVarint valores;
+    private final ColunaVarint origens;
+    private final ColunaVarint destinos;
+    private final ByteBuffer colunaDescricoes;
+    private ColunaVarint codigosDescricao;
+    private String[] descricoes;
+    private int linha = -1;
+
+    VarreduraColunar(int linhas, ByteBuffer[] colunas, List<String> tipos) {
+        this.linhas = linhas;
+        this.tipos = tipos;
+        this.ids = new ColunaVarint(colunas[ID], true, true);
+        this.datas = new ColunaVarint(colunas[DATA], true, true);
+        this.colunaTipos = colunas[TIPO];
+        this.valores = new ColunaVarint(colunas[VALOR], true, false);
+        this.origens = new ColunaVarint(colunas[ORIGEM], false, false);
+        this.destinos = new ColunaVarint(colunas[DESTINO], false, false);
+        this.colunaDescricoes = colunas[DESCRICAO];
+    }
+
+    public int linhas() {
+        return linhas;
+    }
+
+    /** Avança para a próxima linha; {@code false} quando o grupo acabou. */
+    public boolean proxima() {
+        if (linha + 1 >= linhas) {
+            linha = linhas;
+            return false;
+        }
+        linha++;
+        return true;
+    }
+
+    public long id() {
+        return ids.valor(linha);
+    }
+
+    public long dataMicros() {
+        return datas.valor(linha);
+    }
+
+    public LocalDateTime data() {
+        return FormatoColunar.deMicros(dataMicros());
+    }
+
+    public int codigoTipo() {
+        return colunaTipos.get(linha);
+    }
+
+    public String tipo() {
+        return tipos.get(codigoTipo());
+    }
+
+    public long valorCentavos() {
+        return valores.valor(linha);
+    }
+
+    /** Id da conta de origem, ou {@link FormatoColunar#SEM_CONTA}. */
+    public long contaOrigemId() {
+        return origens.valor(linha);
+    }
+
+    /** Id da conta de destino, ou {@link FormatoColunar#SEM_CONTA}. */
+    public long contaDestinoId() {
+        return destinos.valor(linha);
+    }
+
+    public String descricao() {
+        if (codigosDescricao == null) {
+            lerDicionarioDescricoes();
+        }
+        int codigo = (int) codigosDescricao.valor(linha);
+        return codigo == 0 ? null : descricoes[codigo - 1];
+    }
+
+    private void lerDicionarioDescricoes() {
+        ByteBuffer dados = colunaDescricoes.duplicate();
+        descricoes = new String[(int) FormatoColunar.lerVarint(dados)];
+        for (int i = 0; i < descricoes.length; i++) {
+            descricoes[i] = FormatoColunar.lerTexto(dados);
+        }
+        codigosDescricao = new ColunaVarint(dados.slice(), false, false);
+    }
+}
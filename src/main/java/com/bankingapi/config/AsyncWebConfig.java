@@ -0,0 +1,51 @@
+package com.bankingapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Respostas em streaming (exportação CSV). Com {@code @EnableWebMvc} as propriedades
+ * {@code spring.mvc.async.*} não valem, por isso o executor e o timeout ficam aqui.
+ * Com {@code spring.threads.virtual.enabled=true} cada exportação roda em uma virtual thread,
+ * ainda limitadas a {@code banking.exportacao.threads} simultâneas.
+ */
+@Configuration
+public class AsyncWebConfig implements WebMvcConfigurer {
+
+    @Value("${banking.exportacao.threads:4}")
+    private int threads;
+
+    @Value("${banking.exportacao.timeout-ms:600000}")
+    private long timeoutMillis;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean threadsVirtuais;
+
+    @Bean
+    public AsyncTaskExecutor exportacaoTaskExecutor() {
+        if (threadsVirtuais) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("exportacao-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(threads);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 4);
+        executor.setThreadNamePrefix("exportacao-");
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(exportacaoTaskExecutor());
+        configurer.setDefaultTimeout(timeoutMillis);
+    }
+}
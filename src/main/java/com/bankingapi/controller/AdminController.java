@@ -0,0 +1,177 @@
+package com.bankingapi.controller;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.bankingapi.dto.GeracaoExtratosDTO;
+import com.bankingapi.dto.ImportacaoContasDTO;
+import com.bankingapi.dto.ReconstrucaoSaldosDTO;
+import com.bankingapi.dto.RendimentoPoupancaDTO;
+import com.bankingapi.dto.TarifaManutencaoDTO;
+import com.bankingapi.eventos.SaldosEventos;
+import com.bankingapi.importacao.FormatoImportacao;
+import com.bankingapi.importacao.ImportacaoContas;
+import com.bankingapi.service.ExportacaoTransacoesService;
+import com.bankingapi.service.ExtratoService;
+import com.bankingapi.service.RendimentoPoupancaService;
+import com.bankingapi.service.TarifaManutencaoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/admin")
+@Tag(name = "Administração", description = "Operações de manutenção da base")
+@CrossOrigin(origins = "*")
+public class AdminController {
+
+    @Autowired
+    private SaldosEventos saldosEventos;
+
+    @Autowired
+    private RendimentoPoupancaService rendimentoPoupancaService;
+
+    @Autowired
+    private TarifaManutencaoService tarifaManutencaoService;
+
+    @Autowired
+    private ExtratoService extratoService;
+
+    @Autowired
+    private ExportacaoTransacoesService exportacaoTransacoesService;
+
+    @Autowired
+    private ImportacaoContas importacaoContas;
+
+    @Operation(
+        summary = "Reconstruir saldos",
+        description = "Recalcula em paralelo o saldo de todas as contas a partir das transações e grava novos checkpoints"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Saldos reconstruídos"),
+        @ApiResponse(responseCode = "409", description = "Modo de persistência não permite reconstrução"),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @PostMapping("/saldos/reconstrucao")
+    public ResponseEntity<ReconstrucaoSaldosDTO> reconstruirSaldos(
+            @Parameter(description = "Ignora os checkpoints e refaz o histórico inteiro")
+            @RequestParam(defaultValue = "false") boolean completa) {
+        ReconstrucaoSaldosDTO resultado = saldosEventos.reconstruir(completa);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @Operation(
+        summary = "Creditar rendimento da poupança",
+        description = "Credita o rendimento das poupanças com aniversário na data, retomando uma execução interrompida do mesmo dia"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rendimento creditado"),
+        @ApiResponse(responseCode = "409", description = "Crédito já em execução ou modo de persistência incompatível"),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @PostMapping("/rendimento")
+    public ResponseEntity<RendimentoPoupancaDTO> creditarRendimento(
+            @Parameter(description = "Data de referência (padrão: hoje)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data) {
+        RendimentoPoupancaDTO resultado = rendimentoPoupancaService.creditar(data != null ? data : LocalDate.now());
+        return ResponseEntity.ok(resultado);
+    }
+
+    @Operation(
+        summary = "Cobrar tarifa de manutenção",
+        description = "Debita a tarifa de manutenção das contas correntes que ainda não pagaram a competência"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tarifas cobradas (ou simuladas)"),
+        @ApiResponse(responseCode = "409", description = "Cobrança já em execução ou modo de persistência incompatível"),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @PostMapping("/tarifas")
+    public ResponseEntity<TarifaManutencaoDTO> cobrarTarifas(
+            @Parameter(description = "Competência no formato yyyy-MM (padrão: mês atual)")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth competencia,
+            @Parameter(description = "Só calcula o que seria cobrado, sem alterar contas")
+            @RequestParam(defaultValue = "false") boolean simulacao) {
+        TarifaManutencaoDTO resultado = tarifaManutencaoService.cobrar(
+                competencia != null ? competencia : YearMonth.now(), simulacao);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @Operation(
+        summary = "Gerar extratos mensais",
+        description = "Grava em arquivos o extrato de todas as contas ativas na competência, retomando uma geração interrompida"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Extratos gerados"),
+        @ApiResponse(responseCode = "409", description = "Geração já em execução"),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @PostMapping("/extratos")
+    public ResponseEntity<GeracaoExtratosDTO> gerarExtratos(
+            @Parameter(description = "Competência no formato yyyy-MM (padrão: mês anterior)")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth competencia,
+            @Parameter(description = "Descarta o progresso e os arquivos de uma geração anterior da competência")
+            @RequestParam(defaultValue = "false") boolean refazer) {
+        GeracaoExtratosDTO resultado = extratoService.gerar(
+                competencia != null ? competencia : YearMonth.now().minusMonths(1), refazer);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @Operation(
+        summary = "Exportar transações em formato colunar",
+        description = "Gera em streaming um arquivo .bktx com as transações em ordem de id, para leitura com LeitorColunar"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Arquivo gerado"),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping("/transacoes/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarTransacoes(
+            @Parameter(description = "Exporta só as transações com id maior que este, para exportações incrementais")
+            @RequestParam(defaultValue = "0") long aposId) {
+        StreamingResponseBody arquivo = saida -> exportacaoTransacoesService.exportar(aposId, saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=transacoes.bktx")
+                .body(arquivo);
+    }
+
+    @Operation(
+        summary = "Importar contas em massa",
+        description = "Lê em streaming um CSV (com cabeçalho) ou JSON Lines com nomeCliente, cpfCliente, tipoConta e " +
+                      "saldoInicial e cria clientes e contas em lotes paralelos; linhas recusadas vão para um arquivo de rejeitadas"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Importação concluída, com o relatório de vazão e rejeitadas"),
+        @ApiResponse(responseCode = "400", description = "Formato ou cabeçalho inválido"),
+        @ApiResponse(responseCode = "409", description = "Importação já em execução ou saldos por eventos"),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @PostMapping("/contas/importacao")
+    public ResponseEntity<ImportacaoContasDTO> importarContas(
+            @Parameter(description = "CSV ou JSONL (padrão: CSV)")
+            @RequestParam(defaultValue = "CSV") FormatoImportacao formato,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream corpo) throws IOException {
+        InputStream entrada = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(corpo, 64 * 1024) : corpo;
+        ImportacaoContasDTO resultado = importacaoContas.importar(entrada, formato);
+        return ResponseEntity.ok(resultado);
+    }
+}
@@ -1,28 +1,50 @@
 package com.bankingapi.controller;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.bankingapi.dto.ContaBancariaRequestDTO;
 import com.bankingapi.dto.ContaBancariaResponseDTO;
+import com.bankingapi.dto.ExtratoDTO;
+import com.bankingapi.dto.HistoricoPaginadoDTO;
+import com.bankingapi.dto.SaldoHistoricoDTO;
+import com.bankingapi.dto.SaldoHistoricoRequestDTO;
 import com.bankingapi.dto.TransacaoRequestDTO;
-import com.bankingapi.dto.TransacaoResponseDTO;
+import com.bankingapi.dto.TransferenciaLoteResponseDTO;
 import com.bankingapi.dto.TransferenciaRequestDTO;
 import com.bankingapi.dto.TransferenciaResponseDTO;
+import com.bankingapi.idempotencia.IdempotenciaStore;
+import com.bankingapi.metricas.MaximoConsultas;
 import com.bankingapi.service.ContaService;
+import com.bankingapi.service.ExtratoService;
+import com.bankingapi.service.RegistradorTransacoes;
+import com.bankingapi.service.SaldoHistoricoService;
+import com.bankingapi.service.TransferenciaLoteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 
 @RestController
 @RequestMapping("/api/contas")
@@ -30,9 +52,32 @@ import jakarta.validation.Valid;
 @CrossOrigin(origins = "*")
 public class ContaController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    
+    // Teto por requisição; banking.lote.tamanho-maximo só pode reduzi-lo
+    private static final int MAXIMO_TRANSFERENCIAS_LOTE = 100_000;
+    
+    // Teto por requisição; banking.saldo-historico.tamanho-maximo só pode reduzi-lo
+    private static final int MAXIMO_CONSULTAS_SALDO = 100_000;
+
     @Autowired
     private ContaService contaService;
 
+    @Autowired
+    private IdempotenciaStore idempotenciaStore;
+
+    @Autowired
+    private TransferenciaLoteService transferenciaLoteService;
+    
+    @Autowired
+    private SaldoHistoricoService saldoHistoricoService;
+    
+    @Autowired
+    private ExtratoService extratoService;
+    
+    @Autowired
+    private RegistradorTransacoes registradorTransacoes;
+
     @Operation(
         summary = "Listar todas as contas",
         description = "Retorna uma lista de todas as contas bancárias cadastradas no sistema"
@@ -63,19 +108,81 @@ public class ContaController {
         return ResponseEntity.ok(conta);
     }
 
+    @Operation(
+        summary = "Consultar saldo em uma data",
+        description = "Retorna o saldo da conta no momento informado, a partir do último lançamento até ele"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Saldo encontrado"),
+        @ApiResponse(responseCode = "400", description = "Parâmetro em ausente ou inválido"),
+        @ApiResponse(responseCode = "404", description = "Conta não encontrada"),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping("/{id}/saldo")
+    @MaximoConsultas(1)
+    public ResponseEntity<SaldoHistoricoDTO> consultarSaldoEm(
+            @Parameter(description = "ID da conta bancária") @PathVariable Long id,
+            @Parameter(description = "Momento da consulta (ISO-8601, ex.: 2024-05-31T23:59:59)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime em) {
+        return ResponseEntity.ok(saldoHistoricoService.saldoEm(id, em));
+    }
+
+    @Operation(
+        summary = "Consultar saldos em lote",
+        description = "Retorna o saldo de cada par (contaId, em), na ordem da lista; contas inexistentes vêm com encontrada = false"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Saldos consultados"),
+        @ApiResponse(responseCode = "400", description = "Lista vazia, acima do tamanho máximo ou com item incompleto"),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @PostMapping("/saldos")
+    public ResponseEntity<List<SaldoHistoricoDTO>> consultarSaldosEm(
+            @Parameter(description = "Lista de pares (contaId, em)") 
+            @RequestBody @Size(min = 1, max = MAXIMO_CONSULTAS_SALDO, message = "Lista deve ter de 1 a " 
+                    + MAXIMO_CONSULTAS_SALDO + " consultas") List<@Valid SaldoHistoricoRequestDTO> consultas) {
+        return ResponseEntity.ok(saldoHistoricoService.saldosEm(consultas));
+    }
+
+    @Operation(
+        summary = "Consultar extrato mensal",
+        description = "Retorna saldo inicial, totais por tipo de transação, saldo final e os lançamentos da conta no mês"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Extrato montado"),
+        @ApiResponse(responseCode = "400", description = "Competência inválida"),
+        @ApiResponse(responseCode = "404", description = "Conta não encontrada"),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping("/{id}/extrato")
+    @MaximoConsultas(3)
+    public ResponseEntity<ExtratoDTO> consultarExtrato(
+            @Parameter(description = "ID da conta bancária") @PathVariable Long id,
+            @Parameter(description = "Competência no formato yyyy-MM (padrão: mês atual)")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth competencia) {
+        return ResponseEntity.ok(extratoService.extrato(id, competencia != null ? competencia : YearMonth.now()));
+    }
+
     @Operation(
         summary = "Buscar histórico de transações da conta",
-        description = "Retorna o histórico completo de transações de uma conta específica"
+        description = "Retorna o histórico de transações da conta em páginas, da mais recente para a mais antiga. " +
+                      "Para a próxima página, envie o nextCursor da resposta como cursor"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Histórico encontrado"),
+        @ApiResponse(responseCode = "400", description = "Cursor ou limit inválido"),
         @ApiResponse(responseCode = "404", description = "Conta não encontrada"),
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     @GetMapping("/{id}/historico")
-    public ResponseEntity<List<TransacaoResponseDTO>> buscarHistorico(
-            @Parameter(description = "ID da conta bancária") @PathVariable Long id) {
-        List<TransacaoResponseDTO> historico = contaService.buscarHistorico(id);
+    @MaximoConsultas(2)
+    public ResponseEntity<HistoricoPaginadoDTO> buscarHistorico(
+            @Parameter(description = "ID da conta bancária") @PathVariable Long id,
+            @Parameter(description = "nextCursor da página anterior; vazio para a primeira página")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de transações por página")
+            @RequestParam(required = false) Integer limit) {
+        HistoricoPaginadoDTO historico = contaService.buscarHistorico(id, cursor, limit);
         return ResponseEntity.ok(historico);
     }
 
@@ -92,7 +199,7 @@ public class ContaController {
     public ResponseEntity<ContaBancariaResponseDTO> criarConta(
             @Parameter(description = "Dados para criação da conta") 
             @Valid @RequestBody ContaBancariaRequestDTO contaRequest) {
-        ContaBancariaResponseDTO novaConta = contaService.criarConta(contaRequest);
+        ContaBancariaResponseDTO novaConta = registradorTransacoes.aguardandoGravacao(() -> contaService.criarConta(contaRequest));
         return ResponseEntity.status(HttpStatus.CREATED).body(novaConta);
     }
 
@@ -110,8 +217,12 @@ public class ContaController {
     public ResponseEntity<ContaBancariaResponseDTO> depositar(
             @Parameter(description = "ID da conta para depósito") @PathVariable Long id,
             @Parameter(description = "Dados da transação de depósito") 
-            @Valid @RequestBody TransacaoRequestDTO transacaoRequest) {
-        ContaBancariaResponseDTO contaAtualizada = contaService.depositar(id, transacaoRequest);
+            @Valid @RequestBody TransacaoRequestDTO transacaoRequest,
+            @Parameter(description = "Chave para repetir a requisição sem duplicar o depósito")
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        ContaBancariaResponseDTO contaAtualizada = registradorTransacoes.aguardandoGravacao(() -> idempotenciaStore.executar(
+                idempotencyKey, assinatura("deposito", id, null, transacaoRequest.getValor(), transacaoRequest.getDescricao()),
+                ContaBancariaResponseDTO.class, () -> contaService.depositar(id, transacaoRequest)));
         return ResponseEntity.ok(contaAtualizada);
     }
 
@@ -129,8 +240,12 @@ public class ContaController {
     public ResponseEntity<ContaBancariaResponseDTO> sacar(
             @Parameter(description = "ID da conta para saque") @PathVariable Long id,
             @Parameter(description = "Dados da transação de saque") 
-            @Valid @RequestBody TransacaoRequestDTO transacaoRequest) {
-        ContaBancariaResponseDTO contaAtualizada = contaService.sacar(id, transacaoRequest);
+            @Valid @RequestBody TransacaoRequestDTO transacaoRequest,
+            @Parameter(description = "Chave para repetir a requisição sem duplicar o saque")
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        ContaBancariaResponseDTO contaAtualizada = registradorTransacoes.aguardandoGravacao(() -> idempotenciaStore.executar(
+                idempotencyKey, assinatura("saque", id, null, transacaoRequest.getValor(), transacaoRequest.getDescricao()),
+                ContaBancariaResponseDTO.class, () -> contaService.sacar(id, transacaoRequest)));
         return ResponseEntity.ok(contaAtualizada);
     }
 
@@ -147,23 +262,66 @@ public class ContaController {
     @PostMapping("/transferencia")
     public ResponseEntity<TransferenciaResponseDTO> transferir(
             @Parameter(description = "Dados da transferência") 
-            @Valid @RequestBody TransferenciaRequestDTO transferenciaRequest) {
-        TransferenciaResponseDTO resultado = contaService.transferir(transferenciaRequest);
+            @Valid @RequestBody TransferenciaRequestDTO transferenciaRequest,
+            @Parameter(description = "Chave para repetir a requisição sem duplicar a transferência")
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        TransferenciaResponseDTO resultado = registradorTransacoes.aguardandoGravacao(() -> idempotenciaStore.executar(
+                idempotencyKey, 
+                assinatura("transferencia", transferenciaRequest.getContaOrigemId(), transferenciaRequest.getContaDestinoId(),
+                           transferenciaRequest.getValor(), transferenciaRequest.getDescricao()),
+                TransferenciaResponseDTO.class, () -> contaService.transferir(transferenciaRequest)));
+        return ResponseEntity.ok(resultado);
+    }
+
+    @Operation(
+        summary = "Realizar transferências em lote",
+        description = "Aplica uma lista de transferências em blocos transacionais e retorna o resultado de cada item"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote processado; consulte o status de cada item"),
+        @ApiResponse(responseCode = "400", description = "Lote vazio, acima do tamanho máximo ou com item inválido"),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @PostMapping("/transferencia/lote")
+    public ResponseEntity<TransferenciaLoteResponseDTO> transferirEmLote(
+            @Parameter(description = "Lista de transferências") 
+            @RequestBody @Size(min = 1, max = MAXIMO_TRANSFERENCIAS_LOTE, message = "Lote deve ter de 1 a " 
+                    + MAXIMO_TRANSFERENCIAS_LOTE + " transferências") List<@Valid TransferenciaRequestDTO> transferencias) {
+        TransferenciaLoteResponseDTO resultado = registradorTransacoes.aguardandoGravacao(
+                () -> transferenciaLoteService.transferirEmLote(transferencias));
         return ResponseEntity.ok(resultado);
     }
 
     @Operation(
         summary = "Exportar contas em CSV",
-        description = "Exporta todas as contas cadastradas em formato CSV"
+        description = "Exporta em streaming as contas ativas em formato CSV; com Accept-Encoding: gzip a resposta vem compactada"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "CSV gerado com sucesso"),
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     @GetMapping("/exportar")
-    public ResponseEntity<String> exportarCSV() {
-        String csv = contaService.exportarContasCSV();
-        return ResponseEntity.ok(csv);
+    public ResponseEntity<StreamingResponseBody> exportarCSV(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        StreamingResponseBody csv = saida -> {
+            if (gzip) {
+                GZIPOutputStream saidaGzip = new GZIPOutputStream(saida, 64 * 1024);
+                contaService.exportarContasCSV(saidaGzip);
+                saidaGzip.finish();
+            } else {
+                contaService.exportarContasCSV(saida);
+            }
+        };
+        
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=contas.csv")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return resposta.body(csv);
     }
 
     @GetMapping("/ping")
@@ -171,4 +329,10 @@ public class ContaController {
     public ResponseEntity<String> ping() {
         return ResponseEntity.ok("Banking API está funcionando! 🚀");
     }
+
+    // Identifica o conteúdo da requisição: a mesma Idempotency-Key com outro conteúdo é rejeitada
+    private String assinatura(String operacao, Long contaId, Long contaDestinoId, BigDecimal valor, String descricao) {
+        return operacao + "|" + contaId + "|" + contaDestinoId + "|" 
+                + (valor != null ? valor.stripTrailingZeros().toPlainString() : null) + "|" + descricao;
+    }
 }
@@ -0,0 +1,26 @@
+package com.bankingapi.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição no histórico de uma conta: o {@code seq} no razão da conta do último lançamento
+ * entregue na página anterior. Trafega como texto opaco (base64url).
+ */
+public record CursorHistorico(long seq) {
+
+    /** Posição depois de qualquer lançamento: a primeira página. */
+    public static final CursorHistorico INICIO = new CursorHistorico(Long.MAX_VALUE);
+
+    public String codificar() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(seq).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorHistorico decodificar(String cursor) {
+        try {
+            return new CursorHistorico(Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.bankingapi.dto;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Extrato mensal: saldos de abertura e fechamento e totais por tipo vêm dos totais
+ * mensais da conta; {@code lancamentos} traz as linhas do mês, com valor com sinal
+ * (débito negativo) e o saldo depois de cada uma.
+ */
+public class ExtratoDTO {
+
+    private Long contaId;
+    private String numeroConta;
+    private String nomeCliente;
+    private YearMonth competencia;
+    private BigDecimal saldoInicial;
+    private BigDecimal totalEntradas;
+    private BigDecimal totalSaidas;
+    private BigDecimal saldoFinal;
+    private List<TotalExtratoDTO> totais;
+    private List<LancamentoExtratoDTO> lancamentos;
+
+    public ExtratoDTO() {}
+
+    public ExtratoDTO(Long contaId, String numeroConta, String nomeCliente, YearMonth competencia,
+                      BigDecimal saldoInicial, BigDecimal totalEntradas, BigDecimal totalSaidas, BigDecimal saldoFinal,
+                      List<TotalExtratoDTO> totais, List<LancamentoExtratoDTO> lancamentos) {
+        this.contaId = contaId;
+        this.numeroConta = numeroConta;
+        this.nomeCliente = nomeCliente;
+        this.competencia = competencia;
+        this.saldoInicial = saldoInicial;
+        this.totalEntradas = totalEntradas;
+        this.totalSaidas = totalSaidas;
+        this.saldoFinal = saldoFinal;
+        this.totais = totais;
+        this.lancamentos = lancamentos;
+    }
+
+    public Long getContaId() { return contaId; }
+    public void setContaId(Long contaId) { this.contaId = contaId; }
+
+    public String getNumeroConta() { return numeroConta; }
+    public void setNumeroConta(String numeroConta) { this.numeroConta = numeroConta; }
+
+    public String getNomeCliente() { return nomeCliente; }
+    public void setNomeCliente(String nomeCliente) { this.nomeCliente = nomeCliente; }
+
+    public YearMonth getCompetencia() { return competencia; }
+    public void setCompetencia(YearMonth competencia) { this.competencia = competencia; }
+
+    public BigDecimal getSaldoInicial() { return saldoInicial; }
+    public void setSaldoInicial(BigDecimal saldoInicial) { this.saldoInicial = saldoInicial; }
+
+    public BigDecimal getTotalEntradas() { return totalEntradas; }
+    public void setTotalEntradas(BigDecimal totalEntradas) { this.totalEntradas = totalEntradas; }
+
+    public BigDecimal getTotalSaidas() { return totalSaidas; }
+    public void setTotalSaidas(BigDecimal totalSaidas) { this.totalSaidas = totalSaidas; }
+
+    public BigDecimal getSaldoFinal() { return saldoFinal; }
+    public void setSaldoFinal(BigDecimal saldoFinal) { this.saldoFinal = saldoFinal; }
+
+    public List<TotalExtratoDTO> getTotais() { return totais; }
+    public void setTotais(List<TotalExtratoDTO> totais) { this.totais = totais; }
+
+    public List<LancamentoExtratoDTO> getLancamentos() { return lancamentos; }
+    public void setLancamentos(List<LancamentoExtratoDTO> lancamentos) { this.lancamentos = lancamentos; }
+}
@@ -0,0 +1,53 @@
+package com.bankingapi.dto;
+
+import java.time.YearMonth;
+
+public class GeracaoExtratosDTO {
+
+    private YearMonth competencia;
+    private long contasGeradas;
+    private long lancamentos;
+    private int particoes;
+    private int threads;
+    private String diretorio;
+    private long duracaoMs;
+    private double contasPorSegundo;
+
+    public GeracaoExtratosDTO() {}
+
+    public GeracaoExtratosDTO(YearMonth competencia, long contasGeradas, long lancamentos, int particoes,
+                              int threads, String diretorio, long duracaoMs) {
+        this.competencia = competencia;
+        this.contasGeradas = contasGeradas;
+        this.lancamentos = lancamentos;
+        this.particoes = particoes;
+        this.threads = threads;
+        this.diretorio = diretorio;
+        this.duracaoMs = duracaoMs;
+        this.contasPorSegundo = duracaoMs > 0 ? contasGeradas * 1000.0 / duracaoMs : contasGeradas;
+    }
+
+    public YearMonth getCompetencia() { return competencia; }
+    public void setCompetencia(YearMonth competencia) { this.competencia = competencia; }
+
+    public long getContasGeradas() { return contasGeradas; }
+    public void setContasGeradas(long contasGeradas) { this.contasGeradas = contasGeradas; }
+
+    public long getLancamentos() { return lancamentos; }
+    public void setLancamentos(long lancamentos) { this.lancamentos = lancamentos; }
+
+    public int getParticoes() { return particoes; }
+    public void setParticoes(int particoes) { this.particoes = particoes; }
+
+    public int getThreads() { return threads; }
+    public void setThreads(int threads) { this.threads = threads; }
+
+    public String getDiretorio() { return diretorio; }
+    public void setDiretorio(String diretorio) { this.diretorio = diretorio; }
+
+    public long getDuracaoMs() { return duracaoMs; }
+    public void setDuracaoMs(long duracaoMs) { this.duracaoMs = duracaoMs; }
+
+    public double getContasPorSegundo() { return contasPorSegundo; }
+    public void setContasPorSegundo(double contasPorSegundo) { this.contasPorSegundo = contasPorSegundo; }
+}
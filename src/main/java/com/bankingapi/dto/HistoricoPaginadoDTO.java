@@ -0,0 +1,27 @@
+package com.bankingapi.dto;
+
+import java.util.List;
+
+public class HistoricoPaginadoDTO {
+
+    private List<TransacaoResponseDTO> transacoes;
+    private int limit;
+    private String nextCursor;
+
+    public HistoricoPaginadoDTO() {}
+
+    public HistoricoPaginadoDTO(List<TransacaoResponseDTO> transacoes, int limit, String nextCursor) {
+        this.transacoes = transacoes;
+        this.limit = limit;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TransacaoResponseDTO> getTransacoes() { return transacoes; }
+    public void setTransacoes(List<TransacaoResponseDTO> transacoes) { this.transacoes = transacoes; }
+
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,61 @@
+package com.bankingapi.dto;
+
+public class ImportacaoContasDTO {
+
+    private long linhasLidas;
+    private long contasCriadas;
+    private long clientesCriados;
+    private long clientesExistentes;
+    private long rejeitadas;
+    private int threads;
+    private String arquivoRejeitadas;
+    private long duracaoMs;
+    private double linhasPorSegundo;
+    private double contasPorSegundo;
+
+    public ImportacaoContasDTO() {}
+
+    public ImportacaoContasDTO(long linhasLidas, long contasCriadas, long clientesCriados, long clientesExistentes,
+                               long rejeitadas, int threads, String arquivoRejeitadas, long duracaoMs) {
+        this.linhasLidas = linhasLidas;
+        this.contasCriadas = contasCriadas;
+        this.clientesCriados = clientesCriados;
+        this.clientesExistentes = clientesExistentes;
+        this.rejeitadas = rejeitadas;
+        this.threads = threads;
+        this.arquivoRejeitadas = arquivoRejeitadas;
+        this.duracaoMs = duracaoMs;
+        this.linhasPorSegundo = duracaoMs > 0 ? linhasLidas * 1000.0 / duracaoMs : linhasLidas;
+        this.contasPorSegundo = duracaoMs > 0 ? contasCriadas * 1000.0 / duracaoMs : contasCriadas;
+    }
+
+    public long getLinhasLidas() { return linhasLidas; }
+    public void setLinhasLidas(long linhasLidas) { this.linhasLidas = linhasLidas; }
+
+    public long getContasCriadas() { return contasCriadas; }
+    public void setContasCriadas(long contasCriadas) { this.contasCriadas = contasCriadas; }
+
+    public long getClientesCriados() { return clientesCriados; }
+    public void setClientesCriados(long clientesCriados) { this.clientesCriados = clientesCriados; }
+
+    public long getClientesExistentes() { return clientesExistentes; }
+    public void setClientesExistentes(long clientesExistentes) { this.clientesExistentes = clientesExistentes; }
+
+    public long getRejeitadas() { return rejeitadas; }
+    public void setRejeitadas(long rejeitadas) { this.rejeitadas = rejeitadas; }
+
+    public int getThreads() { return threads; }
+    public void setThreads(int threads) { this.threads = threads; }
+
+    public String getArquivoRejeitadas() { return arquivoRejeitadas; }
+    public void setArquivoRejeitadas(String arquivoRejeitadas) { this.arquivoRejeitadas = arquivoRejeitadas; }
+
+    public long getDuracaoMs() { return duracaoMs; }
+    public void setDuracaoMs(long duracaoMs) { this.duracaoMs = duracaoMs; }
+
+    public double getLinhasPorSegundo() { return linhasPorSegundo; }
+    public void setLinhasPorSegundo(double linhasPorSegundo) { this.linhasPorSegundo = linhasPorSegundo; }
+
+    public double getContasPorSegundo() { return contasPorSegundo; }
+    public void setContasPorSegundo(double contasPorSegundo) { this.contasPorSegundo = contasPorSegundo; }
+}
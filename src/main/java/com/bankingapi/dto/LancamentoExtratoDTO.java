@@ -0,0 +1,51 @@
+package com.bankingapi.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.bankingapi.enums.TipoTransacao;
+
+public class LancamentoExtratoDTO {
+
+    private long seq;
+    private Long transacaoId;
+    private LocalDateTime data;
+    private TipoTransacao tipo;
+    private String descricao;
+    private BigDecimal valor;
+    private BigDecimal saldo;
+
+    public LancamentoExtratoDTO() {}
+
+    public LancamentoExtratoDTO(long seq, Long transacaoId, LocalDateTime data, TipoTransacao tipo,
+                                String descricao, BigDecimal valor, BigDecimal saldo) {
+        this.seq = seq;
+        this.transacaoId = transacaoId;
+        this.data = data;
+        this.tipo = tipo;
+        this.descricao = descricao;
+        this.valor = valor;
+        this.saldo = saldo;
+    }
+
+    public long getSeq() { return seq; }
+    public void setSeq(long seq) { this.seq = seq; }
+
+    public Long getTransacaoId() { return transacaoId; }
+    public void setTransacaoId(Long transacaoId) { this.transacaoId = transacaoId; }
+
+    public LocalDateTime getData() { return data; }
+    public void setData(LocalDateTime data) { this.data = data; }
+
+    public TipoTransacao getTipo() { return tipo; }
+    public void setTipo(TipoTransacao tipo) { this.tipo = tipo; }
+
+    public String getDescricao() { return descricao; }
+    public void setDescricao(String descricao) { this.descricao = descricao; }
+
+    public BigDecimal getValor() { return valor; }
+    public void setValor(BigDecimal valor) { this.valor = valor; }
+
+    public BigDecimal getSaldo() { return saldo; }
+    public void setSaldo(BigDecimal saldo) { this.saldo = saldo; }
+}
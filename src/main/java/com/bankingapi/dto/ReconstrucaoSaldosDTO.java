@@ -0,0 +1,41 @@
+package com.bankingapi.dto;
+
+public class ReconstrucaoSaldosDTO {
+
+    private boolean completa;
+    private int contas;
+    private long eventosReprocessados;
+    private int divergencias;
+    private int threads;
+    private long duracaoMs;
+
+    public ReconstrucaoSaldosDTO() {}
+
+    public ReconstrucaoSaldosDTO(boolean completa, int contas, long eventosReprocessados,
+                                 int divergencias, int threads, long duracaoMs) {
+        this.completa = completa;
+        this.contas = contas;
+        this.eventosReprocessados = eventosReprocessados;
+        this.divergencias = divergencias;
+        this.threads = threads;
+        this.duracaoMs = duracaoMs;
+    }
+
+    public boolean isCompleta() { return completa; }
+    public void setCompleta(boolean completa) { this.completa = completa; }
+
+    public int getContas() { return contas; }
+    public void setContas(int contas) { this.contas = contas; }
+
+    public long getEventosReprocessados() { return eventosReprocessados; }
+    public void setEventosReprocessados(long eventosReprocessados) { this.eventosReprocessados = eventosReprocessados; }
+
+    public int getDivergencias() { return divergencias; }
+    public void setDivergencias(int divergencias) { this.divergencias = divergencias; }
+
+    public int getThreads() { return threads; }
+    public void setThreads(int threads) { this.threads = threads; }
+
+    public long getDuracaoMs() { return duracaoMs; }
+    public void setDuracaoMs(long duracaoMs) { this.duracaoMs = duracaoMs; }
+}
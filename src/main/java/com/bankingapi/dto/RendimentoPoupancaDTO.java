@@ -0,0 +1,49 @@
+package com.bankingapi.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class RendimentoPoupancaDTO {
+
+    private LocalDate dataReferencia;
+    private long contasCreditadas;
+    private BigDecimal valorCreditado;
+    private int particoes;
+    private int threads;
+    private long duracaoMs;
+    private double contasPorSegundo;
+
+    public RendimentoPoupancaDTO() {}
+
+    public RendimentoPoupancaDTO(LocalDate dataReferencia, long contasCreditadas, BigDecimal valorCreditado,
+                                 int particoes, int threads, long duracaoMs) {
+        this.dataReferencia = dataReferencia;
+        this.contasCreditadas = contasCreditadas;
+        this.valorCreditado = valorCreditado;
+        this.particoes = particoes;
+        this.threads = threads;
+        this.duracaoMs = duracaoMs;
+        this.contasPorSegundo = duracaoMs > 0 ? contasCreditadas * 1000.0 / duracaoMs : contasCreditadas;
+    }
+
+    public LocalDate getDataReferencia() { return dataReferencia; }
+    public void setDataReferencia(LocalDate dataReferencia) { this.dataReferencia = dataReferencia; }
+
+    public long getContasCreditadas() { return contasCreditadas; }
+    public void setContasCreditadas(long contasCreditadas) { this.contasCreditadas = contasCreditadas; }
+
+    public BigDecimal getValorCreditado() { return valorCreditado; }
+    public void setValorCreditado(BigDecimal valorCreditado) { this.valorCreditado = valorCreditado; }
+
+    public int getParticoes() { return particoes; }
+    public void setParticoes(int particoes) { this.particoes = particoes; }
+
+    public int getThreads() { return threads; }
+    public void setThreads(int threads) { this.threads = threads; }
+
+    public long getDuracaoMs() { return duracaoMs; }
+    public void setDuracaoMs(long duracaoMs) { this.duracaoMs = duracaoMs; }
+
+    public double getContasPorSegundo() { return contasPorSegundo; }
+    public void setContasPorSegundo(double contasPorSegundo) { this.contasPorSegundo = contasPorSegundo; }
+}
@@ -0,0 +1,53 @@
+package com.bankingapi.dto;
+
+import java.math.BigDecimal;
+
+public class ResultadoTransferenciaLoteDTO {
+    
+    public static final String EFETUADA = "EFETUADA";
+    public static final String REJEITADA = "REJEITADA";
+    
+    private int indice;
+    private String status;
+    private String codigo;
+    private String mensagem;
+    private Long contaOrigemId;
+    private Long contaDestinoId;
+    private BigDecimal valor;
+    
+    public ResultadoTransferenciaLoteDTO() {}
+    
+    public ResultadoTransferenciaLoteDTO(int indice, TransferenciaRequestDTO request, 
+                                         String status, String codigo, String mensagem) {
+        this.indice = indice;
+        this.status = status;
+        this.codigo = codigo;
+        this.mensagem = mensagem;
+        if (request != null) {
+            this.contaOrigemId = request.getContaOrigemId();
+            this.contaDestinoId = request.getContaDestinoId();
+            this.valor = request.getValor();
+        }
+    }
+    
+    public int getIndice() { return indice; }
+    public void setIndice(int indice) { this.indice = indice; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public String getCodigo() { return codigo; }
+    public void setCodigo(String codigo) { this.codigo = codigo; }
+    
+    public String getMensagem() { return mensagem; }
+    public void setMensagem(String mensagem) { this.mensagem = mensagem; }
+    
+    public Long getContaOrigemId() { return contaOrigemId; }
+    public void setContaOrigemId(Long contaOrigemId) { this.contaOrigemId = contaOrigemId; }
+    
+    public Long getContaDestinoId() { return contaDestinoId; }
+    public void setContaDestinoId(Long contaDestinoId) { this.contaDestinoId = contaDestinoId; }
+    
+    public BigDecimal getValor() { return valor; }
+    public void setValor(BigDecimal valor) { this.valor = valor; }
+}
@@ -0,0 +1,49 @@
+package com.bankingapi.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Saldo de uma conta em um momento. {@code seq} e {@code dataUltimoLancamento} identificam o
+ * último lançamento até {@code em}; sem lançamento até lá, os dois são nulos e o saldo é zero.
+ * Na consulta em lote, conta inexistente vem com {@code encontrada = false} e saldo nulo.
+ */
+public class SaldoHistoricoDTO {
+
+    private Long contaId;
+    private LocalDateTime em;
+    private boolean encontrada;
+    private BigDecimal saldo;
+    private Long seq;
+    private LocalDateTime dataUltimoLancamento;
+
+    public SaldoHistoricoDTO() {}
+
+    public SaldoHistoricoDTO(Long contaId, LocalDateTime em, boolean encontrada, BigDecimal saldo,
+                             Long seq, LocalDateTime dataUltimoLancamento) {
+        this.contaId = contaId;
+        this.em = em;
+        this.encontrada = encontrada;
+        this.saldo = saldo;
+        this.seq = seq;
+        this.dataUltimoLancamento = dataUltimoLancamento;
+    }
+
+    public Long getContaId() { return contaId; }
+    public void setContaId(Long contaId) { this.contaId = contaId; }
+
+    public LocalDateTime getEm() { return em; }
+    public void setEm(LocalDateTime em) { this.em = em; }
+
+    public boolean isEncontrada() { return encontrada; }
+    public void setEncontrada(boolean encontrada) { this.encontrada = encontrada; }
+
+    public BigDecimal getSaldo() { return saldo; }
+    public void setSaldo(BigDecimal saldo) { this.saldo = saldo; }
+
+    public Long getSeq() { return seq; }
+    public void setSeq(Long seq) { this.seq = seq; }
+
+    public LocalDateTime getDataUltimoLancamento() { return dataUltimoLancamento; }
+    public void setDataUltimoLancamento(LocalDateTime dataUltimoLancamento) { this.dataUltimoLancamento = dataUltimoLancamento; }
+}
@@ -0,0 +1,29 @@
+package com.bankingapi.dto;
+
+import java.time.LocalDateTime;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public class SaldoHistoricoRequestDTO {
+
+    @NotNull(message = "ID da conta é obrigatório")
+    @Positive(message = "ID da conta deve ser positivo")
+    private Long contaId;
+
+    @NotNull(message = "Momento da consulta é obrigatório")
+    private LocalDateTime em;
+
+    public SaldoHistoricoRequestDTO() {}
+
+    public SaldoHistoricoRequestDTO(Long contaId, LocalDateTime em) {
+        this.contaId = contaId;
+        this.em = em;
+    }
+
+    public Long getContaId() { return contaId; }
+    public void setContaId(Long contaId) { this.contaId = contaId; }
+
+    public LocalDateTime getEm() { return em; }
+    public void setEm(LocalDateTime em) { this.em = em; }
+}
@@ -0,0 +1,49 @@
+package com.bankingapi.dto;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+public class TarifaManutencaoDTO {
+
+    private YearMonth competencia;
+    private boolean simulacao;
+    private long contasCobradas;
+    private BigDecimal valorCobrado;
+    private long contasSemSaldo;
+    private long duracaoMs;
+    private double contasPorSegundo;
+
+    public TarifaManutencaoDTO() {}
+
+    public TarifaManutencaoDTO(YearMonth competencia, boolean simulacao, long contasCobradas,
+                               BigDecimal valorCobrado, long contasSemSaldo, long duracaoMs) {
+        this.competencia = competencia;
+        this.simulacao = simulacao;
+        this.contasCobradas = contasCobradas;
+        this.valorCobrado = valorCobrado;
+        this.contasSemSaldo = contasSemSaldo;
+        this.duracaoMs = duracaoMs;
+        this.contasPorSegundo = duracaoMs > 0 ? contasCobradas * 1000.0 / duracaoMs : contasCobradas;
+    }
+
+    public YearMonth getCompetencia() { return competencia; }
+    public void setCompetencia(YearMonth competencia) { this.competencia = competencia; }
+
+    public boolean isSimulacao() { return simulacao; }
+    public void setSimulacao(boolean simulacao) { this.simulacao = simulacao; }
+
+    public long getContasCobradas() { return contasCobradas; }
+    public void setContasCobradas(long contasCobradas) { this.contasCobradas = contasCobradas; }
+
+    public BigDecimal getValorCobrado() { return valorCobrado; }
+    public void setValorCobrado(BigDecimal valorCobrado) { this.valorCobrado = valorCobrado; }
+
+    public long getContasSemSaldo() { return contasSemSaldo; }
+    public void setContasSemSaldo(long contasSemSaldo) { this.contasSemSaldo = contasSemSaldo; }
+
+    public long getDuracaoMs() { return duracaoMs; }
+    public void setDuracaoMs(long duracaoMs) { this.duracaoMs = duracaoMs; }
+
+    public double getContasPorSegundo() { return contasPorSegundo; }
+    public void setContasPorSegundo(double contasPorSegundo) { this.contasPorSegundo = contasPorSegundo; }
+}
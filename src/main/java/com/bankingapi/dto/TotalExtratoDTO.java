@@ -0,0 +1,34 @@
+package com.bankingapi.dto;
+
+import java.math.BigDecimal;
+
+import com.bankingapi.enums.TipoTransacao;
+
+public class TotalExtratoDTO {
+
+    private TipoTransacao tipo;
+    private long quantidade;
+    private BigDecimal entradas;
+    private BigDecimal saidas;
+
+    public TotalExtratoDTO() {}
+
+    public TotalExtratoDTO(TipoTransacao tipo, long quantidade, BigDecimal entradas, BigDecimal saidas) {
+        this.tipo = tipo;
+        this.quantidade = quantidade;
+        this.entradas = entradas;
+        this.saidas = saidas;
+    }
+
+    public TipoTransacao getTipo() { return tipo; }
+    public void setTipo(TipoTransacao tipo) { this.tipo = tipo; }
+
+    public long getQuantidade() { return quantidade; }
+    public void setQuantidade(long quantidade) { this.quantidade = quantidade; }
+
+    public BigDecimal getEntradas() { return entradas; }
+    public void setEntradas(BigDecimal entradas) { this.entradas = entradas; }
+
+    public BigDecimal getSaidas() { return saidas; }
+    public void setSaidas(BigDecimal saidas) { this.saidas = saidas; }
+}
@@ -0,0 +1,39 @@
+package com.bankingapi.dto;
+
+import java.util.List;
+
+public class TransferenciaLoteResponseDTO {
+    
+    private int total;
+    private int efetuadas;
+    private int rejeitadas;
+    private long duracaoMs;
+    private List<ResultadoTransferenciaLoteDTO> resultados;
+    
+    public TransferenciaLoteResponseDTO() {}
+    
+    public TransferenciaLoteResponseDTO(List<ResultadoTransferenciaLoteDTO> resultados, long duracaoMs) {
+        this.resultados = resultados;
+        this.duracaoMs = duracaoMs;
+        this.total = resultados.size();
+        this.efetuadas = (int) resultados.stream()
+                .filter(r -> ResultadoTransferenciaLoteDTO.EFETUADA.equals(r.getStatus()))
+                .count();
+        this.rejeitadas = this.total - this.efetuadas;
+    }
+    
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+    
+    public int getEfetuadas() { return efetuadas; }
+    public void setEfetuadas(int efetuadas) { this.efetuadas = efetuadas; }
+    
+    public int getRejeitadas() { return rejeitadas; }
+    public void setRejeitadas(int rejeitadas) { this.rejeitadas = rejeitadas; }
+    
+    public long getDuracaoMs() { return duracaoMs; }
+    public void setDuracaoMs(long duracaoMs) { this.duracaoMs = duracaoMs; }
+    
+    public List<ResultadoTransferenciaLoteDTO> getResultados() { return resultados; }
+    public void setResultados(List<ResultadoTransferenciaLoteDTO> resultados) { this.resultados = resultados; }
+}
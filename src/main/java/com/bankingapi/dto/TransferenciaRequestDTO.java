@@ -2,10 +2,26 @@ package com.bankingapi.dto;
 
 import java.math.BigDecimal;
 
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
 public class TransferenciaRequestDTO {
+    
+    @NotNull(message = "ID da conta origem é obrigatório")
+    @Positive(message = "ID da conta origem deve ser positivo")
     private Long contaOrigemId;
+    
+    @NotNull(message = "ID da conta destino é obrigatório")
+    @Positive(message = "ID da conta destino deve ser positivo")
     private Long contaDestinoId;
+    
+    @NotNull(message = "Valor é obrigatório")
+    @DecimalMin(value = "0.01", message = "Valor deve ser maior que zero")
     private BigDecimal valor;
+    
+    @Size(max = 500, message = "Descrição deve ter no máximo 500 caracteres")
     private String descricao;
     
     public TransferenciaRequestDTO() {}
@@ -0,0 +1,275 @@
+package com.bankingapi.engine;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bankingapi.engine.PersistenciaWriteBehind.Mutacao;
+import com.bankingapi.entity.ContaBancaria;
+import com.bankingapi.enums.TipoTransacao;
+import com.bankingapi.exception.BusinessException;
+import com.bankingapi.exception.SobrecargaException;
+import com.bankingapi.repository.ContaBancariaJdbcRepository;
+import com.bankingapi.repository.ContaBancariaRepository;
+import com.bankingapi.repository.RegistroTransacao;
+import com.bankingapi.repository.TransacaoJdbcRepository;
+import com.bankingapi.utils.Centavos;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Motor de saldos em memória (banking.engine.modo=memoria).
+ * <p>
+ * As contas são distribuídas por id entre shards; cada shard tem uma única thread
+ * escritora que consome sua fila de operações. Depósito e saque executam inteiros no
+ * shard da conta. A transferência debita no shard de origem e envia o crédito ao
+ * shard de destino; se o crédito falhar, o valor é estornado na origem.
+ * <p>
+ * Esgotado {@code banking.engine.timeout-ms}, a operação ainda na fila é cancelada e o shard
+ * a descarta, então o 503 significa que nada foi movido. Se o shard já tiver começado a
+ * executá-la, o chamador aguarda o resultado (no caso da transferência, até o crédito no
+ * destino), e a resposta reflete o que de fato aconteceu.
+ * <p>
+ * Saldos e transações vão para o banco em lotes pela {@link PersistenciaWriteBehind}:
+ * uma operação confirmada ao cliente pode ainda não estar no banco, e um crash perde
+ * o que estiver na fila de persistência. No desligamento, o que não puder ser gravado vai
+ * para {@code banking.engine.persistencia.arquivo-pendentes} e é gravado na próxima
+ * inicialização.
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.engine", name = "modo", havingValue = "memoria")
+public class MotorSaldos {
+    
+    public record ResultadoTransferencia<T>(T origem, T destino) {}
+    
+    // Estados de uma operação na fila do shard; quem muda PENDENTE primeiro decide
+    private static final int PENDENTE = 0;
+    private static final int INICIADA = 1;
+    private static final int CANCELADA = 2;
+    
+    @Autowired
+    private ContaBancariaRepository contaBancariaRepository;
+    
+    @Autowired
+    private ContaBancariaJdbcRepository contaBancariaJdbcRepository;
+    
+    @Autowired
+    private TransacaoJdbcRepository transacaoJdbcRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${banking.engine.shards:0}")
+    private int quantidadeShards;
+    
+    @Value("${banking.engine.capacidade:10000}")
+    private int capacidade;
+    
+    @Value("${banking.engine.timeout-ms:5000}")
+    private long timeoutMillis;
+    
+    @Value("${banking.engine.persistencia.lote:1000}")
+    private int tamanhoLote;
+    
+    @Value("${banking.engine.persistencia.arquivo-pendentes:./data/engine/pendentes.jsonl}")
+    private String arquivoPendentes;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private ShardSaldos[] shards;
+    private PersistenciaWriteBehind persistencia;
+    private Semaphore vagas;
+    
+    @PostConstruct
+    public void iniciar() {
+        int quantidade = quantidadeShards > 0 ? quantidadeShards : Runtime.getRuntime().availableProcessors();
+        vagas = new Semaphore(capacidade);
+        persistencia = new PersistenciaWriteBehind(capacidade, tamanhoLote, contaBancariaJdbcRepository,
+                transacaoJdbcRepository, new TransactionTemplate(transactionManager),
+                objectMapper, Path.of(arquivoPendentes));
+        shards = new ShardSaldos[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            shards[i] = new ShardSaldos(i, contaBancariaRepository::findByIdAndAtivaTrue);
+        }
+        
+        persistencia.iniciar();
+        for (ShardSaldos shard : shards) {
+            shard.iniciar();
+        }
+    }
+    
+    @PreDestroy
+    public void parar() throws InterruptedException {
+        for (ShardSaldos shard : shards) {
+            shard.parar();
+        }
+        persistencia.parar();
+    }
+    
+    public <T> T consultar(Long contaId, Function<ContaBancaria, T> visao) {
+        ShardSaldos shard = shardDe(contaId);
+        return executar(shard, resultado -> resultado.complete(visao.apply(shard.conta(contaId))));
+    }
+    
+    public <T> T depositar(Long contaId, BigDecimal valor, String descricao, Function<ContaBancaria, T> visao) {
+        ShardSaldos shard = shardDe(contaId);
+        LocalDateTime agora = LocalDateTime.now();
+        return executar(shard, resultado -> {
+            ContaBancaria conta = shard.conta(contaId);
+            conta.depositar(valor);
+            persistencia.registrar(new Mutacao(contaId, conta.getSaldo(),
+                    new RegistroTransacao(null, contaId, TipoTransacao.DEPOSITO, valor, agora, descricao)));
+            resultado.complete(visao.apply(conta));
+        });
+    }
+    
+    public <T> T sacar(Long contaId, BigDecimal valor, String descricao, Function<ContaBancaria, T> visao) {
+        ShardSaldos shard = shardDe(contaId);
+        LocalDateTime agora = LocalDateTime.now();
+        return executar(shard, resultado -> {
+            ContaBancaria conta = shard.conta(contaId);
+            conta.sacar(valor);
+            persistencia.registrar(new Mutacao(contaId, conta.getSaldo(),
+                    new RegistroTransacao(contaId, null, TipoTransacao.SAQUE, valor, agora, descricao)));
+            resultado.complete(visao.apply(conta));
+        });
+    }
+    
+    public <T> ResultadoTransferencia<T> transferir(Long origemId, Long destinoId, BigDecimal valor, 
+                                                    String descricao, Function<ContaBancaria, T> visao) {
+        if (origemId.equals(destinoId)) {
+            throw new BusinessException("Conta origem e destino não podem ser iguais");
+        }
+        
+        ShardSaldos shardOrigem = shardDe(origemId);
+        ShardSaldos shardDestino = shardDe(destinoId);
+        LocalDateTime agora = LocalDateTime.now();
+        long centavos = Centavos.de(valor);
+        
+        return executar(shardOrigem, resultado -> {
+            ContaBancaria origem = shardOrigem.conta(origemId);
+            origem.sacar(centavos);
+            T visaoOrigem = visao.apply(origem);
+            persistencia.registrar(new Mutacao(origemId, origem.getSaldo(), null));
+            
+            shardDestino.enviar(() -> {
+                try {
+                    ContaBancaria destino = shardDestino.conta(destinoId);
+                    destino.depositar(centavos);
+                    persistencia.registrar(new Mutacao(destinoId, destino.getSaldo(),
+                            new RegistroTransacao(origemId, destinoId, TipoTransacao.TRANSFERENCIA, valor, agora, descricao)));
+                    resultado.complete(new ResultadoTransferencia<>(visaoOrigem, visao.apply(destino)));
+                } catch (RuntimeException e) {
+                    shardOrigem.enviar(() -> estornar(shardOrigem, origemId, centavos));
+                    resultado.completeExceptionally(e);
+                }
+            });
+        });
+    }
+    
+    private void estornar(ShardSaldos shard, Long contaId, long centavos) {
+        ContaBancaria conta = shard.conta(contaId);
+        conta.setSaldoCentavos(Centavos.somar(conta.getSaldoCentavos(), centavos));
+        persistencia.registrar(new Mutacao(contaId, conta.getSaldo(), null));
+    }
+    
+    private <T> T executar(ShardSaldos shard, Consumer<CompletableFuture<T>> operacao) {
+        adquirirVaga();
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        resultado.whenComplete((valor, erro) -> vagas.release());
+        AtomicInteger estado = new AtomicInteger(PENDENTE);
+        
+        shard.enviar(() -> {
+            if (!estado.compareAndSet(PENDENTE, INICIADA)) {
+                return;
+            }
+            try {
+                operacao.accept(resultado);
+            } catch (RuntimeException e) {
+                resultado.completeExceptionally(e);
+            }
+        });
+        return aguardar(resultado, estado);
+    }
+    
+    private void adquirirVaga() {
+        try {
+            if (!vagas.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SobrecargaException("Motor de saldos sobrecarregado");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SobrecargaException("Interrompido aguardando o motor de saldos", e);
+        }
+    }
+    
+    private <T> T aguardar(CompletableFuture<T> resultado, AtomicInteger estado) {
+        try {
+            return resultado.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw causa(e);
+        } catch (TimeoutException e) {
+            if (estado.compareAndSet(PENDENTE, CANCELADA)) {
+                resultado.cancel(false);
+                throw new SobrecargaException("Tempo esgotado aguardando o motor de saldos");
+            }
+        } catch (InterruptedException e) {
+            if (estado.compareAndSet(PENDENTE, CANCELADA)) {
+                resultado.cancel(false);
+                Thread.currentThread().interrupt();
+                throw new SobrecargaException("Interrompido aguardando o motor de saldos", e);
+            }
+            Thread.currentThread().interrupt();
+        }
+        // Já em execução no shard: o desfecho é certo e chega em seguida
+        return aguardarConclusao(resultado);
+    }
+    
+    private static <T> T aguardarConclusao(CompletableFuture<T> resultado) {
+        boolean interrompido = Thread.interrupted();
+        try {
+            while (true) {
+                try {
+                    return resultado.get();
+                } catch (InterruptedException e) {
+                    interrompido = true;
+                } catch (ExecutionException e) {
+                    throw causa(e);
+                }
+            }
+        } finally {
+            if (interrompido) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    private static RuntimeException causa(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException causa) {
+            return causa;
+        }
+        return new IllegalStateException(e.getCause());
+    }
+    
+    private ShardSaldos shardDe(Long contaId) {
+        return shards[(int) Math.floorMod(contaId, (long) shards.length)];
+    }
+}
@@ -0,0 +1,198 @@
+package com.bankingapi.engine;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bankingapi.exception.SobrecargaException;
+import com.bankingapi.repository.ContaBancariaJdbcRepository;
+import com.bankingapi.repository.RegistroTransacao;
+import com.bankingapi.repository.TransacaoJdbcRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Grava de forma assíncrona, em lotes JDBC, os saldos e transações produzidos pelos shards.
+ * Vários saldos da mesma conta dentro de um lote viram um único UPDATE.
+ * <p>
+ * Um lote que falha é tentado de novo até ser gravado. No desligamento, o que não puder
+ * ser gravado (o lote que falhou e o restante da fila) é anexado ao arquivo de pendentes,
+ * um JSON por linha, e gravado no banco na próxima inicialização, antes de qualquer
+ * operação. As mutações trazem o saldo final da conta, então o arquivo precisa ser
+ * reaplicado antes que o saldo mude por outro caminho.
+ */
+class PersistenciaWriteBehind implements Runnable {
+    
+    private static final Logger log = LoggerFactory.getLogger(PersistenciaWriteBehind.class);
+    private static final long ESPERA_NOVA_TENTATIVA_MS = 1000;
+    
+    record Mutacao(Long contaId, BigDecimal saldo, RegistroTransacao transacao) {}
+    
+    private final BlockingQueue<Mutacao> fila;
+    private final int tamanhoLote;
+    private final ContaBancariaJdbcRepository contaJdbcRepository;
+    private final TransacaoJdbcRepository transacaoJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Path arquivoPendentes;
+    private final Thread thread = new Thread(this, "motor-saldos-persistencia");
+    private volatile boolean ativo = true;
+    private boolean guardandoPendentes;
+    
+    PersistenciaWriteBehind(int capacidade, int tamanhoLote,
+                            ContaBancariaJdbcRepository contaJdbcRepository,
+                            TransacaoJdbcRepository transacaoJdbcRepository,
+                            TransactionTemplate transactionTemplate,
+                            ObjectMapper objectMapper, Path arquivoPendentes) {
+        this.fila = new LinkedBlockingQueue<>(capacidade);
+        this.tamanhoLote = tamanhoLote;
+        this.contaJdbcRepository = contaJdbcRepository;
+        this.transacaoJdbcRepository = transacaoJdbcRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.arquivoPendentes = arquivoPendentes;
+    }
+    
+    void iniciar() {
+        reaplicarPendentes();
+        thread.start();
+    }
+    
+    void parar() throws InterruptedException {
+        ativo = false;
+        thread.join();
+    }
+    
+    // Chamado pelas threads dos shards; bloqueia se o banco não acompanhar o ritmo
+    void registrar(Mutacao mutacao) {
+        try {
+            fila.put(mutacao);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SobrecargaException("Interrompido aguardando a persistência de saldos", e);
+        }
+    }
+    
+    @Override
+    public void run() {
+        List<Mutacao> lote = new ArrayList<>(tamanhoLote);
+        while (ativo || !fila.isEmpty()) {
+            try {
+                Mutacao primeira = fila.poll(100, TimeUnit.MILLISECONDS);
+                if (primeira == null) {
+                    continue;
+                }
+                lote.add(primeira);
+                fila.drainTo(lote, tamanhoLote - 1);
+                gravar(lote);
+                lote.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+    
+    private void gravar(List<Mutacao> lote) throws InterruptedException {
+        // Desligando depois de uma falha: o restante da fila vai direto para o arquivo
+        if (guardandoPendentes) {
+            guardarPendentes(lote);
+            return;
+        }
+        while (true) {
+            try {
+                persistir(lote);
+                return;
+            } catch (RuntimeException e) {
+                if (!ativo) {
+                    log.error("Falha ao persistir lote de {} mutações no desligamento; guardando em {}",
+                              lote.size(), arquivoPendentes, e);
+                    guardandoPendentes = true;
+                    guardarPendentes(lote);
+                    return;
+                }
+                log.warn("Falha ao persistir lote de {} mutações; nova tentativa em {} ms", 
+                         lote.size(), ESPERA_NOVA_TENTATIVA_MS, e);
+                Thread.sleep(ESPERA_NOVA_TENTATIVA_MS);
+            }
+        }
+    }
+    
+    private void persistir(List<Mutacao> lote) {
+        Map<Long, BigDecimal> saldos = new LinkedHashMap<>();
+        List<RegistroTransacao> transacoes = new ArrayList<>();
+        for (Mutacao mutacao : lote) {
+            saldos.put(mutacao.contaId(), mutacao.saldo());
+            if (mutacao.transacao() != null) {
+                transacoes.add(mutacao.transacao());
+            }
+        }
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            contaJdbcRepository.atualizarSaldosEmLote(saldos);
+            transacaoJdbcRepository.inserirEmLote(transacoes);
+        });
+    }
+    
+    /**
+     * Anexa as mutações ao arquivo de pendentes, com force antes de retornar. Se nem isso
+     * for possível, as mutações ficam apenas no log.
+     */
+    private void guardarPendentes(List<Mutacao> lote) {
+        try {
+            if (arquivoPendentes.getParent() != null) {
+                Files.createDirectories(arquivoPendentes.getParent());
+            }
+            StringBuilder linhas = new StringBuilder();
+            for (Mutacao mutacao : lote) {
+                linhas.append(objectMapper.writeValueAsString(mutacao)).append('\n');
+            }
+            try (FileChannel canal = FileChannel.open(arquivoPendentes, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer dados = ByteBuffer.wrap(linhas.toString().getBytes(StandardCharsets.UTF_8));
+                while (dados.hasRemaining()) {
+                    canal.write(dados);
+                }
+                canal.force(false);
+            }
+        } catch (IOException e) {
+            log.error("Falha ao guardar {} mutações em {}: {}", lote.size(), arquivoPendentes, lote, e);
+        }
+    }
+    
+    // Na ordem em que foram guardadas: o último saldo de cada conta é o que fica
+    private void reaplicarPendentes() {
+        if (!Files.exists(arquivoPendentes)) {
+            return;
+        }
+        try {
+            List<Mutacao> mutacoes = new ArrayList<>();
+            for (String linha : Files.readAllLines(arquivoPendentes, StandardCharsets.UTF_8)) {
+                if (!linha.isBlank()) {
+                    mutacoes.add(objectMapper.readValue(linha, Mutacao.class));
+                }
+            }
+            persistir(mutacoes);
+            Files.delete(arquivoPendentes);
+            log.info("{} mutações pendentes reaplicadas a partir de {}", mutacoes.size(), arquivoPendentes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao reaplicar as mutações pendentes de " + arquivoPendentes, e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.bankingapi.engine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.bankingapi.entity.ContaBancaria;
+import com.bankingapi.exception.NotFoundException;
+
+/**
+ * Um shard do motor: uma fila e uma única thread escritora. As contas do shard
+ * só são lidas e alteradas por essa thread, portanto não há locks.
+ */
+class ShardSaldos implements Runnable {
+    
+    private static final Logger log = LoggerFactory.getLogger(ShardSaldos.class);
+    private static final int LOTE_MAXIMO = 256;
+    
+    private final BlockingQueue<Runnable> fila = new LinkedBlockingQueue<>();
+    private final Map<Long, ContaBancaria> contas = new HashMap<>();
+    private final Function<Long, Optional<ContaBancaria>> carregador;
+    private final Thread thread;
+    private volatile boolean ativo = true;
+    
+    ShardSaldos(int numero, Function<Long, Optional<ContaBancaria>> carregador) {
+        this.carregador = carregador;
+        this.thread = new Thread(this, "motor-saldos-shard-" + numero);
+    }
+    
+    void iniciar() {
+        thread.start();
+    }
+    
+    void parar() throws InterruptedException {
+        ativo = false;
+        thread.join();
+    }
+    
+    // A fila não tem limite: o controle de capacidade é feito pelo MotorSaldos na entrada,
+    // assim mensagens entre shards nunca bloqueiam uma thread escritora.
+    void enviar(Runnable tarefa) {
+        fila.add(tarefa);
+    }
+    
+    // Somente na thread do shard
+    ContaBancaria conta(Long contaId) {
+        ContaBancaria conta = contas.get(contaId);
+        if (conta == null) {
+            conta = carregador.apply(contaId)
+                    .orElseThrow(() -> new NotFoundException("Conta não encontrada: " + contaId));
+            contas.put(contaId, conta);
+        }
+        return conta;
+    }
+    
+    @Override
+    public void run() {
+        List<Runnable> lote = new ArrayList<>(LOTE_MAXIMO);
+        while (ativo || !fila.isEmpty()) {
+            try {
+                Runnable primeira = fila.poll(100, TimeUnit.MILLISECONDS);
+                if (primeira == null) {
+                    continue;
+                }
+                lote.add(primeira);
+                fila.drainTo(lote, LOTE_MAXIMO - 1);
+                for (Runnable tarefa : lote) {
+                    executar(tarefa);
+                }
+                lote.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+    
+    private void executar(Runnable tarefa) {
+        try {
+            tarefa.run();
+        } catch (RuntimeException e) {
+            log.error("Falha inesperada no {}", thread.getName(), e);
+        }
+    }
+}
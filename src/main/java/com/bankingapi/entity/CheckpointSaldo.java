@@ -0,0 +1,51 @@
+package com.bankingapi.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Saldo de uma conta até a transação {@code ultimaTransacaoId}, inclusive.
+ * O saldo atual é este valor mais as transações da conta com id maior.
+ */
+@Entity
+@Table(name = "checkpoints_saldo")
+public class CheckpointSaldo {
+
+    @Id
+    @Column(name = "conta_id")
+    private Long contaId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal saldo;
+
+    @Column(name = "ultima_transacao_id", nullable = false)
+    private Long ultimaTransacaoId;
+
+    @Column(nullable = false)
+    private Long eventos;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+
+    public CheckpointSaldo() {}
+
+    public Long getContaId() { return contaId; }
+    public void setContaId(Long contaId) { this.contaId = contaId; }
+
+    public BigDecimal getSaldo() { return saldo; }
+    public void setSaldo(BigDecimal saldo) { this.saldo = saldo; }
+
+    public Long getUltimaTransacaoId() { return ultimaTransacaoId; }
+    public void setUltimaTransacaoId(Long ultimaTransacaoId) { this.ultimaTransacaoId = ultimaTransacaoId; }
+
+    public Long getEventos() { return eventos; }
+    public void setEventos(Long eventos) { this.eventos = eventos; }
+
+    public LocalDateTime getAtualizadoEm() { return atualizadoEm; }
+    public void setAtualizadoEm(LocalDateTime atualizadoEm) { this.atualizadoEm = atualizadoEm; }
+}
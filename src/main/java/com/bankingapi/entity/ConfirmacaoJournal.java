@@ -0,0 +1,32 @@
+package com.bankingapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Faixa {@code seq_inicial..seq_final} do journal confirmada pela transação que moveu o saldo.
+ * A linha é gravada na própria transação do saldo, então existe se e somente se ela fez commit;
+ * registros do journal fora de qualquer faixa confirmada não são projetados.
+ */
+@Entity
+@Table(name = "journal_confirmacoes", indexes = @Index(name = "idx_journal_confirmacoes_final", columnList = "seq_final"))
+public class ConfirmacaoJournal {
+
+    @Id
+    @Column(name = "seq_inicial")
+    private Long seqInicial;
+
+    @Column(name = "seq_final", nullable = false)
+    private Long seqFinal;
+
+    public ConfirmacaoJournal() {}
+
+    public Long getSeqInicial() { return seqInicial; }
+    public void setSeqInicial(Long seqInicial) { this.seqInicial = seqInicial; }
+
+    public Long getSeqFinal() { return seqFinal; }
+    public void setSeqFinal(Long seqFinal) { this.seqFinal = seqFinal; }
+}
@@ -5,8 +5,12 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.bankingapi.utils.Centavos;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import jakarta.persistence.Access;
+import jakarta.persistence.AccessType;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.DiscriminatorColumn;
@@ -16,23 +20,31 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
-@Table(name = "contas_bancarias")
+@Table(name = "contas_bancarias", indexes = {
+    // Coluna de ContaPoupanca (tabela única): seleção das poupanças no dia do rendimento
+    @Index(name = "idx_contas_aniversario_id", columnList = "aniversario_conta, id")
+})
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "tipo_conta", discriminatorType = DiscriminatorType.STRING)
 public abstract class ContaBancaria {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contas_bancarias_seq")
+    @SequenceGenerator(name = "contas_bancarias_seq", sequenceName = "contas_bancarias_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, unique = true, length = 20)
@@ -43,10 +55,9 @@ public abstract class ContaBancaria {
     @JsonIgnoreProperties({"contas"})
     private Cliente cliente;
     
-    @NotNull(message = "Saldo não pode ser nulo")
-    @DecimalMin(value = "0.00", message = "Saldo não pode ser negativo")
-    @Column(nullable = false, precision = 19, scale = 2)
-    private BigDecimal saldo;
+    // Persistido como DECIMAL(19,2) pelo getter/setter de saldo (acesso por propriedade)
+    @Transient
+    private long saldoCentavos;
     
     @Column(name = "data_criacao", nullable = false)
     private LocalDateTime dataCriacao;
@@ -54,6 +65,10 @@ public abstract class ContaBancaria {
     @Column(name = "ativa", nullable = false)
     private Boolean ativa;
     
+    @Version
+    @Column(name = "versao")
+    private Long versao;
+    
     @OneToMany(mappedBy = "contaOrigem", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Transacao> transacoesOrigem = new ArrayList<>();
     
@@ -62,7 +77,6 @@ public abstract class ContaBancaria {
     
     public ContaBancaria() {
         this.dataCriacao = LocalDateTime.now();
-        this.saldo = BigDecimal.ZERO;
         this.ativa = true;
     }
     
@@ -70,35 +84,69 @@ public abstract class ContaBancaria {
         this();
         this.numero = numero;
         this.cliente = cliente;
-        this.saldo = saldoInicial != null ? saldoInicial : BigDecimal.ZERO;
+        this.saldoCentavos = saldoInicial != null ? Centavos.de(saldoInicial) : 0;
     }
     
     public abstract BigDecimal calcularTaxa();
     public abstract BigDecimal getLimiteCredito();
+    @JsonIgnore
+    public abstract long getLimiteCreditoCentavos();
     public abstract String getTipoConta();
     
     public void depositar(BigDecimal valor) {
-        validarValorPositivo(valor);
+        depositar(centavosDoValor(valor));
+    }
+    
+    public void depositar(long valorCentavos) {
+        validarValorPositivo(valorCentavos);
         validarContaAtiva();
-        this.saldo = this.saldo.add(valor);
+        this.saldoCentavos = Centavos.somar(this.saldoCentavos, valorCentavos);
     }
     
     public void sacar(BigDecimal valor) {
-        validarValorPositivo(valor);
+        sacar(centavosDoValor(valor));
+    }
+    
+    public void sacar(long valorCentavos) {
+        validarValorPositivo(valorCentavos);
         validarContaAtiva();
-        validarSaldoSuficiente(valor);
-        this.saldo = this.saldo.subtract(valor);
+        validarSaldoSuficiente(valorCentavos);
+        this.saldoCentavos = Centavos.subtrair(this.saldoCentavos, valorCentavos);
     }
     
+    /**
+     * Verificação sem exceção: valores nulos ou que não cabem em centavos (mais de duas casas
+     * decimais, ou acima do limite suportado) simplesmente não podem ser transferidos.
+     */
     public boolean podeTransferir(BigDecimal valor) {
+        if (valor == null) {
+            return false;
+        }
+        long valorCentavos;
+        try {
+            valorCentavos = Centavos.de(valor);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return podeTransferir(valorCentavos);
+    }
+    
+    // valor - limite em vez de saldo + limite: com valor positivo e limite não negativo, não estoura
+    public boolean podeTransferir(long valorCentavos) {
         return this.ativa && 
-               valor != null && 
-               valor.compareTo(BigDecimal.ZERO) > 0 &&
-               (this.saldo.add(getLimiteCredito())).compareTo(valor) >= 0;
+               valorCentavos > 0 &&
+               valorCentavos - getLimiteCreditoCentavos() <= this.saldoCentavos;
+    }
+    
+    private static long centavosDoValor(BigDecimal valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("Valor deve ser positivo");
+        }
+        return Centavos.de(valor);
     }
     
-    private void validarValorPositivo(BigDecimal valor) {
-        if (valor == null || valor.compareTo(BigDecimal.ZERO) <= 0) {
+    private void validarValorPositivo(long valorCentavos) {
+        if (valorCentavos <= 0) {
             throw new IllegalArgumentException("Valor deve ser positivo");
         }
     }
@@ -109,11 +157,11 @@ public abstract class ContaBancaria {
         }
     }
     
-    private void validarSaldoSuficiente(BigDecimal valor) {
-        BigDecimal limiteTotal = this.saldo.add(getLimiteCredito());
-        if (limiteTotal.compareTo(valor) < 0) {
+    private void validarSaldoSuficiente(long valorCentavos) {
+        long limiteTotal = Centavos.somar(this.saldoCentavos, getLimiteCreditoCentavos());
+        if (limiteTotal < valorCentavos) {
             throw new IllegalArgumentException(
-                "Saldo insuficiente. Saldo disponível: " + limiteTotal);
+                "Saldo insuficiente. Saldo disponível: " + Centavos.paraBigDecimal(limiteTotal));
         }
     }
     
@@ -126,8 +174,16 @@ public abstract class ContaBancaria {
     public Cliente getCliente() { return cliente; }
     public void setCliente(Cliente cliente) { this.cliente = cliente; }
     
-    public BigDecimal getSaldo() { return saldo; }
-    public void setSaldo(BigDecimal saldo) { this.saldo = saldo; }
+    @Access(AccessType.PROPERTY)
+    @NotNull(message = "Saldo não pode ser nulo")
+    @DecimalMin(value = "0.00", message = "Saldo não pode ser negativo")
+    @Column(name = "saldo", nullable = false, precision = 19, scale = 2)
+    public BigDecimal getSaldo() { return Centavos.paraBigDecimal(saldoCentavos); }
+    public void setSaldo(BigDecimal saldo) { this.saldoCentavos = Centavos.arredondado(saldo); }
+    
+    @JsonIgnore
+    public long getSaldoCentavos() { return saldoCentavos; }
+    public void setSaldoCentavos(long saldoCentavos) { this.saldoCentavos = saldoCentavos; }
     
     public LocalDateTime getDataCriacao() { return dataCriacao; }
     public void setDataCriacao(LocalDateTime dataCriacao) { this.dataCriacao = dataCriacao; }
@@ -135,6 +191,9 @@ public abstract class ContaBancaria {
     public Boolean getAtiva() { return ativa; }
     public void setAtiva(Boolean ativa) { this.ativa = ativa; }
     
+    public Long getVersao() { return versao; }
+    public void setVersao(Long versao) { this.versao = versao; }
+    
     public List<Transacao> getTransacoesOrigem() { return transacoesOrigem; }
     public void setTransacoesOrigem(List<Transacao> transacoesOrigem) { this.transacoesOrigem = transacoesOrigem; }
     
@@ -143,6 +202,6 @@ public abstract class ContaBancaria {
     
     @Override
     public String toString() {
-        return "ContaBancaria{id=" + id + ", numero='" + numero + "', tipo='" + getTipoConta() + "', saldo=" + saldo + "}";
+        return "ContaBancaria{id=" + id + ", numero='" + numero + "', tipo='" + getTipoConta() + "', saldo=" + getSaldo() + "}";
     }
 }
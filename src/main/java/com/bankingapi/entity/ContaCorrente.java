@@ -1,76 +1,89 @@
 package com.bankingapi.entity;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
+import com.bankingapi.utils.Centavos;
+
+import jakarta.persistence.Access;
+import jakarta.persistence.AccessType;
 import jakarta.persistence.Column;
 import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Transient;
 
 @Entity
 @DiscriminatorValue("CORRENTE")
 public class ContaCorrente extends ContaBancaria {
     
-    @Column(name = "limite_credito", precision = 19, scale = 2)
-    private BigDecimal limiteCredito;
+    private static final long LIMITE_CREDITO_PADRAO = 100_000; // R$ 1000,00
+    private static final long TAXA_MANUTENCAO_PADRAO = 1_500;  // R$ 15,00
     
-    @Column(name = "taxa_manutencao", precision = 19, scale = 2)
-    private BigDecimal taxaManutencao;
+    // Persistidos como DECIMAL(19,2) pelos getters/setters (acesso por propriedade)
+    @Transient
+    private long limiteCreditoCentavos;
+    
+    @Transient
+    private long taxaManutencaoCentavos;
+    
+    // Primeiro dia do último mês (competência) em que a tarifa de manutenção foi cobrada
+    @Column(name = "ultima_tarifa")
+    private LocalDate ultimaTarifa;
     
     public ContaCorrente() {
         super();
-        this.limiteCredito = new BigDecimal("1000.00"); 
-        this.taxaManutencao = new BigDecimal("15.00");   
+        this.limiteCreditoCentavos = LIMITE_CREDITO_PADRAO; 
+        this.taxaManutencaoCentavos = TAXA_MANUTENCAO_PADRAO;   
     }
     
     public ContaCorrente(String numero, Cliente cliente, BigDecimal saldoInicial) {
         super(numero, cliente, saldoInicial);
-        this.limiteCredito = new BigDecimal("1000.00");
-        this.taxaManutencao = new BigDecimal("15.00");
+        this.limiteCreditoCentavos = LIMITE_CREDITO_PADRAO;
+        this.taxaManutencaoCentavos = TAXA_MANUTENCAO_PADRAO;
     }
     
     public ContaCorrente(String numero, Cliente cliente, BigDecimal saldoInicial, 
                         BigDecimal limiteCredito) {
         super(numero, cliente, saldoInicial);
-        this.limiteCredito = limiteCredito != null ? limiteCredito : new BigDecimal("1000.00");
-        this.taxaManutencao = new BigDecimal("15.00");
+        this.limiteCreditoCentavos = limiteCredito != null ? Centavos.de(limiteCredito) : LIMITE_CREDITO_PADRAO;
+        this.taxaManutencaoCentavos = TAXA_MANUTENCAO_PADRAO;
     }
     
     @Override
     public BigDecimal calcularTaxa() {
-        return this.taxaManutencao;
+        return getTaxaManutencao();
     }
     
     @Override
+    @Access(AccessType.PROPERTY)
+    @Column(name = "limite_credito", precision = 19, scale = 2)
     public BigDecimal getLimiteCredito() {
-        return this.limiteCredito;
+        return Centavos.paraBigDecimal(this.limiteCreditoCentavos);
     }
     
     @Override
-    public String getTipoConta() {
-        return "CONTA CORRENTE";
+    public long getLimiteCreditoCentavos() {
+        return this.limiteCreditoCentavos;
     }
     
     @Override
-    public boolean podeTransferir(BigDecimal valor) {
-        return getAtiva() && 
-               valor != null && 
-               valor.compareTo(BigDecimal.ZERO) > 0 &&
-               (getSaldo().add(this.limiteCredito)).compareTo(valor) >= 0;
+    public String getTipoConta() {
+        return "CONTA CORRENTE";
     }
     
     public void alterarLimiteCredito(BigDecimal novoLimite) {
         if (novoLimite == null || novoLimite.compareTo(BigDecimal.ZERO) < 0) {
             throw new IllegalArgumentException("Limite de crédito deve ser positivo ou zero");
         }
-        this.limiteCredito = novoLimite;
+        this.limiteCreditoCentavos = Centavos.de(novoLimite);
     }
     
     public BigDecimal getSaldoComLimite() {
-        return getSaldo().add(this.limiteCredito);
+        return Centavos.paraBigDecimal(Centavos.somar(getSaldoCentavos(), this.limiteCreditoCentavos));
     }
     
     public boolean isUsandoLimite() {
-        return getSaldo().compareTo(BigDecimal.ZERO) < 0;
+        return getSaldoCentavos() < 0;
     }
     
     public BigDecimal getValorUsadoDoLimite() {
@@ -81,15 +94,25 @@ public class ContaCorrente extends ContaBancaria {
     }
     
     public void setLimiteCredito(BigDecimal limiteCredito) { 
-        this.limiteCredito = limiteCredito; 
+        this.limiteCreditoCentavos = limiteCredito != null ? Centavos.arredondado(limiteCredito) : 0; 
     }
     
+    @Access(AccessType.PROPERTY)
+    @Column(name = "taxa_manutencao", precision = 19, scale = 2)
     public BigDecimal getTaxaManutencao() { 
-        return taxaManutencao; 
+        return Centavos.paraBigDecimal(taxaManutencaoCentavos); 
     }
     
     public void setTaxaManutencao(BigDecimal taxaManutencao) { 
-        this.taxaManutencao = taxaManutencao; 
+        this.taxaManutencaoCentavos = taxaManutencao != null ? Centavos.arredondado(taxaManutencao) : 0; 
+    }
+    
+    public LocalDate getUltimaTarifa() {
+        return ultimaTarifa;
+    }
+    
+    public void setUltimaTarifa(LocalDate ultimaTarifa) {
+        this.ultimaTarifa = ultimaTarifa;
     }
     
     @Override
@@ -98,7 +121,7 @@ public class ContaCorrente extends ContaBancaria {
                 "id=" + getId() +
                 ", numero='" + getNumero() + '\'' +
                 ", saldo=" + getSaldo() +
-                ", limiteCredito=" + limiteCredito +
+                ", limiteCredito=" + getLimiteCredito() +
                 ", saldoComLimite=" + getSaldoComLimite() +
                 ", cliente=" + (getCliente() != null ? getCliente().getNome() : "null") +
                 '}';
@@ -1,6 +1,8 @@
 package com.bankingapi.entity;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
@@ -54,47 +56,58 @@ public class ContaPoupanca extends ContaBancaria {
     }
     
     @Override
-    public String getTipoConta() {
-        return "CONTA POUPANÇA";
+    public long getLimiteCreditoCentavos() {
+        return 0; 
     }
     
     @Override
-    public boolean podeTransferir(BigDecimal valor) {
-        return getAtiva() && 
-               valor != null && 
-               valor.compareTo(BigDecimal.ZERO) > 0 &&
-               getSaldo().compareTo(valor) >= 0; 
+    public String getTipoConta() {
+        return "CONTA POUPANÇA";
     }
     
     @Override
-    public void sacar(BigDecimal valor) {
-        if (!podeTransferir(valor)) {
+    public void sacar(long valorCentavos) {
+        if (!podeTransferir(valorCentavos)) {
             throw new IllegalArgumentException(
                 "Saque negado. Poupança não permite saldo negativo. Saldo disponível: " + getSaldo());
         }
-        super.sacar(valor); 
+        super.sacar(valorCentavos); 
     }
     
     public BigDecimal calcularRendimento() {
         return getSaldo().multiply(this.taxaRendimento);
     }
     
-    public void aplicarRendimento() {
-        if (getSaldo().compareTo(BigDecimal.ZERO) > 0) {
-            BigDecimal rendimento = calcularRendimento();
-            setSaldo(getSaldo().add(rendimento));
-            this.ultimoRendimento = LocalDateTime.now();
+    /**
+     * Credita o rendimento do mês e retorna o valor creditado (zero se não houver saldo).
+     */
+    public BigDecimal aplicarRendimento() {
+        if (getSaldoCentavos() <= 0) {
+            return BigDecimal.ZERO;
         }
+        BigDecimal rendimento = calcularRendimento().setScale(2, RoundingMode.HALF_UP);
+        setSaldo(getSaldo().add(rendimento));
+        this.ultimoRendimento = LocalDateTime.now();
+        return rendimento;
     }
     
     public boolean isAniversarioConta() {
-        return LocalDateTime.now().getDayOfMonth() == this.aniversarioConta;
+        return isAniversarioConta(LocalDate.now());
+    }
+    
+    // Aniversário depois do fim do mês (29 a 31 em meses mais curtos) cai no último dia
+    public boolean isAniversarioConta(LocalDate data) {
+        int dia = data.getDayOfMonth();
+        return this.aniversarioConta == dia || (dia == data.lengthOfMonth() && this.aniversarioConta > dia);
     }
     
     public boolean podeReceberRendimento() {
-        return isAniversarioConta() && 
-               (this.ultimoRendimento == null || 
-                !this.ultimoRendimento.toLocalDate().equals(LocalDateTime.now().toLocalDate()));
+        return podeReceberRendimento(LocalDate.now());
+    }
+    
+    public boolean podeReceberRendimento(LocalDate data) {
+        return isAniversarioConta(data) && 
+               (this.ultimoRendimento == null || this.ultimoRendimento.toLocalDate().isBefore(data));
     }
     
     public BigDecimal getRendimentoAcumulado(int meses) {
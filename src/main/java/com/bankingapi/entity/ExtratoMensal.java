@@ -0,0 +1,121 @@
+package com.bankingapi.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import com.bankingapi.enums.TipoTransacao;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+/**
+ * Totais de uma conta em um mês ({@code competencia} = primeiro dia) por tipo de transação,
+ * mantidos junto com o razão por {@code ExtratoMensalJdbcRepository}: quantidade, entradas e
+ * saídas, e a faixa {@code seq_inicial..seq_final} dos lançamentos com o saldo antes do
+ * primeiro e depois do último. O saldo de abertura do mês é o {@code saldo_inicial} do tipo
+ * com menor {@code seq_inicial}; o de fechamento, o {@code saldo_final} do maior {@code seq_final}.
+ */
+@Entity
+@Table(name = "extratos_mensais")
+@IdClass(ExtratoMensal.Chave.class)
+public class ExtratoMensal {
+
+    @Id
+    @Column(name = "conta_id")
+    private Long contaId;
+
+    @Id
+    @Column(name = "competencia")
+    private LocalDate competencia;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", length = 20)
+    private TipoTransacao tipo;
+
+    @Column(nullable = false)
+    private Long quantidade;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal entradas;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal saidas;
+
+    @Column(name = "seq_inicial", nullable = false)
+    private Long seqInicial;
+
+    @Column(name = "seq_final", nullable = false)
+    private Long seqFinal;
+
+    @Column(name = "saldo_inicial", nullable = false, precision = 19, scale = 2)
+    private BigDecimal saldoInicial;
+
+    @Column(name = "saldo_final", nullable = false, precision = 19, scale = 2)
+    private BigDecimal saldoFinal;
+
+    public ExtratoMensal() {}
+
+    public Long getContaId() { return contaId; }
+    public void setContaId(Long contaId) { this.contaId = contaId; }
+
+    public LocalDate getCompetencia() { return competencia; }
+    public void setCompetencia(LocalDate competencia) { this.competencia = competencia; }
+
+    public TipoTransacao getTipo() { return tipo; }
+    public void setTipo(TipoTransacao tipo) { this.tipo = tipo; }
+
+    public Long getQuantidade() { return quantidade; }
+    public void setQuantidade(Long quantidade) { this.quantidade = quantidade; }
+
+    public BigDecimal getEntradas() { return entradas; }
+    public void setEntradas(BigDecimal entradas) { this.entradas = entradas; }
+
+    public BigDecimal getSaidas() { return saidas; }
+    public void setSaidas(BigDecimal saidas) { this.saidas = saidas; }
+
+    public Long getSeqInicial() { return seqInicial; }
+    public void setSeqInicial(Long seqInicial) { this.seqInicial = seqInicial; }
+
+    public Long getSeqFinal() { return seqFinal; }
+    public void setSeqFinal(Long seqFinal) { this.seqFinal = seqFinal; }
+
+    public BigDecimal getSaldoInicial() { return saldoInicial; }
+    public void setSaldoInicial(BigDecimal saldoInicial) { this.saldoInicial = saldoInicial; }
+
+    public BigDecimal getSaldoFinal() { return saldoFinal; }
+    public void setSaldoFinal(BigDecimal saldoFinal) { this.saldoFinal = saldoFinal; }
+
+    public static class Chave implements Serializable {
+
+        private Long contaId;
+        private LocalDate competencia;
+        private TipoTransacao tipo;
+
+        public Chave() {}
+
+        public Chave(Long contaId, LocalDate competencia, TipoTransacao tipo) {
+            this.contaId = contaId;
+            this.competencia = competencia;
+            this.tipo = tipo;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Chave outra && Objects.equals(contaId, outra.contaId)
+                    && Objects.equals(competencia, outra.competencia) && tipo == outra.tipo;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(contaId, competencia, tipo);
+        }
+    }
+}
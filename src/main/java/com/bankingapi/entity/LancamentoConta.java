@@ -0,0 +1,95 @@
+package com.bankingapi.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Razão por conta: uma linha para cada conta afetada por uma transação, numerada por conta
+ * em {@code seq}, com o valor com sinal (débito negativo) e o saldo da conta depois dele.
+ * <p>
+ * As linhas são gravadas via JDBC junto com as de {@code transacoes} (ver
+ * {@code LancamentoContaJdbcRepository}), por isso {@code transacao_id} não tem chave
+ * estrangeira. Os índices decrescentes servem as leituras do fim para o começo (histórico,
+ * último saldo e saldo em uma data), que o H2 só ordena pelo índice quando o {@code ORDER BY}
+ * repete todas as colunas, a começar por {@code conta_id DESC}.
+ */
+@Entity
+@Table(name = "lancamentos_conta", indexes = {
+    @Index(name = "idx_lancamentos_conta_seq_desc", columnList = "conta_id DESC, seq DESC"),
+    @Index(name = "idx_lancamentos_conta_data_desc", columnList = "conta_id DESC, data_lancamento DESC, seq DESC")
+})
+@IdClass(LancamentoConta.Chave.class)
+public class LancamentoConta {
+
+    @Id
+    @Column(name = "conta_id")
+    private Long contaId;
+
+    @Id
+    @Column(name = "seq")
+    private Long seq;
+
+    @Column(name = "transacao_id", nullable = false)
+    private Long transacaoId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal valor;
+
+    @Column(name = "saldo_apos", nullable = false, precision = 19, scale = 2)
+    private BigDecimal saldoApos;
+
+    @Column(name = "data_lancamento", nullable = false)
+    private LocalDateTime dataLancamento;
+
+    public LancamentoConta() {}
+
+    public Long getContaId() { return contaId; }
+    public void setContaId(Long contaId) { this.contaId = contaId; }
+
+    public Long getSeq() { return seq; }
+    public void setSeq(Long seq) { this.seq = seq; }
+
+    public Long getTransacaoId() { return transacaoId; }
+    public void setTransacaoId(Long transacaoId) { this.transacaoId = transacaoId; }
+
+    public BigDecimal getValor() { return valor; }
+    public void setValor(BigDecimal valor) { this.valor = valor; }
+
+    public BigDecimal getSaldoApos() { return saldoApos; }
+    public void setSaldoApos(BigDecimal saldoApos) { this.saldoApos = saldoApos; }
+
+    public LocalDateTime getDataLancamento() { return dataLancamento; }
+    public void setDataLancamento(LocalDateTime dataLancamento) { this.dataLancamento = dataLancamento; }
+
+    public static class Chave implements Serializable {
+
+        private Long contaId;
+        private Long seq;
+
+        public Chave() {}
+
+        public Chave(Long contaId, Long seq) {
+            this.contaId = contaId;
+            this.seq = seq;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Chave outra && Objects.equals(contaId, outra.contaId) && Objects.equals(seq, outra.seq);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(contaId, seq);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.bankingapi.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Andamento de uma partição (faixa de ids {@code primeiroId..ultimoId}) da geração dos
+ * extratos de uma competência. {@code cursorId} é o último id com extrato gravado e
+ * {@code bytesGravados} o tamanho confirmado do arquivo da partição.
+ */
+@Entity
+@Table(name = "progresso_extrato", uniqueConstraints =
+    @UniqueConstraint(name = "uk_progresso_extrato_competencia_particao", columnNames = {"competencia", "particao"}))
+public class ProgressoExtrato {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "progresso_extrato_seq")
+    @SequenceGenerator(name = "progresso_extrato_seq", sequenceName = "progresso_extrato_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate competencia;
+
+    @Column(nullable = false)
+    private Integer particao;
+
+    @Column(name = "primeiro_id", nullable = false)
+    private Long primeiroId;
+
+    @Column(name = "ultimo_id", nullable = false)
+    private Long ultimoId;
+
+    @Column(name = "cursor_id", nullable = false)
+    private Long cursorId;
+
+    @Column(name = "contas_geradas", nullable = false)
+    private Long contasGeradas;
+
+    @Column(name = "bytes_gravados", nullable = false)
+    private Long bytesGravados;
+
+    @Column(nullable = false)
+    private Boolean concluida;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+
+    public ProgressoExtrato() {}
+
+    public ProgressoExtrato(LocalDate competencia, int particao, long primeiroId, long ultimoId) {
+        this.competencia = competencia;
+        this.particao = particao;
+        this.primeiroId = primeiroId;
+        this.ultimoId = ultimoId;
+        this.cursorId = primeiroId - 1;
+        this.contasGeradas = 0L;
+        this.bytesGravados = 0L;
+        this.concluida = false;
+        this.atualizadoEm = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDate getCompetencia() { return competencia; }
+    public void setCompetencia(LocalDate competencia) { this.competencia = competencia; }
+
+    public Integer getParticao() { return particao; }
+    public void setParticao(Integer particao) { this.particao = particao; }
+
+    public Long getPrimeiroId() { return primeiroId; }
+    public void setPrimeiroId(Long primeiroId) { this.primeiroId = primeiroId; }
+
+    public Long getUltimoId() { return ultimoId; }
+    public void setUltimoId(Long ultimoId) { this.ultimoId = ultimoId; }
+
+    public Long getCursorId() { return cursorId; }
+    public void setCursorId(Long cursorId) { this.cursorId = cursorId; }
+
+    public Long getContasGeradas() { return contasGeradas; }
+    public void setContasGeradas(Long contasGeradas) { this.contasGeradas = contasGeradas; }
+
+    public Long getBytesGravados() { return bytesGravados; }
+    public void setBytesGravados(Long bytesGravados) { this.bytesGravados = bytesGravados; }
+
+    public Boolean getConcluida() { return concluida; }
+    public void setConcluida(Boolean concluida) { this.concluida = concluida; }
+
+    public LocalDateTime getAtualizadoEm() { return atualizadoEm; }
+    public void setAtualizadoEm(LocalDateTime atualizadoEm) { this.atualizadoEm = atualizadoEm; }
+}
@@ -0,0 +1,92 @@
+package com.bankingapi.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Andamento de uma partição (faixa de ids {@code primeiroId..ultimoId}) do crédito de
+ * rendimento de um dia. {@code cursorId} é o último id já processado e confirmado.
+ */
+@Entity
+@Table(name = "progresso_rendimento", uniqueConstraints =
+    @UniqueConstraint(name = "uk_progresso_rendimento_data_particao", columnNames = {"data_referencia", "particao"}))
+public class ProgressoRendimento {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "progresso_rendimento_seq")
+    @SequenceGenerator(name = "progresso_rendimento_seq", sequenceName = "progresso_rendimento_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "data_referencia", nullable = false)
+    private LocalDate dataReferencia;
+
+    @Column(nullable = false)
+    private Integer particao;
+
+    @Column(name = "primeiro_id", nullable = false)
+    private Long primeiroId;
+
+    @Column(name = "ultimo_id", nullable = false)
+    private Long ultimoId;
+
+    @Column(name = "cursor_id", nullable = false)
+    private Long cursorId;
+
+    @Column(name = "contas_creditadas", nullable = false)
+    private Long contasCreditadas;
+
+    @Column(nullable = false)
+    private Boolean concluida;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+
+    public ProgressoRendimento() {}
+
+    public ProgressoRendimento(LocalDate dataReferencia, int particao, long primeiroId, long ultimoId) {
+        this.dataReferencia = dataReferencia;
+        this.particao = particao;
+        this.primeiroId = primeiroId;
+        this.ultimoId = ultimoId;
+        this.cursorId = primeiroId - 1;
+        this.contasCreditadas = 0L;
+        this.concluida = false;
+        this.atualizadoEm = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDate getDataReferencia() { return dataReferencia; }
+    public void setDataReferencia(LocalDate dataReferencia) { this.dataReferencia = dataReferencia; }
+
+    public Integer getParticao() { return particao; }
+    public void setParticao(Integer particao) { this.particao = particao; }
+
+    public Long getPrimeiroId() { return primeiroId; }
+    public void setPrimeiroId(Long primeiroId) { this.primeiroId = primeiroId; }
+
+    public Long getUltimoId() { return ultimoId; }
+    public void setUltimoId(Long ultimoId) { this.ultimoId = ultimoId; }
+
+    public Long getCursorId() { return cursorId; }
+    public void setCursorId(Long cursorId) { this.cursorId = cursorId; }
+
+    public Long getContasCreditadas() { return contasCreditadas; }
+    public void setContasCreditadas(Long contasCreditadas) { this.contasCreditadas = contasCreditadas; }
+
+    public Boolean getConcluida() { return concluida; }
+    public void setConcluida(Boolean concluida) { this.concluida = concluida; }
+
+    public LocalDateTime getAtualizadoEm() { return atualizadoEm; }
+    public void setAtualizadoEm(LocalDateTime atualizadoEm) { this.atualizadoEm = atualizadoEm; }
+}
@@ -0,0 +1,82 @@
+package com.bankingapi.entity;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+/**
+ * Resposta já concluída de uma requisição com {@code Idempotency-Key}.
+ * A chave é atribuída pelo cliente, por isso a entidade se declara nova
+ * até ser gravada (evita o SELECT do merge no {@code save}).
+ */
+@Entity
+@Table(name = "respostas_idempotentes")
+public class RespostaIdempotente implements Persistable<String> {
+
+    @Id
+    @Column(length = 100)
+    private String chave;
+
+    @Column(nullable = false, length = 500)
+    private String assinatura;
+
+    @Lob
+    @Column(nullable = false)
+    private String corpo;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    @Transient
+    private boolean nova = true;
+
+    public RespostaIdempotente() {}
+
+    public RespostaIdempotente(String chave, String assinatura, String corpo, LocalDateTime criadoEm) {
+        this.chave = chave;
+        this.assinatura = assinatura;
+        this.corpo = corpo;
+        this.criadoEm = criadoEm;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarPersistida() {
+        this.nova = false;
+    }
+
+    @Override
+    public String getId() {
+        return chave;
+    }
+
+    @Override
+    public boolean isNew() {
+        return nova;
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    public String getAssinatura() {
+        return assinatura;
+    }
+
+    public String getCorpo() {
+        return corpo;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+}
@@ -14,18 +14,24 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
-@Table(name = "transacoes")
+@Table(name = "transacoes", indexes = {
+    @Index(name = "idx_transacoes_origem_data_id", columnList = "conta_origem_id, data_transacao, id"),
+    @Index(name = "idx_transacoes_destino_data_id", columnList = "conta_destino_id, data_transacao, id")
+})
 public class Transacao {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transacoes_seq")
+    @SequenceGenerator(name = "transacoes_seq", sequenceName = "transacoes_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -53,6 +59,9 @@ public class Transacao {
     @Column(length = 500)
     private String descricao;
     
+    @Column(name = "journal_seq", unique = true)
+    private Long journalSeq;
+    
     public Transacao() {
         this.dataTransacao = LocalDateTime.now();
     }
@@ -88,6 +97,9 @@ public class Transacao {
     public String getDescricao() { return descricao; }
     public void setDescricao(String descricao) { this.descricao = descricao; }
     
+    public Long getJournalSeq() { return journalSeq; }
+    public void setJournalSeq(Long journalSeq) { this.journalSeq = journalSeq; }
+    
     @Override
     public String toString() {
         return "Transacao{id=" + id + ", tipo=" + tipo + ", valor=" + valor + "}";
@@ -4,7 +4,9 @@ public enum TipoTransacao {
     DEPOSITO("Depósito"),
     SAQUE("Saque"),
     TRANSFERENCIA("Transferência"),
-    PIX("PIX");
+    PIX("PIX"),
+    RENDIMENTO("Rendimento"),
+    TARIFA("Tarifa");
     
     private final String descricao;
     
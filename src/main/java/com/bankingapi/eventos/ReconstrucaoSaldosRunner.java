@@ -0,0 +1,41 @@
+package com.bankingapi.eventos;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reconstrução de saldos pela linha de comando:
+ * <pre>
+ * java -jar banking-api.jar --reconstruir-saldos
+ * java -jar banking-api.jar --reconstruir-saldos=completa
+ * </pre>
+ * Sem valor, reprocessa apenas as transações posteriores aos checkpoints; com
+ * {@code completa}, refaz o histórico inteiro. Encerra a aplicação ao terminar.
+ */
+@Component
+public class ReconstrucaoSaldosRunner implements ApplicationRunner {
+
+    private static final String OPCAO = "reconstruir-saldos";
+
+    @Autowired
+    private SaldosEventos saldosEventos;
+
+    @Autowired
+    private ConfigurableApplicationContext contexto;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPCAO)) {
+            return;
+        }
+
+        boolean completa = args.getOptionValues(OPCAO).contains("completa");
+        saldosEventos.reconstruir(completa);
+
+        System.exit(SpringApplication.exit(contexto, () -> 0));
+    }
+}
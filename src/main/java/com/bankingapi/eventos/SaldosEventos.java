@@ -0,0 +1,228 @@
+package com.bankingapi.eventos;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bankingapi.cache.CacheContas;
+import com.bankingapi.dto.ContaBancariaResponseDTO;
+import com.bankingapi.dto.ReconstrucaoSaldosDTO;
+import com.bankingapi.entity.ContaBancaria;
+import com.bankingapi.lock.ContaLockManager;
+import com.bankingapi.repository.ContaBancariaJdbcRepository;
+import com.bankingapi.repository.SaldoDerivado;
+import com.bankingapi.repository.SaldoEventosJdbcRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Saldos derivados do fluxo de {@link com.bankingapi.entity.Transacao}.
+ * <p>
+ * Com {@code banking.saldos.modo=eventos}, o saldo de uma conta é o último checkpoint
+ * mais as transações posteriores a ele; a coluna {@code contas_bancarias.saldo} vira um
+ * cache corrigido sempre que a conta é carregada para uma movimentação. Um novo checkpoint
+ * é gravado, na transação da movimentação, quando há {@code banking.saldos.checkpoint-eventos}
+ * transações depois do anterior.
+ * <p>
+ * Os checkpoints usam o id da transação como posição. Isso vale porque as movimentações de uma
+ * conta acontecem sob o lock dela e os ids vêm de uma sequência crescente; por isso o modo não
+ * combina com o motor em memória, com o journal nem com a auditoria assíncrona, que gravam as
+ * transações depois do commit do saldo (a derivação leria um fluxo sem as últimas movimentações).
+ */
+@Component
+public class SaldosEventos {
+
+    private static final Logger log = LoggerFactory.getLogger(SaldosEventos.class);
+
+    @Autowired
+    private SaldoEventosJdbcRepository saldoEventosRepository;
+
+    @Autowired
+    private ContaBancariaJdbcRepository contaBancariaJdbcRepository;
+
+    @Autowired
+    private ContaLockManager contaLockManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheContas cacheContas;
+
+    @Value("${banking.saldos.modo:estado}")
+    private String modo;
+
+    @Value("${banking.saldos.checkpoint-eventos:100}")
+    private int eventosPorCheckpoint;
+
+    @Value("${banking.saldos.reconstrucao.threads:0}")
+    private int threadsReconstrucao;
+
+    @Value("${banking.saldos.reconstrucao.faixa:500}")
+    private int tamanhoFaixa;
+
+    @Value("${banking.engine.modo:jpa}")
+    private String modoEngine;
+
+    @Value("${banking.journal.habilitado:false}")
+    private boolean journalHabilitado;
+
+    @Value("${banking.auditoria.assincrona:false}")
+    private boolean auditoriaAssincrona;
+
+    private boolean ativo;
+
+    @PostConstruct
+    public void validarConfiguracao() {
+        ativo = "eventos".equalsIgnoreCase(modo);
+        if (ativo && !gravacaoSincrona()) {
+            throw new IllegalStateException(
+                "banking.saldos.modo=eventos exige banking.engine.modo=jpa, banking.journal.habilitado=false "
+                + "e banking.auditoria.assincrona=false");
+        }
+    }
+
+    public boolean isAtivo() {
+        return ativo;
+    }
+
+    /**
+     * Corrige o saldo das contas carregadas para uma movimentação. Deve ser chamado com o
+     * lock das contas já adquirido.
+     */
+    public void sincronizar(Collection<ContaBancaria> contas) {
+        if (!ativo || contas.isEmpty()) {
+            return;
+        }
+
+        Map<Long, SaldoDerivado> derivados = saldoEventosRepository.calcular(
+                contas.stream().map(ContaBancaria::getId).toList(), true);
+        List<SaldoDerivado> checkpoints = new ArrayList<>();
+        for (ContaBancaria conta : contas) {
+            SaldoDerivado derivado = derivados.get(conta.getId());
+            if (conta.getSaldo().compareTo(derivado.saldo()) != 0) {
+                log.warn("Saldo gravado da conta {} ({}) diverge dos eventos ({}); usando o derivado",
+                         conta.getId(), conta.getSaldo(), derivado.saldo());
+                conta.setSaldo(derivado.saldo());
+            }
+            if (derivado.eventosAposCheckpoint() >= eventosPorCheckpoint) {
+                checkpoints.add(derivado);
+            }
+        }
+        saldoEventosRepository.gravarCheckpoints(checkpoints);
+    }
+
+    public void sincronizar(ContaBancaria conta) {
+        sincronizar(List.of(conta));
+    }
+
+    /**
+     * Substitui o saldo das respostas pelo saldo derivado, sem alterar as contas.
+     */
+    public void aplicarSaldosDerivados(List<ContaBancariaResponseDTO> contas) {
+        if (!ativo) {
+            return;
+        }
+        for (List<ContaBancariaResponseDTO> faixa : particionar(contas)) {
+            Map<Long, SaldoDerivado> derivados = saldoEventosRepository.calcular(
+                    faixa.stream().map(ContaBancariaResponseDTO::getId).toList(), true);
+            faixa.forEach(dto -> dto.setSaldo(derivados.get(dto.getId()).saldo()));
+        }
+    }
+
+    /**
+     * Recalcula o saldo de todas as contas em paralelo, em faixas de ids processadas por
+     * transações independentes, grava um checkpoint por conta e corrige os saldos gravados
+     * que divergirem. Com {@code completa}, ignora os checkpoints e refaz o histórico inteiro.
+     */
+    public ReconstrucaoSaldosDTO reconstruir(boolean completa) {
+        if (!gravacaoSincrona()) {
+            throw new IllegalStateException(
+                "Reconstrução de saldos exige banking.engine.modo=jpa e banking.journal.habilitado=false");
+        }
+
+        long inicio = System.nanoTime();
+        List<List<Long>> faixas = particionar(saldoEventosRepository.idsDeContas());
+        int threads = threadsReconstrucao > 0 ? threadsReconstrucao : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> new Thread(r, "reconstrucao-saldos"));
+        long eventos = 0;
+        int divergencias = 0;
+        int contas = 0;
+        try {
+            List<Future<long[]>> resultados = new ArrayList<>();
+            for (List<Long> faixa : faixas) {
+                resultados.add(executor.submit(() -> reconstruirFaixa(faixa, completa)));
+            }
+            for (Future<long[]> resultado : resultados) {
+                long[] parcial = resultado.get();
+                contas += (int) parcial[0];
+                eventos += parcial[1];
+                divergencias += (int) parcial[2];
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconstrução de saldos interrompida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException("Falha na reconstrução de saldos", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+        log.info("Reconstrução {} de saldos: {} contas, {} eventos, {} divergências, {} threads, {} ms",
+                 completa ? "completa" : "incremental", contas, eventos, divergencias, threads, duracaoMs);
+        return new ReconstrucaoSaldosDTO(completa, contas, eventos, divergencias, threads, duracaoMs);
+    }
+
+    // retorna {contas, eventos lidos, divergências}
+    private long[] reconstruirFaixa(List<Long> contaIds, boolean completa) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            contaLockManager.bloquearAteFimDaTransacao(contaIds);
+
+            Map<Long, SaldoDerivado> derivados = saldoEventosRepository.calcular(contaIds, !completa);
+            Map<Long, BigDecimal> gravados = saldoEventosRepository.saldosGravados(contaIds);
+            Map<Long, BigDecimal> corrigidos = derivados.values().stream()
+                    .filter(d -> gravados.get(d.contaId()).compareTo(d.saldo()) != 0)
+                    .collect(Collectors.toMap(SaldoDerivado::contaId, SaldoDerivado::saldo));
+
+            saldoEventosRepository.gravarCheckpoints(derivados.values());
+            contaBancariaJdbcRepository.atualizarSaldosEmLote(corrigidos);
+            cacheContas.invalidarAposCommit(corrigidos.keySet());
+
+            long eventos = completa
+                    ? derivados.values().stream().mapToLong(SaldoDerivado::eventos).sum()
+                    : derivados.values().stream().mapToLong(SaldoDerivado::eventosAposCheckpoint).sum();
+            return new long[] { contaIds.size(), eventos, corrigidos.size() };
+        });
+    }
+
+    private <T> List<List<T>> particionar(List<T> itens) {
+        List<List<T>> faixas = new ArrayList<>();
+        for (int i = 0; i < itens.size(); i += tamanhoFaixa) {
+            faixas.add(itens.subList(i, Math.min(i + tamanhoFaixa, itens.size())));
+        }
+        return faixas;
+    }
+
+    private boolean gravacaoSincrona() {
+        return "jpa".equalsIgnoreCase(modoEngine) && !journalHabilitado && !auditoriaAssincrona;
+    }
+}
@@ -0,0 +1,13 @@
+package com.bankingapi.exception;
+
+/**
+ * A movimentação fez commit, mas a gravação das linhas de {@code transacoes} não foi confirmada
+ * dentro de {@code banking.auditoria.espera-confirmacao-ms}. Os registros continuam na fila.
+ */
+public class AuditoriaNaoConfirmadaException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    
+    public AuditoriaNaoConfirmadaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.bankingapi.exception;
+
+public class ConflitoConcorrenciaException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    
+    public ConflitoConcorrenciaException(String message) {
+        super(message);
+    }
+    
+    public ConflitoConcorrenciaException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -4,16 +4,29 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSourceResolvable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
+import org.springframework.validation.method.ParameterErrors;
+import org.springframework.validation.method.ParameterValidationResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @RestControllerAdvice
 public class ExceptionHandlerConfig {
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<Map<String, Object>> handleNotFoundException(NotFoundException ex) {
         Map<String, Object> errorResponse = createErrorResponse(
@@ -49,6 +62,34 @@ public class ExceptionHandlerConfig {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
     
+    // Listas no corpo (@Size na lista, @Valid nos itens): os erros vêm por parâmetro e índice
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<Map<String, Object>> handleMethodValidationException(HandlerMethodValidationException ex) {
+        Map<String, Object> errorResponse = createErrorResponse(
+            HttpStatus.BAD_REQUEST, "VALIDATION_ERROR", "Dados inválidos"
+        );
+        
+        Map<String, String> fieldErrors = new HashMap<>();
+        for (ParameterValidationResult resultado : ex.getAllValidationResults()) {
+            String campo = resultado.getMethodParameter().getParameterName();
+            if (resultado.getContainerIndex() != null) {
+                campo += "[" + resultado.getContainerIndex() + "]";
+            }
+            if (resultado instanceof ParameterErrors erros) {
+                for (FieldError error : erros.getFieldErrors()) {
+                    fieldErrors.put(campo + "." + error.getField(), error.getDefaultMessage());
+                }
+            } else {
+                for (MessageSourceResolvable error : resultado.getResolvableErrors()) {
+                    fieldErrors.put(campo, error.getDefaultMessage());
+                }
+            }
+        }
+        errorResponse.put("fieldErrors", fieldErrors);
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+    
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, Object>> handleIllegalArgumentException(IllegalArgumentException ex) {
         Map<String, Object> errorResponse = createErrorResponse(
@@ -58,6 +99,24 @@ public class ExceptionHandlerConfig {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
     
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<Map<String, Object>> handleMissingParameter(MissingServletRequestParameterException ex) {
+        Map<String, Object> errorResponse = createErrorResponse(
+            HttpStatus.BAD_REQUEST, "INVALID_ARGUMENT", "Parâmetro obrigatório ausente: " + ex.getParameterName()
+        );
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+    
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        Map<String, Object> errorResponse = createErrorResponse(
+            HttpStatus.BAD_REQUEST, "INVALID_ARGUMENT", "Valor inválido para " + ex.getName() + ": " + ex.getValue()
+        );
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+    
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<Map<String, Object>> handleIllegalStateException(IllegalStateException ex) {
         Map<String, Object> errorResponse = createErrorResponse(
@@ -67,6 +126,34 @@ public class ExceptionHandlerConfig {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
     
+    @ExceptionHandler({ConflitoConcorrenciaException.class, ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<Map<String, Object>> handleConcurrencyException(RuntimeException ex) {
+        Map<String, Object> errorResponse = createErrorResponse(
+            HttpStatus.CONFLICT, "CONCURRENT_MODIFICATION", 
+            "Conta alterada por outra operação. Tente novamente."
+        );
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+    
+    @ExceptionHandler(SobrecargaException.class)
+    public ResponseEntity<Map<String, Object>> handleSobrecargaException(SobrecargaException ex) {
+        Map<String, Object> errorResponse = createErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_OVERLOADED", ex.getMessage()
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+    
+    @ExceptionHandler(AuditoriaNaoConfirmadaException.class)
+    public ResponseEntity<Map<String, Object>> handleAuditoriaNaoConfirmadaException(AuditoriaNaoConfirmadaException ex) {
+        Map<String, Object> errorResponse = createErrorResponse(
+            HttpStatus.GATEWAY_TIMEOUT, "AUDIT_NOT_CONFIRMED", ex.getMessage()
+        );
+        
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(errorResponse);
+    }
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
         Map<String, Object> errorResponse = createErrorResponse(
@@ -81,6 +168,9 @@ public class ExceptionHandlerConfig {
     }
     
     private Map<String, Object> createErrorResponse(HttpStatus status, String code, String message) {
+        meterRegistry.counter("banking.operacoes.rejeitadas", "codigo", code, "status", String.valueOf(status.value()))
+                     .increment();
+        
         Map<String, Object> errorResponse = new HashMap<>();
         errorResponse.put("timestamp", LocalDateTime.now());
         errorResponse.put("status", status.value());
@@ -0,0 +1,13 @@
+package com.bankingapi.exception;
+
+public class SobrecargaException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    
+    public SobrecargaException(String message) {
+        super(message);
+    }
+    
+    public SobrecargaException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,269 @@
+package com.bankingapi.idempotencia;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bankingapi.entity.RespostaIdempotente;
+import com.bankingapi.exception.BusinessException;
+import com.bankingapi.exception.ConflitoConcorrenciaException;
+import com.bankingapi.repository.RespostaIdempotenteRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Respostas de operações que movimentam dinheiro, indexadas pelo header {@code Idempotency-Key}.
+ * <p>
+ * A primeira requisição de uma chave executa a operação; repetições concorrentes aguardam o
+ * mesmo resultado e repetições posteriores recebem a resposta guardada sem tocar o banco.
+ * Falhas não ficam guardadas, de modo que o cliente pode tentar de novo com a mesma chave.
+ * O mapa é limitado por {@code banking.idempotencia.capacidade} (as mais antigas saem primeiro)
+ * e cada resposta expira após {@code banking.idempotencia.ttl-minutos}.
+ * <p>
+ * Com {@code banking.idempotencia.persistente=true} a resposta também é gravada em
+ * {@code respostas_idempotentes} na mesma transação da operação (no modo JPA), o que preserva
+ * a chave entre reinícios; a tabela só é consultada quando a chave não está em memória.
+ */
+@Component
+public class IdempotenciaStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotenciaStore.class);
+    private static final int TAMANHO_MAXIMO_CHAVE = 100;
+
+    @Autowired
+    private RespostaIdempotenteRepository respostaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${banking.idempotencia.capacidade:100000}")
+    private int capacidade;
+
+    @Value("${banking.idempotencia.ttl-minutos:1440}")
+    private long ttlMinutos;
+
+    @Value("${banking.idempotencia.espera-maxima-ms:30000}")
+    private long esperaMaximaMillis;
+
+    @Value("${banking.idempotencia.persistente:false}")
+    private boolean persistente;
+
+    private final ConcurrentHashMap<String, Entrada> entradas = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entrada> ordemInsercao = new ConcurrentLinkedQueue<>();
+    private ScheduledExecutorService limpeza;
+
+    @PostConstruct
+    public void iniciar() {
+        limpeza = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "idempotencia-limpeza");
+            thread.setDaemon(true);
+            return thread;
+        });
+        limpeza.scheduleWithFixedDelay(this::removerExpiradas, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void parar() {
+        limpeza.shutdownNow();
+    }
+
+    /**
+     * Executa a operação uma única vez por chave. Sem chave, apenas executa.
+     *
+     * @param assinatura identifica o conteúdo da requisição; a mesma chave com outra
+     *                   assinatura é rejeitada
+     */
+    public <T> T executar(String chave, String assinatura, Class<T> tipoResposta, Supplier<T> operacao) {
+        if (chave == null || chave.isBlank()) {
+            return operacao.get();
+        }
+        if (chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new IllegalArgumentException(
+                "Idempotency-Key deve ter no máximo " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+        }
+
+        while (true) {
+            Entrada existente = entradas.get(chave);
+            if (existente != null) {
+                if (existente.expirada(System.nanoTime())) {
+                    entradas.remove(chave, existente);
+                    continue;
+                }
+                return aguardar(existente, assinatura, tipoResposta);
+            }
+
+            Entrada nova = new Entrada(chave, assinatura);
+            if (entradas.putIfAbsent(chave, nova) == null) {
+                ordemInsercao.offer(nova);
+                aplicarCapacidade();
+                return executarPrimeira(nova, tipoResposta, operacao);
+            }
+        }
+    }
+
+    public int getQuantidadeEmMemoria() {
+        return entradas.size();
+    }
+
+    private <T> T executarPrimeira(Entrada entrada, Class<T> tipoResposta, Supplier<T> operacao) {
+        try {
+            T resposta = persistente
+                    ? buscarPersistida(entrada, tipoResposta).orElseGet(() -> executarEPersistir(entrada, operacao))
+                    : operacao.get();
+            entrada.concluir(resposta, TimeUnit.MINUTES.toNanos(ttlMinutos));
+            return resposta;
+        } catch (DataIntegrityViolationException e) {
+            // outra instância gravou a mesma chave primeiro; a operação desta foi desfeita
+            ConflitoConcorrenciaException conflito = new ConflitoConcorrenciaException(
+                "Requisição com esta Idempotency-Key já processada por outra instância", e);
+            falhar(entrada, conflito);
+            throw conflito;
+        } catch (RuntimeException e) {
+            falhar(entrada, e);
+            throw e;
+        }
+    }
+
+    private void falhar(Entrada entrada, RuntimeException erro) {
+        entradas.remove(entrada.chave, entrada);
+        entrada.futuro.completeExceptionally(erro);
+    }
+
+    private <T> T aguardar(Entrada entrada, String assinatura, Class<T> tipoResposta) {
+        validarAssinatura(entrada.assinatura, assinatura);
+        try {
+            return tipoResposta.cast(entrada.futuro.get(esperaMaximaMillis, TimeUnit.MILLISECONDS));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ConflitoConcorrenciaException(
+                "Requisição com esta Idempotency-Key ainda em processamento", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflitoConcorrenciaException(
+                "Interrompido aguardando requisição com a mesma Idempotency-Key", e);
+        }
+    }
+
+    private <T> Optional<T> buscarPersistida(Entrada entrada, Class<T> tipoResposta) {
+        LocalDateTime limite = LocalDateTime.now().minusMinutes(ttlMinutos);
+        return respostaRepository.findById(entrada.chave)
+                .filter(r -> r.getCriadoEm().isAfter(limite))
+                .map(r -> {
+                    validarAssinatura(r.getAssinatura(), entrada.assinatura);
+                    return lerJson(r.getCorpo(), tipoResposta);
+                });
+    }
+
+    private <T> T executarEPersistir(Entrada entrada, Supplier<T> operacao) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            T resposta = operacao.get();
+            respostaRepository.save(new RespostaIdempotente(
+                entrada.chave, entrada.assinatura, escreverJson(resposta), LocalDateTime.now()));
+            return resposta;
+        });
+    }
+
+    private void validarAssinatura(String original, String recebida) {
+        if (!original.equals(recebida)) {
+            throw new BusinessException("IDEMPOTENCY_KEY_REUSED",
+                "Idempotency-Key já utilizada com uma requisição diferente");
+        }
+    }
+
+    // Só entradas concluídas saem por capacidade; uma chave em andamento precisa
+    // continuar visível para as repetições que chegarem
+    private void aplicarCapacidade() {
+        int tentativas = ordemInsercao.size();
+        while (entradas.size() > capacidade && tentativas-- > 0) {
+            Entrada maisAntiga = ordemInsercao.poll();
+            if (maisAntiga == null) {
+                return;
+            }
+            if (maisAntiga.futuro.isDone()) {
+                entradas.remove(maisAntiga.chave, maisAntiga);
+            } else if (entradas.get(maisAntiga.chave) == maisAntiga) {
+                ordemInsercao.offer(maisAntiga);
+            }
+        }
+    }
+
+    private void removerExpiradas() {
+        try {
+            long agora = System.nanoTime();
+            entradas.values().removeIf(entrada -> entrada.expirada(agora));
+            ordemInsercao.removeIf(entrada -> entradas.get(entrada.chave) != entrada);
+            if (persistente) {
+                int removidas = respostaRepository.removerCriadasAntesDe(LocalDateTime.now().minusMinutes(ttlMinutos));
+                if (removidas > 0) {
+                    log.debug("{} respostas idempotentes expiradas removidas", removidas);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao remover respostas idempotentes expiradas", e);
+        }
+    }
+
+    private String escreverJson(Object resposta) {
+        try {
+            return objectMapper.writeValueAsString(resposta);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar resposta idempotente", e);
+        }
+    }
+
+    private <T> T lerJson(String corpo, Class<T> tipoResposta) {
+        try {
+            return objectMapper.readValue(corpo, tipoResposta);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao ler resposta idempotente", e);
+        }
+    }
+
+    private static final class Entrada {
+        final String chave;
+        final String assinatura;
+        final CompletableFuture<Object> futuro = new CompletableFuture<>();
+        volatile long expiraEmNanos = Long.MAX_VALUE;
+
+        Entrada(String chave, String assinatura) {
+            this.chave = chave;
+            this.assinatura = assinatura;
+        }
+
+        void concluir(Object resposta, long ttlNanos) {
+            expiraEmNanos = System.nanoTime() + ttlNanos;
+            futuro.complete(resposta);
+        }
+
+        boolean expirada(long agora) {
+            return futuro.isDone() && agora - expiraEmNanos > 0;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.bankingapi.importacao;
+
+import java.util.Locale;
+
+/**
+ * Formatos aceitos pela importação de contas. CSV exige cabeçalho com os nomes dos campos,
+ * em qualquer ordem; JSON Lines traz um objeto por linha com os mesmos campos.
+ */
+public enum FormatoImportacao {
+    CSV,
+    JSONL;
+
+    /**
+     * Formato pela extensão do arquivo ({@code .csv}, {@code .jsonl} ou {@code .ndjson}, com ou sem {@code .gz}).
+     */
+    public static FormatoImportacao doArquivo(String nome) {
+        String minusculo = nome.toLowerCase(Locale.ROOT);
+        if (minusculo.endsWith(".gz")) {
+            minusculo = minusculo.substring(0, minusculo.length() - 3);
+        }
+        if (minusculo.endsWith(".csv")) {
+            return CSV;
+        }
+        if (minusculo.endsWith(".jsonl") || minusculo.endsWith(".ndjson")) {
+            return JSONL;
+        }
+        throw new IllegalArgumentException("Extensão não reconhecida (use .csv, .jsonl ou .ndjson): " + nome);
+    }
+}
@@ -0,0 +1,389 @@
+package com.bankingapi.importacao;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bankingapi.cache.IndiceClientes;
+import com.bankingapi.dto.ImportacaoContasDTO;
+import com.bankingapi.entity.Cliente;
+import com.bankingapi.entity.ContaBancaria;
+import com.bankingapi.entity.ContaCorrente;
+import com.bankingapi.entity.ContaPoupanca;
+import com.bankingapi.enums.TipoTransacao;
+import com.bankingapi.eventos.SaldosEventos;
+import com.bankingapi.repository.ClienteJdbcRepository;
+import com.bankingapi.repository.ContaBancariaJdbcRepository;
+import com.bankingapi.repository.RegistroTransacao;
+import com.bankingapi.service.GeradorNumeroConta;
+import com.bankingapi.service.RegistradorTransacoes;
+import com.bankingapi.utils.Centavos;
+import com.bankingapi.utils.Cpf;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Importação em massa de contas e clientes, para migrar carteiras sem uma chamada a
+ * {@code POST /api/contas} por conta.
+ * <p>
+ * O arquivo é lido em streaming, em chunks de {@code banking.importacao.tamanho-chunk} linhas.
+ * A thread de leitura valida cada linha (as mesmas regras da abertura de conta, CPF por
+ * {@link Cpf}) e resolve os clientes: um mapa CPF → id da importação evita repetir clientes,
+ * e só os CPFs que o filtro do {@link IndiceClientes} diz que podem existir são consultados,
+ * em uma única consulta por chunk. Os clientes novos do chunk são inseridos em um lote e
+ * confirmados antes de as contas seguirem.
+ * <p>
+ * As contas do chunk, com os depósitos iniciais, são gravadas em lote por uma de
+ * {@code banking.importacao.threads} threads, cada chunk em uma transação; no máximo duas
+ * vezes esse número de chunks fica em memória. Linhas recusadas e chunks que falham vão para
+ * um arquivo JSON Lines em {@code banking.importacao.diretorio}, com o número e o conteúdo
+ * da linha; a importação não é interrompida por elas.
+ * <p>
+ * Aberturas de conta pela API durante a importação não pegam o lock de CPF da importação: um
+ * mesmo CPF novo criado pelos dois ao mesmo tempo é barrado pela restrição única de
+ * {@code clientes.cpf}, e as contas daquele chunk vão para as rejeitadas.
+ */
+@Component
+public class ImportacaoContas {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoContas.class);
+    private static final DateTimeFormatter FORMATO_ARQUIVO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final int LOG_A_CADA = 100_000;
+
+    @Autowired
+    private ClienteJdbcRepository clienteJdbcRepository;
+
+    @Autowired
+    private ContaBancariaJdbcRepository contaBancariaJdbcRepository;
+
+    @Autowired
+    private RegistradorTransacoes registradorTransacoes;
+
+    @Autowired
+    private GeradorNumeroConta geradorNumeroConta;
+
+    @Autowired
+    private IndiceClientes indiceClientes;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SaldosEventos saldosEventos;
+
+    @Value("${banking.importacao.threads:0}")
+    private int quantidadeThreads;
+
+    @Value("${banking.importacao.tamanho-chunk:1000}")
+    private int tamanhoChunk;
+
+    @Value("${banking.importacao.diretorio:./data/importacoes}")
+    private String diretorio;
+
+    private final ReentrantLock execucao = new ReentrantLock();
+
+    private record ContaValidada(LinhaImportacao linha, String nome, String cpf, String tipo, BigDecimal saldo) {}
+
+    public ImportacaoContasDTO importar(InputStream entrada, FormatoImportacao formato) {
+        // Os depósitos iniciais são gravados via JDBC, com ids que não seguem a ordem dos checkpoints
+        if (saldosEventos.isAtivo()) {
+            throw new IllegalStateException("Importação de contas exige banking.saldos.modo=estado");
+        }
+        if (!execucao.tryLock()) {
+            throw new IllegalStateException("Importação de contas já em execução");
+        }
+        try {
+            return executar(entrada, formato);
+        } finally {
+            execucao.unlock();
+        }
+    }
+
+    private ImportacaoContasDTO executar(InputStream entrada, FormatoImportacao formato) {
+        long inicio = System.nanoTime();
+        int threads = quantidadeThreads > 0 ? quantidadeThreads : Runtime.getRuntime().availableProcessors();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Map<String, Long> clientes = new HashMap<>();
+        AtomicLong contasCriadas = new AtomicLong();
+        long[] totais = new long[3]; // linhas lidas, clientes criados, clientes existentes
+        Rejeitadas rejeitadas = new Rejeitadas(Paths.get(diretorio,
+                "rejeitadas-" + LocalDateTime.now().format(FORMATO_ARQUIVO) + ".jsonl"));
+
+        try (rejeitadas) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads, r -> new Thread(r, "importacao-contas"));
+            Semaphore chunksEmMemoria = new Semaphore(threads * 2);
+            try {
+                LeitorImportacao leitor = new LeitorImportacao(entrada, formato, objectMapper);
+                List<LinhaImportacao> chunk = new ArrayList<>(tamanhoChunk);
+                LinhaImportacao linha;
+                while ((linha = leitor.proxima()) != null) {
+                    chunk.add(linha);
+                    if (++totais[0] % LOG_A_CADA == 0) {
+                        log.info("Importação de contas: {} linhas lidas, {} contas criadas, {} rejeitadas",
+                                 totais[0], contasCriadas.get(), rejeitadas.quantidade());
+                    }
+                    if (chunk.size() == tamanhoChunk) {
+                        despachar(chunk, clientes, totais, rejeitadas, transactionTemplate,
+                                  executor, chunksEmMemoria, contasCriadas);
+                        chunk = new ArrayList<>(tamanhoChunk);
+                    }
+                }
+                despachar(chunk, clientes, totais, rejeitadas, transactionTemplate,
+                          executor, chunksEmMemoria, contasCriadas);
+            } finally {
+                // Os chunks já despachados terminam mesmo se a leitura falhar
+                executor.shutdown();
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o arquivo de importação", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importação de contas interrompida", e);
+        }
+
+        ImportacaoContasDTO resultado = new ImportacaoContasDTO(totais[0], contasCriadas.get(), totais[1], totais[2],
+                rejeitadas.quantidade(), threads, rejeitadas.quantidade() > 0 ? rejeitadas.arquivo.toString() : null,
+                (System.nanoTime() - inicio) / 1_000_000);
+        log.info("Importação de contas: {} linhas, {} contas criadas, {} clientes novos, {} clientes existentes, "
+                 + "{} rejeitadas, {} threads, {} ms ({} linhas/s)", resultado.getLinhasLidas(),
+                 resultado.getContasCriadas(), resultado.getClientesCriados(), resultado.getClientesExistentes(),
+                 resultado.getRejeitadas(), threads, resultado.getDuracaoMs(),
+                 String.format("%.0f", resultado.getLinhasPorSegundo()));
+        return resultado;
+    }
+
+    // Valida e resolve os clientes na thread de leitura; as contas seguem para o pool
+    private void despachar(List<LinhaImportacao> chunk, Map<String, Long> clientes, long[] totais,
+                           Rejeitadas rejeitadas, TransactionTemplate transactionTemplate, ExecutorService executor,
+                           Semaphore chunksEmMemoria, AtomicLong contasCriadas) throws InterruptedException {
+        List<ContaValidada> validas = new ArrayList<>(chunk.size());
+        for (LinhaImportacao linha : chunk) {
+            ContaValidada conta = validar(linha, rejeitadas);
+            if (conta != null) {
+                validas.add(conta);
+            }
+        }
+
+        // CPF → nome da primeira linha do CPF no chunk, para os clientes ainda não resolvidos
+        Map<String, String> pendentes = new LinkedHashMap<>();
+        List<String> consultar = new ArrayList<>();
+        for (ContaValidada conta : validas) {
+            if (!clientes.containsKey(conta.cpf()) && pendentes.putIfAbsent(conta.cpf(), conta.nome()) == null
+                    && indiceClientes.podeExistir(conta.cpf())) {
+                consultar.add(conta.cpf());
+            }
+        }
+        Map<String, Long> existentes = clienteJdbcRepository.idsPorCpf(consultar);
+        clientes.putAll(existentes);
+        totais[2] += existentes.size();
+        pendentes.keySet().removeAll(existentes.keySet());
+
+        if (!pendentes.isEmpty()) {
+            List<Cliente> novos = new ArrayList<>(pendentes.size());
+            pendentes.forEach((cpf, nome) -> novos.add(new Cliente(nome, cpf)));
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    clienteJdbcRepository.inserirEmLote(novos);
+                    Map<String, Long> ids = new HashMap<>();
+                    novos.forEach(cliente -> ids.put(cliente.getCpf(), cliente.getId()));
+                    indiceClientes.registrarImportados(ids);
+                });
+                novos.forEach(cliente -> clientes.put(cliente.getCpf(), cliente.getId()));
+                totais[1] += novos.size();
+            } catch (RuntimeException e) {
+                log.warn("Falha ao gravar {} clientes da importação: {}", novos.size(), e.getMessage());
+                List<ContaValidada> semCliente = validas.stream().filter(c -> pendentes.containsKey(c.cpf())).toList();
+                rejeitadas.registrarTodas(semCliente, "BATCH_CHUNK_FAILED",
+                        "Falha ao gravar os clientes do bloco: " + e.getMessage());
+                validas.removeAll(semCliente);
+            }
+        }
+        if (validas.isEmpty()) {
+            return;
+        }
+
+        List<ContaValidada> contas = validas;
+        Map<String, Long> idsClientes = new HashMap<>();
+        contas.forEach(conta -> idsClientes.put(conta.cpf(), clientes.get(conta.cpf())));
+        chunksEmMemoria.acquire();
+        executor.execute(() -> {
+            try {
+                gravarContas(contas, idsClientes, transactionTemplate, rejeitadas, contasCriadas);
+            } finally {
+                chunksEmMemoria.release();
+            }
+        });
+    }
+
+    private void gravarContas(List<ContaValidada> validas, Map<String, Long> idsClientes,
+                              TransactionTemplate transactionTemplate, Rejeitadas rejeitadas, AtomicLong contasCriadas) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<ContaBancaria> contas = new ArrayList<>(validas.size());
+                for (ContaValidada validada : validas) {
+                    Cliente cliente = new Cliente(validada.nome(), validada.cpf());
+                    cliente.setId(idsClientes.get(validada.cpf()));
+                    String numero = geradorNumeroConta.proximoNumero();
+                    contas.add("POUPANCA".equals(validada.tipo())
+                            ? new ContaPoupanca(numero, cliente, validada.saldo())
+                            : new ContaCorrente(numero, cliente, validada.saldo()));
+                }
+                contaBancariaJdbcRepository.inserirEmLote(contas);
+
+                LocalDateTime agora = LocalDateTime.now();
+                List<RegistroTransacao> depositos = new ArrayList<>(contas.size());
+                for (ContaBancaria conta : contas) {
+                    if (conta.getSaldoCentavos() > 0) {
+                        depositos.add(new RegistroTransacao(null, conta.getId(), TipoTransacao.DEPOSITO,
+                                conta.getSaldo(), agora, "Depósito inicial"));
+                    }
+                }
+                registradorTransacoes.registrarRegistros(depositos);
+            });
+            contasCriadas.addAndGet(validas.size());
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar bloco de {} contas da importação: {}", validas.size(), e.getMessage());
+            rejeitadas.registrarTodas(validas, "BATCH_CHUNK_FAILED", "Falha ao gravar o bloco da conta: " + e.getMessage());
+        }
+    }
+
+    // Mesmas regras de POST /api/contas; null se a linha foi recusada
+    private ContaValidada validar(LinhaImportacao linha, Rejeitadas rejeitadas) {
+        if (linha.erro() != null) {
+            rejeitadas.registrar(linha, "PARSE_ERROR", linha.erro());
+            return null;
+        }
+        String nome = linha.nomeCliente() != null ? linha.nomeCliente().strip() : "";
+        if (nome.isEmpty() || nome.length() > 100) {
+            rejeitadas.registrar(linha, "VALIDATION_ERROR", nome.isEmpty()
+                    ? "Nome do cliente é obrigatório" : "Nome deve ter no máximo 100 caracteres");
+            return null;
+        }
+        String problemaCpf = Cpf.problema(linha.cpfCliente());
+        if (problemaCpf != null) {
+            rejeitadas.registrar(linha, "INVALID_CPF", problemaCpf);
+            return null;
+        }
+        String tipo = linha.tipoConta() == null || linha.tipoConta().isBlank()
+                ? "CORRENTE" : linha.tipoConta().strip().toUpperCase(Locale.ROOT);
+        if (!tipo.equals("CORRENTE") && !tipo.equals("POUPANCA")) {
+            rejeitadas.registrar(linha, "INVALID_ACCOUNT_TYPE",
+                    "Tipo de conta inválido: " + linha.tipoConta() + ". Use: CORRENTE ou POUPANCA");
+            return null;
+        }
+        BigDecimal saldo;
+        try {
+            saldo = linha.saldoInicial() == null || linha.saldoInicial().isBlank()
+                    ? BigDecimal.ZERO : new BigDecimal(linha.saldoInicial().strip());
+            if (saldo.signum() < 0) {
+                rejeitadas.registrar(linha, "VALIDATION_ERROR", "Saldo inicial deve ser maior ou igual a zero");
+                return null;
+            }
+            Centavos.de(saldo);
+        } catch (NumberFormatException e) {
+            rejeitadas.registrar(linha, "VALIDATION_ERROR", "Saldo inicial inválido: " + linha.saldoInicial());
+            return null;
+        } catch (IllegalArgumentException e) {
+            rejeitadas.registrar(linha, "VALIDATION_ERROR", e.getMessage());
+            return null;
+        }
+        return new ContaValidada(linha, nome, linha.cpfCliente(), tipo, saldo);
+    }
+
+    /**
+     * Arquivo das linhas recusadas, criado na primeira recusa. Escrito pela thread de leitura
+     * e pelas de gravação.
+     */
+    private final class Rejeitadas implements Closeable {
+
+        private final Path arquivo;
+        private final ReentrantLock lock = new ReentrantLock();
+        private BufferedWriter writer;
+        private long quantidade;
+
+        Rejeitadas(Path arquivo) {
+            this.arquivo = arquivo;
+        }
+
+        void registrarTodas(List<ContaValidada> contas, String codigo, String motivo) {
+            for (ContaValidada conta : contas) {
+                registrar(conta.linha(), codigo, motivo);
+            }
+        }
+
+        void registrar(LinhaImportacao linha, String codigo, String motivo) {
+            Map<String, Object> registro = new LinkedHashMap<>();
+            registro.put("linha", linha.numero());
+            registro.put("codigo", codigo);
+            registro.put("motivo", motivo);
+            registro.put("conteudo", linha.conteudo());
+            lock.lock();
+            try {
+                if (writer == null) {
+                    Files.createDirectories(arquivo.getParent());
+                    writer = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8);
+                }
+                writer.write(objectMapper.writeValueAsString(registro));
+                writer.write('\n');
+                quantidade++;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao gravar " + arquivo, e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long quantidade() {
+            lock.lock();
+            try {
+                return quantidade;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            lock.lock();
+            try {
+                if (writer != null) {
+                    writer.close();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.bankingapi.importacao;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Importação de contas pela linha de comando:
+ * <pre>
+ * java -jar banking-api.jar --importar-contas=carteira.csv
+ * java -jar banking-api.jar --importar-contas=carteira.jsonl.gz
+ * </pre>
+ * O formato vem da extensão ({@code .csv}, {@code .jsonl} ou {@code .ndjson}, opcionalmente
+ * com {@code .gz}). O relatório sai no log; encerra a aplicação ao terminar, com código 1
+ * se alguma linha foi rejeitada.
+ */
+@Component
+public class ImportacaoContasRunner implements ApplicationRunner {
+
+    private static final String OPCAO = "importar-contas";
+
+    @Autowired
+    private ImportacaoContas importacaoContas;
+
+    @Autowired
+    private ConfigurableApplicationContext contexto;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPCAO)) {
+            return;
+        }
+
+        Path arquivo = Path.of(args.getOptionValues(OPCAO).get(0));
+        FormatoImportacao formato = FormatoImportacao.doArquivo(arquivo.getFileName().toString());
+        long rejeitadas;
+        try (InputStream entrada = abrir(arquivo)) {
+            rejeitadas = importacaoContas.importar(entrada, formato).getRejeitadas();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir " + arquivo, e);
+        }
+
+        System.exit(SpringApplication.exit(contexto, () -> rejeitadas > 0 ? 1 : 0));
+    }
+
+    private static InputStream abrir(Path arquivo) throws IOException {
+        InputStream entrada = new BufferedInputStream(Files.newInputStream(arquivo), 64 * 1024);
+        return arquivo.getFileName().toString().endsWith(".gz") ? new GZIPInputStream(entrada, 64 * 1024) : entrada;
+    }
+}
@@ -0,0 +1,157 @@
+package com.bankingapi.importacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.bankingapi.exception.BusinessException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Lê o arquivo de importação linha a linha, sem carregá-lo inteiro. Campos: {@code nomeCliente},
+ * {@code cpfCliente}, {@code tipoConta} (opcional, padrão CORRENTE) e {@code saldoInicial}
+ * (opcional, padrão zero). No CSV os campos podem vir entre aspas, com {@code ""} para aspas
+ * dentro do campo; um registro não pode ocupar mais de uma linha. Linhas em branco são ignoradas.
+ */
+public class LeitorImportacao {
+
+    private static final String NOME = "nomeCliente";
+    private static final String CPF = "cpfCliente";
+    private static final String TIPO = "tipoConta";
+    private static final String SALDO = "saldoInicial";
+
+    private final BufferedReader reader;
+    private final FormatoImportacao formato;
+    private final ObjectMapper objectMapper;
+    private long numeroLinha;
+
+    // Posição de cada campo no CSV, pelo cabeçalho; -1 se ausente
+    private int colunaNome = -1;
+    private int colunaCpf = -1;
+    private int colunaTipo = -1;
+    private int colunaSaldo = -1;
+
+    public LeitorImportacao(InputStream entrada, FormatoImportacao formato, ObjectMapper objectMapper) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8), 64 * 1024);
+        this.formato = formato;
+        this.objectMapper = objectMapper;
+        if (formato == FormatoImportacao.CSV) {
+            lerCabecalho();
+        }
+    }
+
+    /**
+     * Próxima linha do arquivo, ou {@code null} no fim.
+     */
+    public LinhaImportacao proxima() throws IOException {
+        String linha;
+        do {
+            linha = reader.readLine();
+            if (linha == null) {
+                return null;
+            }
+            numeroLinha++;
+        } while (linha.isBlank());
+
+        return formato == FormatoImportacao.CSV ? deCsv(linha) : deJson(linha);
+    }
+
+    private void lerCabecalho() throws IOException {
+        String cabecalho = reader.readLine();
+        numeroLinha++;
+        if (cabecalho == null) {
+            throw new BusinessException("INVALID_IMPORT_FILE", "Arquivo CSV vazio");
+        }
+        if (cabecalho.startsWith("\uFEFF")) {
+            cabecalho = cabecalho.substring(1);
+        }
+        List<String> campos = campos(cabecalho);
+        if (campos == null) {
+            throw new BusinessException("INVALID_IMPORT_FILE", "Cabeçalho CSV malformado");
+        }
+        for (int i = 0; i < campos.size(); i++) {
+            switch (campos.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "nomecliente" -> colunaNome = i;
+                case "cpfcliente" -> colunaCpf = i;
+                case "tipoconta" -> colunaTipo = i;
+                case "saldoinicial" -> colunaSaldo = i;
+                default -> { }
+            }
+        }
+        if (colunaNome < 0 || colunaCpf < 0) {
+            throw new BusinessException("INVALID_IMPORT_FILE",
+                "Cabeçalho CSV deve ter as colunas " + NOME + " e " + CPF + " (e opcionalmente " + TIPO + " e " + SALDO + ")");
+        }
+    }
+
+    private LinhaImportacao deCsv(String linha) {
+        List<String> campos = campos(linha);
+        if (campos == null) {
+            return LinhaImportacao.ilegivel(numeroLinha, linha, "Aspas não fechadas");
+        }
+        return new LinhaImportacao(numeroLinha, campo(campos, colunaNome), campo(campos, colunaCpf),
+                campo(campos, colunaTipo), campo(campos, colunaSaldo), linha, null);
+    }
+
+    private LinhaImportacao deJson(String linha) {
+        JsonNode objeto;
+        try {
+            objeto = objectMapper.readTree(linha);
+        } catch (JsonProcessingException e) {
+            return LinhaImportacao.ilegivel(numeroLinha, linha, "JSON inválido: " + e.getOriginalMessage());
+        }
+        if (objeto == null || !objeto.isObject()) {
+            return LinhaImportacao.ilegivel(numeroLinha, linha, "Cada linha deve ser um objeto JSON");
+        }
+        return new LinhaImportacao(numeroLinha, texto(objeto, NOME), texto(objeto, CPF),
+                texto(objeto, TIPO), texto(objeto, SALDO), linha, null);
+    }
+
+    private static String texto(JsonNode objeto, String campo) {
+        JsonNode valor = objeto.get(campo);
+        return valor == null || valor.isNull() ? null : valor.asText();
+    }
+
+    private static String campo(List<String> campos, int coluna) {
+        return coluna >= 0 && coluna < campos.size() ? campos.get(coluna) : null;
+    }
+
+    // Campos de uma linha CSV; null se uma aspa não foi fechada
+    static List<String> campos(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c != '"') {
+                    atual.append(c);
+                } else if (i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else {
+                    entreAspas = false;
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        if (entreAspas) {
+            return null;
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+}
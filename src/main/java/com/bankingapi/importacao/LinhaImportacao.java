@@ -0,0 +1,20 @@
+package com.bankingapi.importacao;
+
+/**
+ * Uma linha lida do arquivo de importação, com os campos ainda em texto. {@code erro}
+ * preenchido indica linha que não pôde ser lida; {@code conteudo} é a linha original,
+ * copiada para o arquivo de rejeitadas.
+ */
+public record LinhaImportacao(
+        long numero,
+        String nomeCliente,
+        String cpfCliente,
+        String tipoConta,
+        String saldoInicial,
+        String conteudo,
+        String erro) {
+
+    static LinhaImportacao ilegivel(long numero, String conteudo, String erro) {
+        return new LinhaImportacao(numero, null, null, null, null, conteudo, erro);
+    }
+}
@@ -0,0 +1,142 @@
+package com.bankingapi.journal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bankingapi.repository.FaixaJournal;
+import com.bankingapi.repository.RegistroTransacao;
+import com.bankingapi.repository.TransacaoJdbcRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Projeta os registros duráveis do journal na tabela {@code transacoes}, em lotes.
+ * Só entram os registros de faixas em {@code journal_confirmacoes}; os de transações que
+ * não fizeram commit são pulados. A posição da projeção é o maior {@code journal_seq} já
+ * gravado, então reiniciar a aplicação retoma exatamente de onde parou.
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.journal", name = "habilitado", havingValue = "true")
+public class ProjecaoJournal {
+    
+    private static final Logger log = LoggerFactory.getLogger(ProjecaoJournal.class);
+    private static final long ESPERA_MS = 20;
+    private static final long ESPERA_NOVA_TENTATIVA_MS = 1000;
+    
+    @Autowired
+    private TransacaoJournal journal;
+    
+    @Autowired
+    private TransacaoJdbcRepository transacaoJdbcRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${banking.journal.projecao.lote:1000}")
+    private int tamanhoLote;
+    
+    private volatile boolean ativo = true;
+    private long posicao;
+    private Thread thread;
+    
+    // Depois dos ApplicationRunners, para que o replay rode sozinho
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        posicao = transacaoJdbcRepository.ultimaJournalSeq();
+        thread = new Thread(this::loop, "journal-projecao");
+        thread.start();
+    }
+    
+    @PreDestroy
+    public void parar() throws InterruptedException {
+        ativo = false;
+        if (thread != null) {
+            thread.join();
+        }
+    }
+    
+    /**
+     * Reprojeta o journal de forma síncrona. Com {@code completo}, apaga antes todas as
+     * linhas vindas do journal e reconstrói a partir da sequência 1.
+     */
+    public long reconstruir(boolean completo) {
+        if (completo) {
+            new TransactionTemplate(transactionManager)
+                    .executeWithoutResult(status -> transacaoJdbcRepository.removerProjetadasDoJournal());
+        }
+        posicao = transacaoJdbcRepository.ultimaJournalSeq();
+        long inicial = posicao;
+        while (projetarLote() > 0) {
+            // continua até alcançar o fim do journal
+        }
+        return posicao - inicial;
+    }
+    
+    private void loop() {
+        while (ativo) {
+            try {
+                if (projetarLote() == 0) {
+                    Thread.sleep(ESPERA_MS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Falha ao projetar o journal a partir de {}; nova tentativa em {} ms", 
+                         posicao + 1, ESPERA_NOVA_TENTATIVA_MS, e);
+                try {
+                    Thread.sleep(ESPERA_NOVA_TENTATIVA_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+    
+    private int projetarLote() {
+        long de = posicao + 1;
+        List<RegistroTransacao> lote = journal.lerDuraveis(de, tamanhoLote);
+        if (lote.isEmpty()) {
+            return 0;
+        }
+        long ate = de + lote.size() - 1;
+        List<RegistroTransacao> confirmados = confirmados(lote, transacaoJdbcRepository.faixasConfirmadasDoJournal(de, ate));
+        if (confirmados.size() < lote.size()) {
+            log.info("Journal {}..{}: {} registros de transações sem commit descartados", 
+                     de, ate, lote.size() - confirmados.size());
+        }
+        if (!confirmados.isEmpty()) {
+            new TransactionTemplate(transactionManager)
+                    .executeWithoutResult(status -> transacaoJdbcRepository.inserirEmLote(confirmados));
+        }
+        posicao = ate;
+        return lote.size();
+    }
+    
+    // Lote e faixas estão em ordem de sequência
+    private static List<RegistroTransacao> confirmados(List<RegistroTransacao> lote, List<FaixaJournal> faixas) {
+        List<RegistroTransacao> confirmados = new ArrayList<>(lote.size());
+        int f = 0;
+        for (RegistroTransacao registro : lote) {
+            while (f < faixas.size() && faixas.get(f).ultima() < registro.journalSeq()) {
+                f++;
+            }
+            if (f < faixas.size() && faixas.get(f).contem(registro.journalSeq())) {
+                confirmados.add(registro);
+            }
+        }
+        return confirmados;
+    }
+}
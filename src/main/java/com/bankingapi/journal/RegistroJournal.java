@@ -0,0 +1,79 @@
+package com.bankingapi.journal;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+import com.bankingapi.enums.TipoTransacao;
+
+/**
+ * Registro de tamanho fixo do journal de transações ({@value #TAMANHO} bytes, big-endian):
+ * <pre>
+ *  0  long  sequencia          (1, 2, 3...; 0 = posição livre)
+ *  8  long  contaOrigemId      (0 = sem conta de origem)
+ * 16  long  contaDestinoId     (0 = sem conta de destino)
+ * 24  long  valorCentavos
+ * 32  long  timestampMicros    (data da transação em micros desde a época, UTC)
+ * 40  long  descricaoOffset    (posição no arquivo .desc do segmento; -1 = sem descrição)
+ * 48  int   descricaoTamanho   (bytes UTF-8)
+ * 52  byte  tipo               (ordinal de TipoTransacao; novos tipos só no final do enum)
+ * 53  7 bytes reservados
+ * 60  int   crc32 dos bytes 0..59
+ * </pre>
+ */
+public record RegistroJournal(long sequencia,
+                              long contaOrigemId,
+                              long contaDestinoId,
+                              TipoTransacao tipo,
+                              long valorCentavos,
+                              long timestampMicros,
+                              long descricaoOffset,
+                              int descricaoTamanho) {
+    
+    public static final int TAMANHO = 64;
+    public static final long SEM_CONTA = 0;
+    public static final long SEM_DESCRICAO = -1;
+    
+    private static final int POSICAO_CRC = 60;
+    private static final TipoTransacao[] TIPOS = TipoTransacao.values();
+    
+    void escrever(ByteBuffer buffer, int base) {
+        buffer.putLong(base, sequencia);
+        buffer.putLong(base + 8, contaOrigemId);
+        buffer.putLong(base + 16, contaDestinoId);
+        buffer.putLong(base + 24, valorCentavos);
+        buffer.putLong(base + 32, timestampMicros);
+        buffer.putLong(base + 40, descricaoOffset);
+        buffer.putInt(base + 48, descricaoTamanho);
+        buffer.put(base + 52, (byte) tipo.ordinal());
+        buffer.putInt(base + POSICAO_CRC, crc(buffer, base));
+    }
+    
+    /**
+     * Retorna null para posição livre ou registro corrompido (escrita interrompida por crash).
+     */
+    static RegistroJournal ler(ByteBuffer buffer, int base) {
+        long sequencia = buffer.getLong(base);
+        if (sequencia == 0 || buffer.getInt(base + POSICAO_CRC) != crc(buffer, base)) {
+            return null;
+        }
+        int tipo = buffer.get(base + 52);
+        if (tipo < 0 || tipo >= TIPOS.length) {
+            return null;
+        }
+        return new RegistroJournal(
+                sequencia,
+                buffer.getLong(base + 8),
+                buffer.getLong(base + 16),
+                TIPOS[tipo],
+                buffer.getLong(base + 24),
+                buffer.getLong(base + 32),
+                buffer.getLong(base + 40),
+                buffer.getInt(base + 48));
+    }
+    
+    private static int crc(ByteBuffer buffer, int base) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(base, POSICAO_CRC));
+        return (int) crc.getValue();
+    }
+}
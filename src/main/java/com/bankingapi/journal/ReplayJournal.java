@@ -0,0 +1,50 @@
+package com.bankingapi.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ferramenta de replay do journal, executada pela linha de comando:
+ * <pre>
+ * java -jar banking-api.jar --banking.journal.habilitado=true --journal-replay
+ * java -jar banking-api.jar --banking.journal.habilitado=true --journal-replay=completo
+ * </pre>
+ * Sem valor, projeta apenas o que faltou depois de um crash; com {@code completo},
+ * apaga as transações vindas do journal e reconstrói a tabela inteira. Encerra a
+ * aplicação ao terminar.
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.journal", name = "habilitado", havingValue = "true")
+public class ReplayJournal implements ApplicationRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReplayJournal.class);
+    private static final String OPCAO = "journal-replay";
+    
+    @Autowired
+    private ProjecaoJournal projecaoJournal;
+    
+    @Autowired
+    private ConfigurableApplicationContext contexto;
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPCAO)) {
+            return;
+        }
+        
+        boolean completo = args.getOptionValues(OPCAO).contains("completo");
+        long inicio = System.nanoTime();
+        long projetados = projecaoJournal.reconstruir(completo);
+        log.info("Replay {} do journal: {} registros projetados em {} ms", 
+                 completo ? "completo" : "incremental", projetados, (System.nanoTime() - inicio) / 1_000_000);
+        
+        System.exit(SpringApplication.exit(contexto, () -> 0));
+    }
+}
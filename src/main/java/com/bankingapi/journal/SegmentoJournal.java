@@ -0,0 +1,83 @@
+package com.bankingapi.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Um segmento do journal: arquivo .dat de tamanho fixo mapeado em memória com os
+ * registros, e arquivo .desc append-only com as descrições.
+ */
+final class SegmentoJournal implements Closeable {
+    
+    private final FileChannel canalRegistros;
+    private final MappedByteBuffer registros;
+    private final FileChannel descricoes;
+    private final int capacidade;
+    private long fimDescricoes;
+    
+    SegmentoJournal(Path diretorio, long indice, int capacidade) throws IOException {
+        this.capacidade = capacidade;
+        this.canalRegistros = FileChannel.open(arquivo(diretorio, indice, "dat"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.registros = canalRegistros.map(FileChannel.MapMode.READ_WRITE, 0, 
+                (long) capacidade * RegistroJournal.TAMANHO);
+        this.descricoes = FileChannel.open(arquivo(diretorio, indice, "desc"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.fimDescricoes = descricoes.size();
+    }
+    
+    static Path arquivo(Path diretorio, long indice, String extensao) {
+        return diretorio.resolve(String.format("journal-%08d.%s", indice, extensao));
+    }
+    
+    int getCapacidade() {
+        return capacidade;
+    }
+    
+    void escrever(int posicao, RegistroJournal registro) {
+        registro.escrever(registros, posicao * RegistroJournal.TAMANHO);
+    }
+    
+    RegistroJournal ler(int posicao) {
+        return RegistroJournal.ler(registros, posicao * RegistroJournal.TAMANHO);
+    }
+    
+    long anexarDescricao(byte[] bytes) throws IOException {
+        long offset = fimDescricoes;
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            fimDescricoes += descricoes.write(buffer, fimDescricoes);
+        }
+        return offset;
+    }
+    
+    String lerDescricao(long offset, int tamanho) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(tamanho);
+        while (buffer.hasRemaining()) {
+            if (descricoes.read(buffer, offset + buffer.position()) < 0) {
+                break;
+            }
+        }
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+    }
+    
+    void forcar(int dePosicao, int atePosicao) throws IOException {
+        descricoes.force(false);
+        int inicio = dePosicao * RegistroJournal.TAMANHO;
+        registros.force(inicio, (atePosicao - dePosicao + 1) * RegistroJournal.TAMANHO);
+    }
+    
+    @Override
+    public void close() throws IOException {
+        registros.force();
+        descricoes.force(true);
+        descricoes.close();
+        canalRegistros.close();
+    }
+}
@@ -0,0 +1,339 @@
+package com.bankingapi.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.bankingapi.exception.SobrecargaException;
+import com.bankingapi.repository.FaixaJournal;
+import com.bankingapi.repository.RegistroTransacao;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Journal append-only de transações em segmentos mapeados em memória
+ * (banking.journal.habilitado=true).
+ * <p>
+ * A sequência começa em 1 e não tem buracos, então a posição de um registro é
+ * calculada direto da sequência. Escritores anexam sob um lock curto e aguardam o
+ * group commit: uma thread dedicada faz o force de tudo que foi escrito desde o
+ * último force e libera de uma vez todos os escritores cobertos por ele.
+ * <p>
+ * Os registros são anexados antes do commit da transação do saldo (write-ahead). Até
+ * {@link #concluir(FaixaJournal)} a faixa fica pendente e a leitura para antes dela; se a
+ * transação não fizer commit, a faixa nunca aparece em {@code journal_confirmacoes} e a
+ * projeção a descarta.
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.journal", name = "habilitado", havingValue = "true")
+public class TransacaoJournal {
+    
+    private static final Logger log = LoggerFactory.getLogger(TransacaoJournal.class);
+    private static final int TAMANHO_MAXIMO_DESCRICAO = 500;
+    
+    @Value("${banking.journal.diretorio:./data/journal}")
+    private String diretorio;
+    
+    @Value("${banking.journal.tamanho-segmento-mb:64}")
+    private int tamanhoSegmentoMb;
+    
+    @Value("${banking.journal.group-commit-ms:2}")
+    private long groupCommitMillis;
+    
+    private final Map<Long, SegmentoJournal> segmentos = new ConcurrentHashMap<>();
+    // Faixas anexadas cuja transação ainda não terminou (primeira -> última)
+    private final ConcurrentSkipListMap<Long, Long> pendentes = new ConcurrentSkipListMap<>();
+    private final ReentrantLock escrita = new ReentrantLock();
+    private final ReentrantLock durabilidade = new ReentrantLock();
+    private final Condition pendente = durabilidade.newCondition();
+    private final Condition duravel = durabilidade.newCondition();
+    
+    private Path pasta;
+    private int registrosPorSegmento;
+    private long proximaSequencia;
+    private volatile long ultimaEscrita;
+    private volatile long ultimaDuravel;
+    private volatile boolean ativo = true;
+    private Thread flusher;
+    
+    @PostConstruct
+    public void abrir() throws IOException {
+        pasta = Paths.get(diretorio);
+        Files.createDirectories(pasta);
+        registrosPorSegmento = (int) ((long) tamanhoSegmentoMb * 1024 * 1024 / RegistroJournal.TAMANHO);
+        
+        long ultimoSegmento = 0;
+        while (Files.exists(SegmentoJournal.arquivo(pasta, ultimoSegmento + 1, "dat"))) {
+            ultimoSegmento++;
+        }
+        SegmentoJournal segmento = segmento(ultimoSegmento);
+        int posicao = 0;
+        while (posicao < registrosPorSegmento && segmento.ler(posicao) != null) {
+            posicao++;
+        }
+        
+        proximaSequencia = ultimoSegmento * registrosPorSegmento + posicao + 1;
+        ultimaEscrita = proximaSequencia - 1;
+        ultimaDuravel = ultimaEscrita;
+        log.info("Journal aberto em {}: {} registros", pasta.toAbsolutePath(), ultimaDuravel);
+        
+        flusher = new Thread(this::loopGroupCommit, "journal-group-commit");
+        flusher.start();
+    }
+    
+    @PreDestroy
+    public void fechar() throws IOException, InterruptedException {
+        ativo = false;
+        flusher.interrupt();
+        flusher.join();
+        for (SegmentoJournal segmento : segmentos.values()) {
+            segmento.close();
+        }
+    }
+    
+    /**
+     * Anexa os registros em sequências contíguas e só retorna depois que estiverem em disco.
+     * A faixa fica pendente até {@link #concluir(FaixaJournal)}, que o chamador deve invocar
+     * quando a transação do saldo terminar, com ou sem commit. Se a escrita ou o group commit
+     * falhar, a faixa já sai concluída e a exceção sobe para desfazer a transação.
+     */
+    public FaixaJournal registrarTodos(List<RegistroTransacao> transacoes) {
+        List<byte[]> descricoes = transacoes.stream().map(t -> descricaoEmBytes(t.descricao())).toList();
+        FaixaJournal faixa;
+        escrita.lock();
+        try {
+            long primeira = proximaSequencia;
+            pendentes.put(primeira, primeira + transacoes.size() - 1);
+            try {
+                for (int i = 0; i < transacoes.size(); i++) {
+                    anexar(transacoes.get(i), descricoes.get(i));
+                }
+            } catch (RuntimeException e) {
+                pendentes.remove(primeira);
+                throw e;
+            }
+            faixa = new FaixaJournal(primeira, proximaSequencia - 1);
+        } finally {
+            escrita.unlock();
+        }
+        
+        try {
+            aguardarDurabilidade(faixa.ultima());
+        } catch (RuntimeException e) {
+            concluir(faixa);
+            throw e;
+        }
+        return faixa;
+    }
+    
+    /**
+     * Libera a leitura depois da faixa; se ela foi confirmada ou não, quem decide é
+     * {@code journal_confirmacoes}.
+     */
+    public void concluir(FaixaJournal faixa) {
+        pendentes.remove(faixa.primeira());
+    }
+    
+    // Chamado com o lock de escrita
+    private void anexar(RegistroTransacao transacao, byte[] descricao) {
+        try {
+            long sequencia = proximaSequencia;
+            SegmentoJournal segmento = segmento(indiceSegmento(sequencia));
+            long descricaoOffset = descricao == null 
+                    ? RegistroJournal.SEM_DESCRICAO : segmento.anexarDescricao(descricao);
+            
+            segmento.escrever(posicaoNoSegmento(sequencia), new RegistroJournal(
+                    sequencia,
+                    transacao.contaOrigemId() != null ? transacao.contaOrigemId() : RegistroJournal.SEM_CONTA,
+                    transacao.contaDestinoId() != null ? transacao.contaDestinoId() : RegistroJournal.SEM_CONTA,
+                    transacao.tipo(),
+                    paraCentavos(transacao.valor()),
+                    paraMicros(transacao.dataTransacao()),
+                    descricaoOffset,
+                    descricao == null ? 0 : descricao.length));
+            
+            proximaSequencia++;
+            ultimaEscrita = sequencia;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao anexar ao journal", e);
+        }
+    }
+    
+    public void aguardarDurabilidade(long sequencia) {
+        if (ultimaDuravel >= sequencia) {
+            return;
+        }
+        durabilidade.lock();
+        try {
+            pendente.signal();
+            while (ultimaDuravel < sequencia) {
+                if (!flusher.isAlive()) {
+                    throw new SobrecargaException("Journal fechado antes do group commit");
+                }
+                duravel.await(100, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SobrecargaException("Interrompido aguardando o group commit do journal", e);
+        } finally {
+            durabilidade.unlock();
+        }
+    }
+    
+    public long getUltimaDuravel() {
+        return ultimaDuravel;
+    }
+    
+    /**
+     * Lê até {@code maximo} registros duráveis a partir da sequência informada, parando antes
+     * da primeira faixa pendente.
+     */
+    public List<RegistroTransacao> lerDuraveis(long deSequencia, int maximo) {
+        // Nessa ordem: uma faixa coberta pela leitura de ultimaDuravel já estava em pendentes
+        long duravel = ultimaDuravel;
+        Map.Entry<Long, Long> primeiraPendente = pendentes.firstEntry();
+        long decidida = primeiraPendente == null ? duravel : Math.min(duravel, primeiraPendente.getKey() - 1);
+        long ate = Math.min(decidida, deSequencia + maximo - 1);
+        List<RegistroTransacao> lidos = new ArrayList<>((int) Math.max(0, ate - deSequencia + 1));
+        for (long sequencia = deSequencia; sequencia <= ate; sequencia++) {
+            SegmentoJournal segmento = segmento(indiceSegmento(sequencia));
+            RegistroJournal registro = segmento.ler(posicaoNoSegmento(sequencia));
+            if (registro == null) {
+                throw new IllegalStateException("Registro " + sequencia + " do journal ilegível");
+            }
+            lidos.add(paraTransacao(segmento, registro));
+        }
+        return lidos;
+    }
+    
+    private void loopGroupCommit() {
+        while (ativo || ultimaDuravel < ultimaEscrita) {
+            try {
+                durabilidade.lock();
+                try {
+                    if (ultimaEscrita == ultimaDuravel) {
+                        pendente.await(100, TimeUnit.MILLISECONDS);
+                    }
+                } finally {
+                    durabilidade.unlock();
+                }
+                if (ultimaEscrita == ultimaDuravel) {
+                    continue;
+                }
+                if (groupCommitMillis > 0) {
+                    Thread.sleep(groupCommitMillis);
+                }
+                
+                long alvo = ultimaEscrita;
+                forcar(ultimaDuravel + 1, alvo);
+                
+                durabilidade.lock();
+                try {
+                    ultimaDuravel = alvo;
+                    duravel.signalAll();
+                } finally {
+                    durabilidade.unlock();
+                }
+            } catch (InterruptedException e) {
+                if (!ativo) {
+                    Thread.interrupted();
+                    continue;
+                }
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.error("Falha no group commit do journal", e);
+                if (!ativo) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    private void forcar(long deSequencia, long ateSequencia) throws IOException {
+        for (long indice = indiceSegmento(deSequencia); indice <= indiceSegmento(ateSequencia); indice++) {
+            long primeira = Math.max(deSequencia, indice * registrosPorSegmento + 1);
+            long ultima = Math.min(ateSequencia, (indice + 1) * registrosPorSegmento);
+            segmento(indice).forcar(posicaoNoSegmento(primeira), posicaoNoSegmento(ultima));
+        }
+    }
+    
+    private SegmentoJournal segmento(long indice) {
+        return segmentos.computeIfAbsent(indice, i -> {
+            try {
+                return new SegmentoJournal(pasta, i, registrosPorSegmento);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao abrir segmento " + i + " do journal", e);
+            }
+        });
+    }
+    
+    private long indiceSegmento(long sequencia) {
+        return (sequencia - 1) / registrosPorSegmento;
+    }
+    
+    private int posicaoNoSegmento(long sequencia) {
+        return (int) ((sequencia - 1) % registrosPorSegmento);
+    }
+    
+    private RegistroTransacao paraTransacao(SegmentoJournal segmento, RegistroJournal registro) {
+        String descricao = null;
+        if (registro.descricaoOffset() != RegistroJournal.SEM_DESCRICAO) {
+            try {
+                descricao = segmento.lerDescricao(registro.descricaoOffset(), registro.descricaoTamanho());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao ler descrição do registro " + registro.sequencia(), e);
+            }
+        }
+        return new RegistroTransacao(
+                registro.contaOrigemId() == RegistroJournal.SEM_CONTA ? null : registro.contaOrigemId(),
+                registro.contaDestinoId() == RegistroJournal.SEM_CONTA ? null : registro.contaDestinoId(),
+                registro.tipo(),
+                BigDecimal.valueOf(registro.valorCentavos(), 2),
+                LocalDateTime.ofInstant(Instant.EPOCH.plus(registro.timestampMicros(), ChronoUnit.MICROS), ZoneOffset.UTC),
+                descricao,
+                registro.sequencia());
+    }
+    
+    private static byte[] descricaoEmBytes(String descricao) {
+        if (descricao == null) {
+            return null;
+        }
+        if (descricao.length() > TAMANHO_MAXIMO_DESCRICAO) {
+            descricao = descricao.substring(0, TAMANHO_MAXIMO_DESCRICAO);
+        }
+        return descricao.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static long paraCentavos(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+    
+    private static long paraMicros(LocalDateTime data) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, data.toInstant(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,124 @@
+package com.bankingapi.lock;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bankingapi.exception.ConflitoConcorrenciaException;
+
+/**
+ * Locks listrados por id de {@link com.bankingapi.entity.ContaBancaria}.
+ * <p>
+ * Cada id é mapeado para uma faixa fixa de locks; as faixas envolvidas em uma
+ * operação são sempre adquiridas em ordem crescente de índice, de modo que
+ * A→B e B→A concorrentes nunca entram em deadlock. O {@code @Version} da conta
+ * continua valendo como fallback otimista para escritas que não passam por aqui.
+ */
+@Component
+public class ContaLockManager {
+    
+    private final ReentrantLock[] locks;
+    private final int mascara;
+    private final long timeoutMillis;
+    
+    public ContaLockManager(@Value("${banking.lock.stripes:1024}") int stripes,
+                            @Value("${banking.lock.timeout-ms:5000}") long timeoutMillis) {
+        int tamanho = 1;
+        while (tamanho < stripes) {
+            tamanho <<= 1;
+        }
+        this.locks = new ReentrantLock[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            this.locks[i] = new ReentrantLock();
+        }
+        this.mascara = tamanho - 1;
+        this.timeoutMillis = timeoutMillis;
+    }
+    
+    /**
+     * Bloqueia as contas até o commit/rollback da transação corrente.
+     */
+    public void bloquearAteFimDaTransacao(Long... contaIds) {
+        bloquearAteFimDaTransacao(Arrays.asList(contaIds));
+    }
+    
+    public void bloquearAteFimDaTransacao(Collection<Long> contaIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Lock de conta exige uma transação ativa");
+        }
+        
+        int[] indices = adquirir(contaIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                liberar(indices);
+            }
+        });
+    }
+    
+    /**
+     * Executa a ação segurando os locks das contas, fora de qualquer transação.
+     */
+    public <T> T executarComLock(Supplier<T> acao, Long... contaIds) {
+        int[] indices = adquirir(Arrays.asList(contaIds));
+        try {
+            return acao.get();
+        } finally {
+            liberar(indices);
+        }
+    }
+    
+    public int getQuantidadeStripes() {
+        return locks.length;
+    }
+    
+    private int[] adquirir(Collection<Long> contaIds) {
+        int[] indices = indicesOrdenados(contaIds);
+        int adquiridos = 0;
+        try {
+            for (int indice : indices) {
+                if (!locks[indice].tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new ConflitoConcorrenciaException(
+                        "Tempo esgotado aguardando lock das contas " + contaIds);
+                }
+                adquiridos++;
+            }
+            return indices;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflitoConcorrenciaException("Interrompido aguardando lock das contas " + contaIds, e);
+        } finally {
+            if (adquiridos < indices.length) {
+                liberar(Arrays.copyOf(indices, adquiridos));
+            }
+        }
+    }
+    
+    private void liberar(int[] indices) {
+        for (int i = indices.length - 1; i >= 0; i--) {
+            locks[indices[i]].unlock();
+        }
+    }
+    
+    // Ordena e remove duplicatas: duas contas na mesma faixa usam um único lock
+    private int[] indicesOrdenados(Collection<Long> contaIds) {
+        return contaIds.stream()
+                .filter(id -> id != null)
+                .mapToInt(this::indice)
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+    
+    private int indice(Long contaId) {
+        long h = contaId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mascara;
+    }
+}
@@ -0,0 +1,37 @@
+package com.bankingapi.metricas;
+
+/**
+ * Conta os statements JDBC que um trecho de código executa na thread corrente, para testes
+ * que garantem que uma leitura não cresce com o número de linhas (N+1):
+ * <pre>
+ * ContagemConsultas.verificarNoMaximo(3, () -&gt; contaService.buscarHistorico(id, null, 100));
+ * </pre>
+ * Cada {@code executeBatch} conta como um statement. Statements de outras threads (jobs,
+ * gravação assíncrona) não entram na contagem.
+ */
+public final class ContagemConsultas {
+
+    private ContagemConsultas() {
+    }
+
+    public static long contar(Runnable trecho) {
+        long[] anterior = TempoBanco.iniciar();
+        long[] contagem;
+        try {
+            trecho.run();
+        } finally {
+            contagem = TempoBanco.encerrar(anterior);
+        }
+        return contagem[TempoBanco.STATEMENTS];
+    }
+
+    /**
+     * Executa o trecho e lança {@link AssertionError} se ele passou de {@code maximo} statements.
+     */
+    public static void verificarNoMaximo(long maximo, Runnable trecho) {
+        long statements = contar(trecho);
+        if (statements > maximo) {
+            throw new AssertionError("Esperado no máximo " + maximo + " statements, executados " + statements);
+        }
+    }
+}
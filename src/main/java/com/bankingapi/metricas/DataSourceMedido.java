@@ -0,0 +1,89 @@
+package com.bankingapi.metricas;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Envolve o {@link DataSource} da aplicação para medir o tempo de execução de statements,
+ * commits e rollbacks e contar os statements, somados em {@link TempoBanco}. Só as chamadas
+ * que vão ao banco pegam o relógio; as demais passam direto para o driver.
+ */
+@Component
+public class DataSourceMedido implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return medir(super.getConnection());
+                }
+
+                @Override
+                public Connection getConnection(String usuario, String senha) throws SQLException {
+                    return medir(super.getConnection(usuario, senha));
+                }
+            };
+        }
+        return bean;
+    }
+
+    private static Connection medir(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, metodo, args) -> {
+                    String nome = metodo.getName();
+                    if (nome.equals("commit") || nome.equals("rollback")) {
+                        return cronometrar(conexao, metodo, args);
+                    }
+                    Object resultado = invocar(conexao, metodo, args);
+                    if (resultado instanceof Statement statement && Statement.class.isAssignableFrom(metodo.getReturnType())) {
+                        return medir(statement, metodo.getReturnType());
+                    }
+                    return resultado;
+                });
+    }
+
+    private static Object medir(Statement statement, Class<?> tipo) {
+        return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { tipo },
+                (proxy, metodo, args) -> metodo.getName().startsWith("execute")
+                        ? executar(statement, metodo, args)
+                        : invocar(statement, metodo, args));
+    }
+
+    private static Object cronometrar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        long inicio = System.nanoTime();
+        try {
+            return invocar(alvo, metodo, args);
+        } finally {
+            TempoBanco.somar(System.nanoTime() - inicio);
+        }
+    }
+
+    private static Object executar(Statement statement, Method metodo, Object[] args) throws Throwable {
+        long inicio = System.nanoTime();
+        try {
+            return invocar(statement, metodo, args);
+        } finally {
+            TempoBanco.somarStatement(System.nanoTime() - inicio);
+        }
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
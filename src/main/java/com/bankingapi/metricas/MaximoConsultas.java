@@ -0,0 +1,21 @@
+package com.bankingapi.metricas;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Quantidade máxima de statements JDBC que uma requisição ao endpoint pode executar,
+ * independente do tamanho da resposta. {@link TempoBancoFilter} registra as requisições que
+ * passarem do limite e, com {@code banking.consultas.falhar-acima-do-maximo=true} (testes),
+ * falha a requisição.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface MaximoConsultas {
+
+    int value();
+}
@@ -0,0 +1,57 @@
+package com.bankingapi.metricas;
+
+/**
+ * Tempo gasto em chamadas JDBC e quantidade de statements executados pelo trecho que está
+ * rodando na thread corrente. {@link DataSourceMedido} soma cada execução e commit;
+ * {@link TempoBancoFilter} abre a contagem no início da requisição e publica o total no fim,
+ * e {@link ContagemConsultas} abre contagens aninhadas em volta de um trecho qualquer.
+ */
+final class TempoBanco {
+
+    static final int NANOS = 0;
+    static final int STATEMENTS = 1;
+
+    private static final ThreadLocal<long[]> CONTAGEM = new ThreadLocal<>();
+
+    private TempoBanco() {
+    }
+
+    // Retorna a contagem que estava aberta, a ser passada para encerrar
+    static long[] iniciar() {
+        long[] anterior = CONTAGEM.get();
+        CONTAGEM.set(new long[2]);
+        return anterior;
+    }
+
+    // Devolve {nanos, statements} da contagem corrente e os soma na anterior, que volta a valer
+    static long[] encerrar(long[] anterior) {
+        long[] atual = CONTAGEM.get();
+        if (atual == null) {
+            atual = new long[2];
+        }
+        if (anterior != null) {
+            anterior[NANOS] += atual[NANOS];
+            anterior[STATEMENTS] += atual[STATEMENTS];
+            CONTAGEM.set(anterior);
+        } else {
+            CONTAGEM.remove();
+        }
+        return atual;
+    }
+
+    // Fora de requisição (jobs, threads de escrita) não há contagem aberta e nada é somado
+    static void somar(long nanos) {
+        long[] acumulado = CONTAGEM.get();
+        if (acumulado != null) {
+            acumulado[NANOS] += nanos;
+        }
+    }
+
+    static void somarStatement(long nanos) {
+        long[] acumulado = CONTAGEM.get();
+        if (acumulado != null) {
+            acumulado[NANOS] += nanos;
+            acumulado[STATEMENTS]++;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.bankingapi.metricas;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Publica {@code banking.http.tempo-banco} e {@code banking.http.statements}: tempo total em
+ * JDBC e quantidade de statements de cada requisição, por método e rota (o mesmo {@code uri}
+ * de {@code http.server.requests}). Requisições sem rota mapeada (404, estáticos) não são
+ * registradas.
+ * <p>
+ * Endpoints anotados com {@link MaximoConsultas} que passarem do limite contam em
+ * {@code banking.http.statements.excedidos} e geram um aviso no log; com
+ * {@code banking.consultas.falhar-acima-do-maximo=true} a requisição falha, para que os
+ * testes de integração quebrem a build ao surgir um N+1.
+ */
+@Component
+public class TempoBancoFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(TempoBancoFilter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.consultas.falhar-acima-do-maximo:false}")
+    private boolean falharAcimaDoMaximo;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long[] anterior = TempoBanco.iniciar();
+        long[] contagem;
+        Object rota;
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            contagem = TempoBanco.encerrar(anterior);
+            rota = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (rota != null) {
+                Timer.builder("banking.http.tempo-banco")
+                        .description("Tempo em chamadas JDBC por requisição")
+                        .tag("method", request.getMethod())
+                        .tag("uri", rota.toString())
+                        .register(meterRegistry)
+                        .record(Duration.ofNanos(contagem[TempoBanco.NANOS]));
+                DistributionSummary.builder("banking.http.statements")
+                        .description("Statements JDBC por requisição")
+                        .tag("method", request.getMethod())
+                        .tag("uri", rota.toString())
+                        .register(meterRegistry)
+                        .record(contagem[TempoBanco.STATEMENTS]);
+            }
+        }
+        if (rota != null) {
+            verificarMaximo(request, rota.toString(), contagem[TempoBanco.STATEMENTS]);
+        }
+    }
+
+    private void verificarMaximo(HttpServletRequest request, String rota, long statements) {
+        if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler)) {
+            return;
+        }
+        MaximoConsultas maximo = handler.getMethodAnnotation(MaximoConsultas.class);
+        if (maximo == null || statements <= maximo.value()) {
+            return;
+        }
+        Counter.builder("banking.http.statements.excedidos")
+                .description("Requisições acima do máximo de statements do endpoint")
+                .tag("method", request.getMethod())
+                .tag("uri", rota)
+                .register(meterRegistry)
+                .increment();
+        String mensagem = request.getMethod() + " " + rota + " executou " + statements
+                + " statements; máximo " + maximo.value();
+        if (falharAcimaDoMaximo) {
+            throw new IllegalStateException(mensagem);
+        }
+        log.warn(mensagem);
+    }
+}
@@ -0,0 +1,76 @@
+package com.bankingapi.repository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Ids para inserts feitos via JDBC em tabelas cujas entidades usam sequence com
+ * {@code allocationSize = }{@value #INCREMENTO}.
+ * <p>
+ * Segue a mesma regra do otimizador pooled do Hibernate: o valor {@code v} lido da
+ * sequence reserva os ids {@code (v - INCREMENTO, v]}. Como Hibernate e este alocador
+ * nunca leem o mesmo valor, os blocos nunca se sobrepõem.
+ */
+@Component
+public class AlocadorIds {
+    
+    public static final int INCREMENTO = 50;
+    
+    private final Map<String, Bloco> blocos = new ConcurrentHashMap<>();
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    public long proximoId(String sequencia) {
+        return proximoId(sequencia, jdbcTemplate);
+    }
+    
+    /**
+     * Igual a {@link #proximoId(String)}, mas lê a sequence por {@code jdbc} quando o bloco acaba.
+     */
+    public long proximoId(String sequencia, JdbcTemplate jdbc) {
+        return blocos.computeIfAbsent(sequencia, Bloco::new).proximo(jdbc);
+    }
+    
+    private long lerSequencia(String sequencia, JdbcTemplate jdbc) {
+        String sql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport()
+                .getSequenceNextValString(sequencia);
+        return jdbc.queryForObject(sql, Long.class);
+    }
+    
+    private class Bloco {
+        private final String sequencia;
+        private final ReentrantLock lock = new ReentrantLock();
+        private long proximo;
+        private long limite;
+        
+        Bloco(String sequencia) {
+            this.sequencia = sequencia;
+        }
+        
+        long proximo(JdbcTemplate jdbc) {
+            lock.lock();
+            try {
+                if (proximo == 0 || proximo > limite) {
+                    limite = lerSequencia(sequencia, jdbc);
+                    proximo = Math.max(1, limite - INCREMENTO + 1);
+                }
+                return proximo++;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.bankingapi.repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.bankingapi.entity.Cliente;
+
+@Repository
+public class ClienteJdbcRepository {
+    
+    public static final String SEQUENCIA = "clientes_seq";
+    
+    private static final String INSERT_CLIENTE = 
+        "INSERT INTO clientes (id, nome, cpf, data_criacao) VALUES (?, ?, ?, ?)";
+    
+    // CPFs em um array: com IN (...) o H2 não usa o índice único de cpf
+    private static final String IDS_POR_CPF = 
+        "SELECT c.cpf, c.id FROM UNNEST(CAST(? AS VARCHAR ARRAY)) AS p(cpf) JOIN clientes c ON c.cpf = p.cpf";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private AlocadorIds alocadorIds;
+    
+    /**
+     * Id dos clientes já cadastrados entre os CPFs informados.
+     */
+    public Map<String, Long> idsPorCpf(Collection<String> cpfs) {
+        Map<String, Long> ids = new HashMap<>();
+        if (cpfs.isEmpty()) {
+            return ids;
+        }
+        jdbcTemplate.query(IDS_POR_CPF, rs -> {
+            ids.put(rs.getString(1), rs.getLong(2));
+        }, (Object) cpfs.toArray(String[]::new));
+        return ids;
+    }
+    
+    /**
+     * Insere os clientes em um único lote, atribuindo o id de cada um pela sequence da entidade.
+     */
+    public void inserirEmLote(List<Cliente> clientes) {
+        if (clientes.isEmpty()) {
+            return;
+        }
+        
+        for (Cliente cliente : clientes) {
+            cliente.setId(alocadorIds.proximoId(SEQUENCIA));
+        }
+        jdbcTemplate.batchUpdate(INSERT_CLIENTE, clientes, clientes.size(), (ps, cliente) -> {
+            ps.setLong(1, cliente.getId());
+            ps.setString(2, cliente.getNome());
+            ps.setString(3, cliente.getCpf());
+            ps.setTimestamp(4, Timestamp.valueOf(cliente.getDataCriacao()));
+        });
+    }
+}
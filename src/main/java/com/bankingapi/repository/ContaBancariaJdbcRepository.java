@@ -0,0 +1,229 @@
+package com.bankingapi.repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.bankingapi.entity.ContaBancaria;
+import com.bankingapi.entity.ContaCorrente;
+import com.bankingapi.entity.ContaPoupanca;
+
+@Repository
+public class ContaBancariaJdbcRepository {
+    
+    private static final String UPDATE_SALDO = 
+        "UPDATE contas_bancarias SET saldo = ?, versao = versao + 1 WHERE id = ?";
+    
+    // Só poupanças têm aniversario_conta; o filtro usa idx_contas_aniversario_id
+    private static final String FAIXA_POUPANCAS_NO_ANIVERSARIO = 
+        "SELECT MIN(id), MAX(id) FROM contas_bancarias " +
+        "WHERE aniversario_conta BETWEEN ? AND ? AND tipo_conta = 'POUPANCA' AND ativa = TRUE";
+    
+    private static final String POUPANCAS_SEM_RENDIMENTO = 
+        "SELECT id FROM contas_bancarias " +
+        "WHERE aniversario_conta BETWEEN ? AND ? AND id > ? AND id <= ? " +
+        "AND tipo_conta = 'POUPANCA' AND ativa = TRUE " +
+        "AND (ultimo_rendimento IS NULL OR ultimo_rendimento < ?) " +
+        "ORDER BY id LIMIT ?";
+    
+    // Contas correntes ativas, criadas até a competência, com tarifa e ainda não tarifadas nela
+    private static final String CORRENTES_SEM_TARIFA = 
+        "tipo_conta = 'CORRENTE' AND ativa = TRUE AND taxa_manutencao > 0 AND data_criacao < :criadasAntesDe " +
+        "AND (ultima_tarifa IS NULL OR ultima_tarifa < :competencia)";
+    
+    private static final String IDS_SEM_TARIFA = 
+        "SELECT id FROM contas_bancarias WHERE id > :aposId AND " + CORRENTES_SEM_TARIFA + " ORDER BY id LIMIT :limite";
+    
+    private static final String TARIFAS_PENDENTES = 
+        "SELECT id, saldo, taxa_manutencao FROM contas_bancarias " +
+        "WHERE id IN (:ids) AND " + CORRENTES_SEM_TARIFA;
+    
+    private static final String RESUMO_TARIFAS = 
+        "SELECT COUNT(*), " +
+        "SUM(CASE WHEN saldo >= taxa_manutencao THEN 1 ELSE 0 END), " +
+        "SUM(CASE WHEN saldo >= taxa_manutencao THEN taxa_manutencao ELSE 0 END) " +
+        "FROM contas_bancarias WHERE " + CORRENTES_SEM_TARIFA;
+    
+    private static final String DEBITAR_TARIFA = 
+        "UPDATE contas_bancarias SET saldo = saldo - ?, ultima_tarifa = ?, versao = versao + 1 WHERE id = ?";
+    
+    // Contas ativas já abertas no fim da competência do extrato
+    private static final String FAIXA_CONTAS_PARA_EXTRATO = 
+        "SELECT MIN(id), MAX(id) FROM contas_bancarias WHERE ativa = TRUE AND data_criacao < ?";
+    
+    private static final String CONTAS_PARA_EXTRATO = 
+        "SELECT c.id, c.numero, cl.nome FROM contas_bancarias c JOIN clientes cl ON cl.id = c.cliente_id " +
+        "WHERE c.id > ? AND c.id <= ? AND c.ativa = TRUE AND c.data_criacao < ? ORDER BY c.id LIMIT ?";
+    
+    // Tabela única: as colunas da outra subclasse ficam nulas, como nos inserts do Hibernate
+    private static final String INSERT_CONTA = 
+        "INSERT INTO contas_bancarias (id, tipo_conta, numero, cliente_id, saldo, data_criacao, ativa, versao, " +
+        "limite_credito, taxa_manutencao, ultima_tarifa, taxa_rendimento, ultimo_rendimento, aniversario_conta) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?, ?, ?)";
+    
+    public static final String SEQUENCIA = "contas_bancarias_seq";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    
+    @Autowired
+    private AlocadorIds alocadorIds;
+    
+    /**
+     * Insere contas novas em um único lote, atribuindo o id de cada uma pela sequence da
+     * entidade. O cliente de cada conta já deve ter id.
+     */
+    public void inserirEmLote(List<ContaBancaria> contas) {
+        if (contas.isEmpty()) {
+            return;
+        }
+        
+        for (ContaBancaria conta : contas) {
+            conta.setId(alocadorIds.proximoId(SEQUENCIA));
+        }
+        jdbcTemplate.batchUpdate(INSERT_CONTA, contas, contas.size(), (ps, conta) -> {
+            ps.setLong(1, conta.getId());
+            ps.setString(3, conta.getNumero());
+            ps.setLong(4, conta.getCliente().getId());
+            ps.setBigDecimal(5, conta.getSaldo());
+            ps.setTimestamp(6, Timestamp.valueOf(conta.getDataCriacao()));
+            ps.setBoolean(7, conta.getAtiva());
+            for (int coluna = 8; coluna <= 13; coluna++) {
+                ps.setNull(coluna, Types.NULL);
+            }
+            if (conta instanceof ContaCorrente corrente) {
+                ps.setString(2, "CORRENTE");
+                ps.setBigDecimal(8, corrente.getLimiteCredito());
+                ps.setBigDecimal(9, corrente.getTaxaManutencao());
+                ps.setObject(10, corrente.getUltimaTarifa(), Types.DATE);
+            } else {
+                ContaPoupanca poupanca = (ContaPoupanca) conta;
+                ps.setString(2, "POUPANCA");
+                ps.setBigDecimal(11, poupanca.getTaxaRendimento());
+                ps.setObject(12, poupanca.getUltimoRendimento() != null
+                        ? Timestamp.valueOf(poupanca.getUltimoRendimento()) : null, Types.TIMESTAMP);
+                ps.setObject(13, poupanca.getAniversarioConta(), Types.INTEGER);
+            }
+        });
+    }
+    
+    public void atualizarSaldosEmLote(Map<Long, BigDecimal> saldos) {
+        if (saldos.isEmpty()) {
+            return;
+        }
+        
+        jdbcTemplate.batchUpdate(UPDATE_SALDO, new ArrayList<>(saldos.entrySet()), saldos.size(), 
+            (ps, saldo) -> {
+                ps.setBigDecimal(1, saldo.getValue());
+                ps.setLong(2, saldo.getKey());
+            });
+    }
+    
+    /**
+     * Menor e maior id das poupanças ativas com aniversário entre os dias informados,
+     * ou {@code null} se não houver nenhuma.
+     */
+    public long[] faixaPoupancasNoAniversario(int diaInicial, int diaFinal) {
+        return jdbcTemplate.query(FAIXA_POUPANCAS_NO_ANIVERSARIO, rs -> {
+            rs.next();
+            long primeiro = rs.getLong(1);
+            return rs.wasNull() ? null : new long[] { primeiro, rs.getLong(2) };
+        }, diaInicial, diaFinal);
+    }
+    
+    /**
+     * Até {@code limite} ids, em ordem, de poupanças ativas com aniversário entre os dias
+     * informados, id em {@code (aposId, ateId]} e sem rendimento desde {@code rendimentoAntesDe}.
+     */
+    public List<Long> poupancasSemRendimento(int diaInicial, int diaFinal, long aposId, long ateId,
+                                             LocalDateTime rendimentoAntesDe, int limite) {
+        return jdbcTemplate.queryForList(POUPANCAS_SEM_RENDIMENTO, Long.class,
+                diaInicial, diaFinal, aposId, ateId, Timestamp.valueOf(rendimentoAntesDe), limite);
+    }
+    
+    /**
+     * Até {@code limite} ids, em ordem, de contas correntes sem a tarifa da competência
+     * (primeiro dia do mês) com id maior que {@code aposId}.
+     */
+    public List<Long> correntesSemTarifa(LocalDate competencia, long aposId, int limite) {
+        return namedJdbcTemplate.queryForList(IDS_SEM_TARIFA,
+                parametrosTarifa(competencia).addValue("aposId", aposId).addValue("limite", limite), Long.class);
+    }
+    
+    /**
+     * Saldo e tarifa atuais das contas que ainda não pagaram a tarifa da competência.
+     * Deve ser chamado com o lock das contas já adquirido.
+     */
+    public List<TarifaPendente> tarifasPendentes(Collection<Long> contaIds, LocalDate competencia) {
+        return namedJdbcTemplate.query(TARIFAS_PENDENTES, parametrosTarifa(competencia).addValue("ids", contaIds),
+            (rs, linha) -> new TarifaPendente(rs.getLong(1), rs.getBigDecimal(2).movePointRight(2).longValueExact(),
+                    rs.getBigDecimal(3).movePointRight(2).longValueExact()));
+    }
+    
+    /**
+     * Prévia da cobrança em uma única consulta: {contas pendentes, contas com saldo, centavos a cobrar}.
+     */
+    public long[] resumoTarifas(LocalDate competencia) {
+        return namedJdbcTemplate.query(RESUMO_TARIFAS, parametrosTarifa(competencia), rs -> {
+            rs.next();
+            BigDecimal total = rs.getBigDecimal(3);
+            return new long[] { rs.getLong(1), rs.getLong(2), total == null ? 0 : total.movePointRight(2).longValueExact() };
+        });
+    }
+    
+    public void debitarTarifasEmLote(List<TarifaPendente> tarifas, LocalDate competencia) {
+        if (tarifas.isEmpty()) {
+            return;
+        }
+        
+        Date dataCompetencia = Date.valueOf(competencia);
+        jdbcTemplate.batchUpdate(DEBITAR_TARIFA, tarifas, tarifas.size(), (ps, tarifa) -> {
+            ps.setBigDecimal(1, BigDecimal.valueOf(tarifa.taxaCentavos(), 2));
+            ps.setDate(2, dataCompetencia);
+            ps.setLong(3, tarifa.contaId());
+        });
+    }
+    
+    /**
+     * Menor e maior id das contas ativas abertas antes de {@code criadasAntesDe}, ou
+     * {@code null} se não houver nenhuma.
+     */
+    public long[] faixaContasParaExtrato(LocalDateTime criadasAntesDe) {
+        return jdbcTemplate.query(FAIXA_CONTAS_PARA_EXTRATO, rs -> {
+            rs.next();
+            long primeiro = rs.getLong(1);
+            return rs.wasNull() ? null : new long[] { primeiro, rs.getLong(2) };
+        }, Timestamp.valueOf(criadasAntesDe));
+    }
+    
+    /**
+     * Até {@code limite} contas ativas, em ordem de id, com id em {@code (aposId, ateId]} e
+     * abertas antes de {@code criadasAntesDe}.
+     */
+    public List<ContaExtrato> contasParaExtrato(long aposId, long ateId, LocalDateTime criadasAntesDe, int limite) {
+        return jdbcTemplate.query(CONTAS_PARA_EXTRATO,
+                (rs, linha) -> new ContaExtrato(rs.getLong(1), rs.getString(2), rs.getString(3)),
+                aposId, ateId, Timestamp.valueOf(criadasAntesDe), limite);
+    }
+    
+    private static MapSqlParameterSource parametrosTarifa(LocalDate competencia) {
+        return new MapSqlParameterSource("competencia", Date.valueOf(competencia))
+                .addValue("criadasAntesDe", Timestamp.valueOf(competencia.plusMonths(1).atStartOfDay()));
+    }
+}
@@ -2,13 +2,20 @@ package com.bankingapi.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.bankingapi.entity.ContaBancaria;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface ContaBancariaRepository extends JpaRepository<ContaBancaria, Long> {
     
@@ -16,10 +23,41 @@ public interface ContaBancariaRepository extends JpaRepository<ContaBancaria, Lo
     
     Optional<ContaBancaria> findByIdAndAtivaTrue(Long id);
     
+    boolean existsByIdAndAtivaTrue(Long id);
+    
     Optional<ContaBancaria> findByNumero(String numero);
     
     @Query("SELECT c FROM ContaBancaria c WHERE c.ativa = true ORDER BY c.dataCriacao DESC")
     List<ContaBancaria> findAllActiveOrderByDataCriacao();
     
     boolean existsByNumero(String numero);
+    
+    // Leituras da API: só as colunas do DTO de resposta, sem hidratar entidades
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT new com.bankingapi.repository.ContaResumo(c.id, c.numero, c.saldo, c.ativa, c.dataCriacao, " +
+           "cl.id, cl.nome, cl.cpf, cl.dataCriacao) " +
+           "FROM ContaBancaria c JOIN c.cliente cl WHERE c.ativa = true ORDER BY c.id")
+    List<ContaResumo> listarResumosAtivos();
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT new com.bankingapi.repository.ContaResumo(c.id, c.numero, c.saldo, c.ativa, c.dataCriacao, " +
+           "cl.id, cl.nome, cl.cpf, cl.dataCriacao) " +
+           "FROM ContaBancaria c JOIN c.cliente cl WHERE c.id = :id AND c.ativa = true")
+    Optional<ContaResumo> buscarResumoAtivo(@Param("id") Long id);
+    
+    // Exportação em streaming: cursor no banco com fetch size fixo, sem entidades gerenciadas
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.bankingapi.repository.ContaExportacao(c.id, c.numero, c.saldo, cl.nome, cl.cpf, c.dataCriacao) " +
+           "FROM ContaBancaria c JOIN c.cliente cl WHERE c.ativa = true ORDER BY c.id")
+    Stream<ContaExportacao> streamContasAtivasParaExportacao();
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM ContaBancaria c JOIN FETCH c.cliente ORDER BY c.id")
+    Stream<ContaBancaria> streamTodasComCliente();
 }
@@ -0,0 +1,17 @@
+package com.bankingapi.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha da exportação de contas, lida por projeção para não carregar entidades
+ * no contexto de persistência.
+ */
+public record ContaExportacao(
+        Long id,
+        String numero,
+        BigDecimal saldo,
+        String nomeCliente,
+        String cpfCliente,
+        LocalDateTime dataCriacao) {
+}
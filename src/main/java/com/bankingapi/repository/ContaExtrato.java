@@ -0,0 +1,7 @@
+package com.bankingapi.repository;
+
+/**
+ * Conta incluída na geração de extratos, com o que o cabeçalho do extrato precisa.
+ */
+public record ContaExtrato(Long id, String numero, String nomeCliente) {
+}
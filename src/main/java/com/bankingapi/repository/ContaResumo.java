@@ -0,0 +1,21 @@
+package com.bankingapi.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Colunas de uma conta e do seu cliente exibidas nas consultas, lidas por projeção:
+ * sem entidades no contexto de persistência, snapshot para dirty checking nem o
+ * carregamento da hierarquia de contas.
+ */
+public record ContaResumo(
+        Long id,
+        String numero,
+        BigDecimal saldo,
+        boolean ativa,
+        LocalDateTime dataCriacao,
+        Long clienteId,
+        String nomeCliente,
+        String cpfCliente,
+        LocalDateTime dataCriacaoCliente) {
+}
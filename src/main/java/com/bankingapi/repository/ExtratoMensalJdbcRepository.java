@@ -0,0 +1,116 @@
+package com.bankingapi.repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.bankingapi.enums.TipoTransacao;
+
+/**
+ * Totais mensais por conta e tipo ({@code extratos_mensais}), somados a cada lote do razão
+ * na mesma transação e pela mesma conexão dos lançamentos. Como os lançamentos de uma conta
+ * chegam em ordem de {@code seq}, a parcela de um lote só estende {@code seq_final} e
+ * {@code saldo_final} de uma linha existente.
+ */
+@Repository
+public class ExtratoMensalJdbcRepository {
+
+    private static final String ACUMULAR =
+        "MERGE INTO extratos_mensais e USING (VALUES (CAST(? AS BIGINT), CAST(? AS DATE), CAST(? AS VARCHAR(20)), " +
+        "CAST(? AS BIGINT), CAST(? AS NUMERIC(19, 2)), CAST(? AS NUMERIC(19, 2)), CAST(? AS BIGINT), CAST(? AS BIGINT), " +
+        "CAST(? AS NUMERIC(19, 2)), CAST(? AS NUMERIC(19, 2)))) " +
+        "AS n(conta_id, competencia, tipo, quantidade, entradas, saidas, seq_inicial, seq_final, saldo_inicial, saldo_final) " +
+        "ON e.conta_id = n.conta_id AND e.competencia = n.competencia AND e.tipo = n.tipo " +
+        "WHEN MATCHED THEN UPDATE SET quantidade = e.quantidade + n.quantidade, entradas = e.entradas + n.entradas, " +
+        "saidas = e.saidas + n.saidas, seq_final = n.seq_final, saldo_final = n.saldo_final " +
+        "WHEN NOT MATCHED THEN INSERT (conta_id, competencia, tipo, quantidade, entradas, saidas, seq_inicial, " +
+        "seq_final, saldo_inicial, saldo_final) VALUES (n.conta_id, n.competencia, n.tipo, n.quantidade, n.entradas, " +
+        "n.saidas, n.seq_inicial, n.seq_final, n.saldo_inicial, n.saldo_final)";
+
+    // Agrupa o razão inteiro e busca pela chave o primeiro e o último lançamento de cada grupo
+    private static final String RECONSTRUIR =
+        "INSERT INTO extratos_mensais (conta_id, competencia, tipo, quantidade, entradas, saidas, " +
+        "seq_inicial, seq_final, saldo_inicial, saldo_final) " +
+        "SELECT g.conta_id, g.competencia, g.tipo, g.quantidade, g.entradas, g.saidas, g.seq_inicial, g.seq_final, " +
+        "i.saldo_apos - i.valor, f.saldo_apos FROM (" +
+        "SELECT l.conta_id, CAST(DATE_TRUNC(MONTH, l.data_lancamento) AS DATE) AS competencia, t.tipo, " +
+        "COUNT(*) AS quantidade, SUM(CASE WHEN l.valor > 0 THEN l.valor ELSE 0 END) AS entradas, " +
+        "SUM(CASE WHEN l.valor < 0 THEN -l.valor ELSE 0 END) AS saidas, MIN(l.seq) AS seq_inicial, MAX(l.seq) AS seq_final " +
+        "FROM lancamentos_conta l JOIN transacoes t ON t.id = l.transacao_id " +
+        "GROUP BY l.conta_id, CAST(DATE_TRUNC(MONTH, l.data_lancamento) AS DATE), t.tipo) g " +
+        "JOIN lancamentos_conta i ON i.conta_id = g.conta_id AND i.seq = g.seq_inicial " +
+        "JOIN lancamentos_conta f ON f.conta_id = g.conta_id AND f.seq = g.seq_final";
+
+    // As contas vêm em um array: com IN (...) o H2 percorre o índice inteiro em vez de uma busca por conta
+    private static final String TOTAIS =
+        "SELECT e.conta_id, e.competencia, e.tipo, e.quantidade, e.entradas, e.saidas, e.seq_inicial, e.seq_final, " +
+        "e.saldo_inicial, e.saldo_final FROM UNNEST(CAST(? AS BIGINT ARRAY)) AS p(conta) " +
+        "JOIN extratos_mensais e ON e.conta_id = p.conta AND e.competencia = ?";
+
+    // Faixa do mês no índice (conta_id, data_lancamento, seq) de cada conta
+    private static final String LANCAMENTOS =
+        "SELECT l.conta_id, l.seq, l.transacao_id, t.tipo, t.descricao, l.valor, l.saldo_apos, l.data_lancamento " +
+        "FROM UNNEST(CAST(? AS BIGINT ARRAY)) AS p(conta) " +
+        "JOIN lancamentos_conta l ON l.conta_id = p.conta AND l.data_lancamento >= ? AND l.data_lancamento < ? " +
+        "JOIN transacoes t ON t.id = l.transacao_id ORDER BY l.conta_id, l.seq";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Soma as parcelas às linhas existentes ou cria as que faltam, em um único lote.
+     */
+    public void acumular(JdbcTemplate jdbc, Collection<TotalMensal> parcelas) {
+        if (parcelas.isEmpty()) {
+            return;
+        }
+        jdbc.batchUpdate(ACUMULAR, parcelas, parcelas.size(), (ps, parcela) -> {
+            ps.setLong(1, parcela.contaId());
+            ps.setDate(2, Date.valueOf(parcela.competencia()));
+            ps.setString(3, parcela.tipo().name());
+            ps.setLong(4, parcela.quantidade());
+            ps.setBigDecimal(5, parcela.entradas());
+            ps.setBigDecimal(6, parcela.saidas());
+            ps.setLong(7, parcela.seqInicial());
+            ps.setLong(8, parcela.seqFinal());
+            ps.setBigDecimal(9, parcela.saldoInicial());
+            ps.setBigDecimal(10, parcela.saldoFinal());
+        });
+    }
+
+    /**
+     * Refaz todos os totais a partir do razão, depois de lançamentos apagados.
+     */
+    public int reconstruir(JdbcTemplate jdbc) {
+        jdbc.update("DELETE FROM extratos_mensais");
+        return jdbc.update(RECONSTRUIR);
+    }
+
+    /**
+     * Totais das contas na competência (primeiro dia do mês); contas sem movimento no mês não têm linhas.
+     */
+    public List<TotalMensal> totais(Collection<Long> contaIds, LocalDate competencia) {
+        return jdbcTemplate.query(TOTAIS, (rs, linha) -> new TotalMensal(
+                rs.getLong(1), rs.getDate(2).toLocalDate(), TipoTransacao.valueOf(rs.getString(3)), rs.getLong(4),
+                rs.getBigDecimal(5), rs.getBigDecimal(6), rs.getLong(7), rs.getLong(8),
+                rs.getBigDecimal(9), rs.getBigDecimal(10)),
+                contaIds.toArray(Long[]::new), Date.valueOf(competencia));
+    }
+
+    /**
+     * Lançamentos das contas no mês da competência, por conta e em ordem de {@code seq}.
+     */
+    public List<LancamentoExtrato> lancamentos(Collection<Long> contaIds, LocalDate competencia) {
+        return jdbcTemplate.query(LANCAMENTOS, (rs, linha) -> new LancamentoExtrato(
+                rs.getLong(1), rs.getLong(2), rs.getLong(3), TipoTransacao.valueOf(rs.getString(4)), rs.getString(5),
+                rs.getBigDecimal(6), rs.getBigDecimal(7), rs.getTimestamp(8).toLocalDateTime()),
+                contaIds.toArray(Long[]::new), Timestamp.valueOf(competencia.atStartOfDay()),
+                Timestamp.valueOf(competencia.plusMonths(1).atStartOfDay()));
+    }
+}
@@ -0,0 +1,11 @@
+package com.bankingapi.repository;
+
+/**
+ * Sequências contíguas {@code primeira..ultima} do journal anexadas por uma mesma transação.
+ */
+public record FaixaJournal(long primeira, long ultima) {
+
+    public boolean contem(long sequencia) {
+        return sequencia >= primeira && sequencia <= ultima;
+    }
+}
@@ -0,0 +1,160 @@
+package com.bankingapi.repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.bankingapi.enums.TipoTransacao;
+
+/**
+ * Grava o razão por conta ({@code lancamentos_conta}) das transações que acabaram de ser
+ * inseridas, na mesma transação e pela mesma conexão.
+ * <p>
+ * O saldo corrente parte do último lançamento de cada conta, lido uma vez por lote. Quem
+ * grava já serializa as linhas de uma mesma conta: nas movimentações síncronas pelo lock da
+ * conta, e na projeção do journal, no write-behind e na auditoria assíncrona pela thread
+ * única de gravação. A chave {@code (conta_id, seq)} rejeita qualquer gravação concorrente
+ * que escape disso.
+ * <p>
+ * Cada lote também soma seus lançamentos aos totais mensais por conta e tipo
+ * ({@code extratos_mensais}), de onde saem os extratos sem reler o histórico.
+ */
+@Repository
+public class LancamentoContaJdbcRepository {
+
+    private static final String INSERT_LANCAMENTO =
+        "INSERT INTO lancamentos_conta (conta_id, seq, transacao_id, valor, saldo_apos, data_lancamento) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    // Parte das contas para que cada último lançamento seja uma busca pontual no índice decrescente
+    private static final String ULTIMOS_LANCAMENTOS =
+        "SELECT c.id, l.seq, l.saldo_apos FROM contas_bancarias c " +
+        "JOIN lancamentos_conta l ON l.conta_id = c.id AND l.seq = (" +
+        "SELECT u.seq FROM lancamentos_conta u WHERE u.conta_id = c.id " +
+        "ORDER BY u.conta_id DESC, u.seq DESC FETCH FIRST 1 ROWS ONLY) " +
+        "WHERE c.id IN (:ids)";
+
+    // Um par (conta, momento) por elemento dos arrays; cada saldo é uma busca no índice por data
+    private static final String SALDOS_EM =
+        "SELECT p.conta, p.em, c.id, l.saldo_apos, l.seq, l.data_lancamento " +
+        "FROM UNNEST(CAST(? AS BIGINT ARRAY), CAST(? AS TIMESTAMP ARRAY)) WITH ORDINALITY AS p(conta, em, i) " +
+        "LEFT JOIN contas_bancarias c ON c.id = p.conta " +
+        "LEFT JOIN lancamentos_conta l ON l.conta_id = c.id AND l.seq = (" +
+        "SELECT u.seq FROM lancamentos_conta u WHERE u.conta_id = c.id AND u.data_lancamento <= p.em " +
+        "ORDER BY u.conta_id DESC, u.data_lancamento DESC, u.seq DESC FETCH FIRST 1 ROWS ONLY) " +
+        "ORDER BY p.i";
+
+    private static final String REMOVER_DO_JOURNAL =
+        "DELETE FROM lancamentos_conta WHERE transacao_id IN (SELECT id FROM transacoes WHERE journal_seq IS NOT NULL)";
+
+    private record Posicao(long seq, BigDecimal saldo) {}
+
+    private record ChaveMensal(Long contaId, LocalDate competencia, TipoTransacao tipo) {}
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ExtratoMensalJdbcRepository extratoMensalJdbcRepository;
+
+    /**
+     * Lança cada transação nas contas de origem (valor negativo) e destino (positivo), na
+     * ordem da lista, e soma os lançamentos aos totais mensais das contas. {@code transacaoIds}
+     * tem o id de cada registro, na mesma posição.
+     */
+    public void lancar(JdbcTemplate jdbc, List<RegistroTransacao> registros, List<Long> transacaoIds) {
+        if (registros.isEmpty()) {
+            return;
+        }
+
+        Set<Long> contaIds = new LinkedHashSet<>();
+        for (RegistroTransacao registro : registros) {
+            if (registro.contaOrigemId() != null) {
+                contaIds.add(registro.contaOrigemId());
+            }
+            if (registro.contaDestinoId() != null) {
+                contaIds.add(registro.contaDestinoId());
+            }
+        }
+        Map<Long, Posicao> posicoes = ultimasPosicoes(jdbc, contaIds);
+
+        List<Object[]> linhas = new ArrayList<>(registros.size() * 2);
+        Map<ChaveMensal, TotalMensal> totais = new LinkedHashMap<>();
+        for (int i = 0; i < registros.size(); i++) {
+            RegistroTransacao registro = registros.get(i);
+            if (registro.contaOrigemId() != null) {
+                linhas.add(lancamento(posicoes, totais, registro, registro.contaOrigemId(), transacaoIds.get(i),
+                        registro.valor().negate()));
+            }
+            if (registro.contaDestinoId() != null) {
+                linhas.add(lancamento(posicoes, totais, registro, registro.contaDestinoId(), transacaoIds.get(i),
+                        registro.valor()));
+            }
+        }
+        jdbc.batchUpdate(INSERT_LANCAMENTO, linhas);
+        extratoMensalJdbcRepository.acumular(jdbc, totais.values());
+    }
+
+    /**
+     * Saldo de cada conta no momento correspondente, em uma única consulta e na ordem dos pares.
+     */
+    public List<SaldoEm> saldosEm(List<Long> contaIds, List<LocalDateTime> momentos) {
+        Timestamp[] ems = momentos.stream().map(Timestamp::valueOf).toArray(Timestamp[]::new);
+        return jdbcTemplate.query(SALDOS_EM, (rs, linha) -> {
+            boolean existe = rs.getObject(3) != null;
+            Timestamp data = rs.getTimestamp(6);
+            BigDecimal saldo = rs.getBigDecimal(4);
+            return new SaldoEm(rs.getLong(1), rs.getTimestamp(2).toLocalDateTime(), existe,
+                    existe ? (saldo != null ? saldo : BigDecimal.ZERO.setScale(2)) : null,
+                    rs.getObject(5, Long.class), data != null ? data.toLocalDateTime() : null);
+        }, contaIds.toArray(Long[]::new), ems);
+    }
+
+    /**
+     * Apaga os lançamentos das transações vindas do journal, antes de reprojetá-lo do início,
+     * e refaz os totais mensais com o que sobrou do razão.
+     */
+    public int removerDoJournal(JdbcTemplate jdbc) {
+        int removidos = jdbc.update(REMOVER_DO_JOURNAL);
+        extratoMensalJdbcRepository.reconstruir(jdbc);
+        return removidos;
+    }
+
+    private static Object[] lancamento(Map<Long, Posicao> posicoes, Map<ChaveMensal, TotalMensal> totais,
+                                       RegistroTransacao registro, Long contaId, Long transacaoId, BigDecimal valor) {
+        Posicao anterior = posicoes.getOrDefault(contaId, new Posicao(0, BigDecimal.ZERO));
+        Posicao atual = new Posicao(anterior.seq() + 1, anterior.saldo().add(valor));
+        posicoes.put(contaId, atual);
+
+        LocalDate competencia = registro.dataTransacao().toLocalDate().withDayOfMonth(1);
+        totais.merge(new ChaveMensal(contaId, competencia, registro.tipo()),
+                TotalMensal.de(contaId, competencia, registro.tipo(), atual.seq(), valor, anterior.saldo()),
+                TotalMensal::somar);
+        return new Object[] { contaId, atual.seq(), transacaoId, valor, atual.saldo(),
+                              Timestamp.valueOf(registro.dataTransacao()) };
+    }
+
+    private static Map<Long, Posicao> ultimasPosicoes(JdbcTemplate jdbc, Set<Long> contaIds) {
+        Map<Long, Posicao> posicoes = new HashMap<>();
+        new NamedParameterJdbcTemplate(jdbc).query(ULTIMOS_LANCAMENTOS,
+                new MapSqlParameterSource("ids", contaIds),
+                rs -> {
+                    posicoes.put(rs.getLong(1), new Posicao(rs.getLong(2), rs.getBigDecimal(3)));
+                });
+        return posicoes;
+    }
+}
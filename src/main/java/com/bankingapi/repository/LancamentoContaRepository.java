@@ -0,0 +1,31 @@
+package com.bankingapi.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.bankingapi.entity.LancamentoConta;
+
+@Repository
+public interface LancamentoContaRepository extends JpaRepository<LancamentoConta, LancamentoConta.Chave> {
+    
+    String RESUMO = "new com.bankingapi.repository.TransacaoResumo(t.id, t.tipo, t.valor, t.descricao, " +
+                    "t.dataTransacao, o.id, o.numero, d.id, d.numero, l.seq)";
+    
+    String LANCAMENTOS_COM_TRANSACAO = " FROM LancamentoConta l JOIN Transacao t ON t.id = l.transacaoId " +
+                                       "LEFT JOIN t.contaOrigem o LEFT JOIN t.contaDestino d ";
+    
+    // Histórico como faixa do índice (conta_id DESC, seq DESC): o ORDER BY inclui conta_id para o H2
+    // ler a faixa já ordenada e parar no limite, em vez de ordenar todos os lançamentos da conta
+    @Query("SELECT " + RESUMO + LANCAMENTOS_COM_TRANSACAO +
+           "WHERE l.contaId = :contaId AND l.seq < :seq ORDER BY l.contaId DESC, l.seq DESC")
+    List<TransacaoResumo> findPagina(@Param("contaId") Long contaId, @Param("seq") Long seq, Pageable pagina);
+    
+    @Query("SELECT " + RESUMO + LANCAMENTOS_COM_TRANSACAO +
+           "WHERE l.contaId = :contaId ORDER BY l.contaId DESC, l.seq DESC")
+    List<TransacaoResumo> findByContaId(@Param("contaId") Long contaId);
+}
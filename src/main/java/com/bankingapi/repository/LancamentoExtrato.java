@@ -0,0 +1,20 @@
+package com.bankingapi.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.bankingapi.enums.TipoTransacao;
+
+/**
+ * Lançamento do razão com o tipo e a descrição da transação, na ordem do extrato.
+ */
+public record LancamentoExtrato(
+        Long contaId,
+        long seq,
+        Long transacaoId,
+        TipoTransacao tipo,
+        String descricao,
+        BigDecimal valor,
+        BigDecimal saldoApos,
+        LocalDateTime dataLancamento) {
+}
@@ -0,0 +1,17 @@
+package com.bankingapi.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.bankingapi.entity.ProgressoExtrato;
+
+@Repository
+public interface ProgressoExtratoRepository extends JpaRepository<ProgressoExtrato, Long> {
+
+    List<ProgressoExtrato> findByCompetenciaOrderByParticao(LocalDate competencia);
+
+    void deleteByCompetencia(LocalDate competencia);
+}
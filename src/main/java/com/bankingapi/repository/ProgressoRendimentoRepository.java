@@ -0,0 +1,15 @@
+package com.bankingapi.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.bankingapi.entity.ProgressoRendimento;
+
+@Repository
+public interface ProgressoRendimentoRepository extends JpaRepository<ProgressoRendimento, Long> {
+
+    List<ProgressoRendimento> findByDataReferenciaOrderByParticao(LocalDate dataReferencia);
+}
@@ -0,0 +1,23 @@
+package com.bankingapi.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.bankingapi.enums.TipoTransacao;
+
+/**
+ * Linha de {@code transacoes} gravada diretamente via JDBC, sem passar pela entidade.
+ */
+public record RegistroTransacao(Long contaOrigemId,
+                                Long contaDestinoId,
+                                TipoTransacao tipo,
+                                BigDecimal valor,
+                                LocalDateTime dataTransacao,
+                                String descricao,
+                                Long journalSeq) {
+    
+    public RegistroTransacao(Long contaOrigemId, Long contaDestinoId, TipoTransacao tipo, 
+                             BigDecimal valor, LocalDateTime dataTransacao, String descricao) {
+        this(contaOrigemId, contaDestinoId, tipo, valor, dataTransacao, descricao, null);
+    }
+}
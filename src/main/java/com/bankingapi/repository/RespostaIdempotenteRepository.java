@@ -0,0 +1,21 @@
+package com.bankingapi.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bankingapi.entity.RespostaIdempotente;
+
+@Repository
+public interface RespostaIdempotenteRepository extends JpaRepository<RespostaIdempotente, String> {
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RespostaIdempotente r WHERE r.criadoEm < :limite")
+    int removerCriadasAntesDe(@Param("limite") LocalDateTime limite);
+}
@@ -0,0 +1,18 @@
+package com.bankingapi.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Saldo de uma conta calculado a partir das transações.
+ *
+ * @param ultimaTransacaoId     maior id de transação considerado (0 se nenhuma)
+ * @param eventos               total de transações da conta até {@code ultimaTransacaoId}
+ * @param eventosAposCheckpoint transações lidas além do último checkpoint
+ */
+public record SaldoDerivado(
+        Long contaId,
+        BigDecimal saldo,
+        long ultimaTransacaoId,
+        long eventos,
+        long eventosAposCheckpoint) {
+}
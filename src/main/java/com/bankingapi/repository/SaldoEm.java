@@ -0,0 +1,17 @@
+package com.bankingapi.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Saldo de uma conta em um momento, lido do último lançamento do razão até ele.
+ * Sem lançamento até o momento, {@code seq} e {@code dataLancamento} são nulos e o saldo é zero.
+ */
+public record SaldoEm(
+        Long contaId,
+        LocalDateTime em,
+        boolean contaExiste,
+        BigDecimal saldo,
+        Long seq,
+        LocalDateTime dataLancamento) {
+}
@@ -0,0 +1,129 @@
+package com.bankingapi.repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Consultas do modo de saldos por eventos: créditos entram pela conta de destino e
+ * débitos pela conta de origem de cada transação.
+ */
+@Repository
+public class SaldoEventosJdbcRepository {
+
+    private static final String EVENTOS =
+        "SELECT conta_destino_id AS conta_id, valor AS delta, id FROM transacoes WHERE conta_destino_id IN (:ids) " +
+        "UNION ALL " +
+        "SELECT conta_origem_id, -valor, id FROM transacoes WHERE conta_origem_id IN (:ids)";
+
+    private static final String DELTA_COMPLETO =
+        "SELECT e.conta_id, SUM(e.delta), COUNT(*), MAX(e.id) FROM (" + EVENTOS + ") e GROUP BY e.conta_id";
+
+    private static final String DELTA_APOS_CHECKPOINT =
+        "SELECT e.conta_id, SUM(e.delta), COUNT(*), MAX(e.id) FROM (" + EVENTOS + ") e " +
+        "LEFT JOIN checkpoints_saldo c ON c.conta_id = e.conta_id " +
+        "WHERE e.id > COALESCE(c.ultima_transacao_id, 0) GROUP BY e.conta_id";
+
+    private static final String CHECKPOINTS =
+        "SELECT conta_id, saldo, ultima_transacao_id, eventos FROM checkpoints_saldo WHERE conta_id IN (:ids)";
+
+    private static final String UPDATE_CHECKPOINT =
+        "UPDATE checkpoints_saldo SET saldo = ?, ultima_transacao_id = ?, eventos = ?, atualizado_em = ? " +
+        "WHERE conta_id = ?";
+
+    private static final String INSERT_CHECKPOINT =
+        "INSERT INTO checkpoints_saldo (conta_id, saldo, ultima_transacao_id, eventos, atualizado_em) " +
+        "VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * Calcula o saldo das contas. Com {@code aPartirDoCheckpoint}, lê só as transações
+     * posteriores ao checkpoint de cada conta; sem, refaz o histórico inteiro.
+     */
+    public Map<Long, SaldoDerivado> calcular(Collection<Long> contaIds, boolean aPartirDoCheckpoint) {
+        Map<Long, SaldoDerivado> saldos = new HashMap<>();
+        if (contaIds.isEmpty()) {
+            return saldos;
+        }
+
+        MapSqlParameterSource parametros = new MapSqlParameterSource("ids", contaIds);
+        for (Long contaId : contaIds) {
+            saldos.put(contaId, new SaldoDerivado(contaId, BigDecimal.ZERO, 0, 0, 0));
+        }
+        if (aPartirDoCheckpoint) {
+            namedJdbcTemplate.query(CHECKPOINTS, parametros, rs -> {
+                long contaId = rs.getLong(1);
+                saldos.put(contaId, new SaldoDerivado(contaId, rs.getBigDecimal(2), rs.getLong(3), rs.getLong(4), 0));
+            });
+        }
+
+        namedJdbcTemplate.query(aPartirDoCheckpoint ? DELTA_APOS_CHECKPOINT : DELTA_COMPLETO, parametros, rs -> {
+            long contaId = rs.getLong(1);
+            SaldoDerivado base = saldos.get(contaId);
+            long eventos = rs.getLong(3);
+            saldos.put(contaId, new SaldoDerivado(contaId, base.saldo().add(rs.getBigDecimal(2)),
+                                                  rs.getLong(4), base.eventos() + eventos, eventos));
+        });
+        return saldos;
+    }
+
+    public void gravarCheckpoints(Collection<SaldoDerivado> saldos) {
+        List<SaldoDerivado> comEventos = saldos.stream().filter(s -> s.eventos() > 0).toList();
+        if (comEventos.isEmpty()) {
+            return;
+        }
+
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        int[][] atualizados = jdbcTemplate.batchUpdate(UPDATE_CHECKPOINT, comEventos, comEventos.size(),
+            (ps, saldo) -> {
+                ps.setBigDecimal(1, saldo.saldo());
+                ps.setLong(2, saldo.ultimaTransacaoId());
+                ps.setLong(3, saldo.eventos());
+                ps.setTimestamp(4, agora);
+                ps.setLong(5, saldo.contaId());
+            });
+
+        List<SaldoDerivado> novos = new ArrayList<>();
+        for (int i = 0; i < comEventos.size(); i++) {
+            if (atualizados[0][i] == 0) {
+                novos.add(comEventos.get(i));
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_CHECKPOINT, novos, Math.max(novos.size(), 1), (ps, saldo) -> {
+            ps.setLong(1, saldo.contaId());
+            ps.setBigDecimal(2, saldo.saldo());
+            ps.setLong(3, saldo.ultimaTransacaoId());
+            ps.setLong(4, saldo.eventos());
+            ps.setTimestamp(5, agora);
+        });
+    }
+
+    public Map<Long, BigDecimal> saldosGravados(Collection<Long> contaIds) {
+        Map<Long, BigDecimal> saldos = new HashMap<>();
+        namedJdbcTemplate.query("SELECT id, saldo FROM contas_bancarias WHERE id IN (:ids)",
+            new MapSqlParameterSource("ids", contaIds), rs -> {
+                saldos.put(rs.getLong(1), rs.getBigDecimal(2));
+            });
+        return saldos;
+    }
+
+    public List<Long> idsDeContas() {
+        return jdbcTemplate.queryForList("SELECT id FROM contas_bancarias ORDER BY id", Long.class);
+    }
+}
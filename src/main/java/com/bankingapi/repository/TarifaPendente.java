@@ -0,0 +1,15 @@
+package com.bankingapi.repository;
+
+/**
+ * Conta corrente ainda sem a tarifa de manutenção da competência, com valores em centavos.
+ */
+public record TarifaPendente(
+        long contaId,
+        long saldoCentavos,
+        long taxaCentavos) {
+
+    // Mesma regra da validação de ContaBancaria.saldo: a tarifa não deixa o saldo negativo
+    public boolean temSaldo() {
+        return saldoCentavos >= taxaCentavos;
+    }
+}
@@ -0,0 +1,43 @@
+package com.bankingapi.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.bankingapi.enums.TipoTransacao;
+
+/**
+ * Linha de {@code extratos_mensais}: totais de uma conta em uma competência para um tipo de
+ * transação. Também é a parcela que um lote de lançamentos soma à linha gravada.
+ */
+public record TotalMensal(
+        Long contaId,
+        LocalDate competencia,
+        TipoTransacao tipo,
+        long quantidade,
+        BigDecimal entradas,
+        BigDecimal saidas,
+        long seqInicial,
+        long seqFinal,
+        BigDecimal saldoInicial,
+        BigDecimal saldoFinal) {
+
+    /**
+     * Parcela de um único lançamento: {@code valor} com sinal, {@code saldoAnterior} antes dele.
+     */
+    public static TotalMensal de(Long contaId, LocalDate competencia, TipoTransacao tipo, long seq,
+                                 BigDecimal valor, BigDecimal saldoAnterior) {
+        BigDecimal zero = BigDecimal.ZERO.setScale(2);
+        return new TotalMensal(contaId, competencia, tipo, 1,
+                valor.signum() > 0 ? valor : zero, valor.signum() < 0 ? valor.negate() : zero,
+                seq, seq, saldoAnterior, saldoAnterior.add(valor));
+    }
+
+    /**
+     * Soma dos totais com os de lançamentos posteriores da mesma conta, competência e tipo.
+     */
+    public TotalMensal somar(TotalMensal seguinte) {
+        return new TotalMensal(contaId, competencia, tipo, quantidade + seguinte.quantidade,
+                entradas.add(seguinte.entradas), saidas.add(seguinte.saidas),
+                seqInicial, seguinte.seqFinal, saldoInicial, seguinte.saldoFinal);
+    }
+}
@@ -0,0 +1,20 @@
+package com.bankingapi.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.bankingapi.enums.TipoTransacao;
+
+/**
+ * Linha da exportação colunar de transações. Só os ids das contas, lidos da chave
+ * estrangeira, sem juntar as contas.
+ */
+public record TransacaoExportacao(
+        Long id,
+        LocalDateTime dataTransacao,
+        TipoTransacao tipo,
+        BigDecimal valor,
+        Long contaOrigemId,
+        Long contaDestinoId,
+        String descricao) {
+}
@@ -0,0 +1,88 @@
+package com.bankingapi.repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class TransacaoJdbcRepository {
+    
+    private static final String INSERT_TRANSACAO = 
+        "INSERT INTO transacoes (id, conta_origem_id, conta_destino_id, tipo, valor, data_transacao, descricao, journal_seq) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String FAIXAS_CONFIRMADAS =
+        "SELECT seq_inicial, seq_final FROM journal_confirmacoes WHERE seq_final >= ? AND seq_inicial <= ? ORDER BY seq_inicial";
+    
+    public static final String SEQUENCIA = "transacoes_seq";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private AlocadorIds alocadorIds;
+    
+    @Autowired
+    private LancamentoContaJdbcRepository lancamentoContaJdbcRepository;
+    
+    public void inserirEmLote(List<RegistroTransacao> registros) {
+        inserirEmLote(jdbcTemplate, registros);
+    }
+    
+    /**
+     * Mesmo lote, por outra conexão (inclusive a leitura da sequence). Os lançamentos das
+     * contas em {@code lancamentos_conta} vão pela mesma conexão.
+     */
+    public void inserirEmLote(JdbcTemplate jdbc, List<RegistroTransacao> registros) {
+        if (registros.isEmpty()) {
+            return;
+        }
+        
+        // O setter é chamado na ordem da lista, então ids acompanha os registros
+        List<Long> ids = new ArrayList<>(registros.size());
+        jdbc.batchUpdate(INSERT_TRANSACAO, registros, registros.size(), (ps, registro) -> {
+            long id = alocadorIds.proximoId(SEQUENCIA, jdbc);
+            ids.add(id);
+            ps.setLong(1, id);
+            ps.setObject(2, registro.contaOrigemId(), Types.BIGINT);
+            ps.setObject(3, registro.contaDestinoId(), Types.BIGINT);
+            ps.setString(4, registro.tipo().name());
+            ps.setBigDecimal(5, registro.valor());
+            ps.setTimestamp(6, Timestamp.valueOf(registro.dataTransacao()));
+            ps.setString(7, registro.descricao());
+            ps.setObject(8, registro.journalSeq(), Types.BIGINT);
+        });
+        lancamentoContaJdbcRepository.lancar(jdbc, registros, ids);
+    }
+    
+    public long ultimaJournalSeq() {
+        Long ultima = jdbcTemplate.queryForObject("SELECT MAX(journal_seq) FROM transacoes", Long.class);
+        return ultima != null ? ultima : 0;
+    }
+    
+    /**
+     * Grava a faixa do journal na transação corrente; só existe depois do commit dela.
+     */
+    public void confirmarFaixaJournal(FaixaJournal faixa) {
+        jdbcTemplate.update("INSERT INTO journal_confirmacoes (seq_inicial, seq_final) VALUES (?, ?)",
+                faixa.primeira(), faixa.ultima());
+    }
+    
+    /**
+     * Faixas confirmadas que tocam {@code de..ate}, em ordem.
+     */
+    public List<FaixaJournal> faixasConfirmadasDoJournal(long de, long ate) {
+        return jdbcTemplate.query(FAIXAS_CONFIRMADAS,
+                (rs, i) -> new FaixaJournal(rs.getLong(1), rs.getLong(2)), de, ate);
+    }
+    
+    public int removerProjetadasDoJournal() {
+        lancamentoContaJdbcRepository.removerDoJournal(jdbcTemplate);
+        return jdbcTemplate.update("DELETE FROM transacoes WHERE journal_seq IS NOT NULL");
+    }
+}
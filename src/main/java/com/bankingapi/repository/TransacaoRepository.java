@@ -1,9 +1,13 @@
 package com.bankingapi.repository;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -11,17 +15,26 @@ import com.bankingapi.entity.ContaBancaria;
 import com.bankingapi.entity.Transacao;
 import com.bankingapi.enums.TipoTransacao;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface TransacaoRepository extends JpaRepository<Transacao, Long> {
     
     @Query("SELECT t FROM Transacao t WHERE t.contaOrigem = :conta OR t.contaDestino = :conta ORDER BY t.dataTransacao DESC")
     List<Transacao> findByContaOrderByDataTransacaoDesc(@Param("conta") ContaBancaria conta);
     
-    @Query("SELECT t FROM Transacao t WHERE t.contaOrigem.id = :contaId OR t.contaDestino.id = :contaId ORDER BY t.dataTransacao DESC")
-    List<Transacao> findByContaIdOrderByDataTransacaoDesc(@Param("contaId") Long contaId);
-    
     List<Transacao> findByTipo(TipoTransacao tipo);
     
     @Query("SELECT t FROM Transacao t WHERE t.contaOrigem.id = :contaId OR t.contaDestino.id = :contaId")
     List<Transacao> findByContaId(@Param("contaId") Long contaId);
+    
+    // Exportação colunar: cursor em ordem de id, retomável a partir do último id exportado
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.bankingapi.repository.TransacaoExportacao(t.id, t.dataTransacao, t.tipo, t.valor, " +
+           "t.contaOrigem.id, t.contaDestino.id, t.descricao) " +
+           "FROM Transacao t WHERE t.id > :aposId ORDER BY t.id")
+    Stream<TransacaoExportacao> streamParaExportacao(@Param("aposId") Long aposId);
 }
@@ -0,0 +1,24 @@
+package com.bankingapi.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.bankingapi.enums.TipoTransacao;
+
+/**
+ * Linha do histórico de transações lida por projeção: id e número das contas vêm do
+ * mesmo SELECT, sem inicializar as contas {@code LAZY} nem o cliente {@code EAGER} delas.
+ * {@code seq} é a posição da transação no razão da conta consultada.
+ */
+public record TransacaoResumo(
+        Long id,
+        TipoTransacao tipo,
+        BigDecimal valor,
+        String descricao,
+        LocalDateTime dataTransacao,
+        Long contaOrigemId,
+        String numeroContaOrigem,
+        Long contaDestinoId,
+        String numeroContaDestino,
+        Long seq) {
+}
@@ -1,12 +1,16 @@
 package com.bankingapi.service;
 
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.bankingapi.cache.CacheContas;
+import com.bankingapi.cache.IndiceClientes;
 import com.bankingapi.dto.NovaContaDTO;
 import com.bankingapi.dto.OperacaoDTO;
 import com.bankingapi.dto.TransferenciaDTO;
@@ -18,19 +22,20 @@ import com.bankingapi.entity.Transacao;
 import com.bankingapi.enums.TipoTransacao;
 import com.bankingapi.exception.BusinessException;
 import com.bankingapi.exception.NotFoundException;
-import com.bankingapi.repository.ClienteRepository;
+import com.bankingapi.lock.ContaLockManager;
 import com.bankingapi.repository.ContaBancariaRepository;
 import com.bankingapi.repository.TransacaoRepository;
 import com.bankingapi.service.interfaces.IBancoService;
+import com.bankingapi.utils.Cpf;
 import com.bankingapi.utils.CsvExporter;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
 @Service
 @Transactional
 public class BancoService implements IBancoService {
     
-    @Autowired
-    private ClienteRepository clienteRepository;
-    
     @Autowired
     private ContaBancariaRepository contaBancariaRepository;
     
@@ -40,6 +45,24 @@ public class BancoService implements IBancoService {
     @Autowired
     private CsvExporter csvExporter;
     
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private ContaLockManager contaLockManager;
+    
+    @Autowired
+    private GeradorNumeroConta geradorNumeroConta;
+    
+    @Autowired
+    private RegistradorTransacoes registradorTransacoes;
+    
+    @Autowired
+    private CacheContas cacheContas;
+    
+    @Autowired
+    private IndiceClientes indiceClientes;
+    
     @Override
     @Transactional(readOnly = true)
     public List<ContaBancaria> listarContas() {
@@ -55,16 +78,12 @@ public class BancoService implements IBancoService {
     
     @Override
     public ContaBancaria criarConta(NovaContaDTO dto) {
-        validarCpf(dto.getCpfCliente());
-        
-        Cliente cliente = clienteRepository.findByCpf(dto.getCpfCliente())
-                .orElse(new Cliente(dto.getNomeCliente(), dto.getCpfCliente()));
+        Cpf.validar(dto.getCpfCliente());
         
-        if (cliente.getId() == null) {
-            cliente = clienteRepository.save(cliente);
-        }
+        Cliente cliente = indiceClientes.buscarOuCriar(dto.getCpfCliente(),
+                () -> new Cliente(dto.getNomeCliente(), dto.getCpfCliente()));
         
-        String numeroConta = gerarNumeroConta();
+        String numeroConta = geradorNumeroConta.proximoNumero();
         
         ContaBancaria conta = criarContaEspecifica(dto.getTipoConta(), numeroConta, cliente, dto.getSaldoInicial());
         conta = contaBancariaRepository.save(conta);
@@ -79,6 +98,7 @@ public class BancoService implements IBancoService {
     
     @Override
     public void depositar(Long contaId, OperacaoDTO dto) {
+        contaLockManager.bloquearAteFimDaTransacao(contaId);
         ContaBancaria conta = buscarConta(contaId);
         
         conta.depositar(dto.getValor());
@@ -86,10 +106,12 @@ public class BancoService implements IBancoService {
         
         registrarTransacao(null, conta, TipoTransacao.DEPOSITO, 
                          dto.getValor(), dto.getDescricao());
+        cacheContas.invalidarAposCommit(contaId);
     }
     
     @Override
     public void sacar(Long contaId, OperacaoDTO dto) {
+        contaLockManager.bloquearAteFimDaTransacao(contaId);
         ContaBancaria conta = buscarConta(contaId);
         
         conta.sacar(dto.getValor());
@@ -97,6 +119,7 @@ public class BancoService implements IBancoService {
         
         registrarTransacao(conta, null, TipoTransacao.SAQUE, 
                          dto.getValor(), dto.getDescricao());
+        cacheContas.invalidarAposCommit(contaId);
     }
     
     @Override
@@ -106,6 +129,7 @@ public class BancoService implements IBancoService {
                 "Conta origem e destino não podem ser iguais");
         }
         
+        contaLockManager.bloquearAteFimDaTransacao(dto.getContaOrigemId(), dto.getContaDestinoId());
         ContaBancaria contaOrigem = buscarConta(dto.getContaOrigemId());
         ContaBancaria contaDestino = buscarConta(dto.getContaDestinoId());
         
@@ -122,6 +146,7 @@ public class BancoService implements IBancoService {
         
         registrarTransacao(contaOrigem, contaDestino, TipoTransacao.TRANSFERENCIA, 
                          dto.getValor(), dto.getDescricao());
+        cacheContas.invalidarAposCommit(dto.getContaOrigemId(), dto.getContaDestinoId());
     }
     
     @Override
@@ -133,19 +158,26 @@ public class BancoService implements IBancoService {
     
     @Override
     @Transactional(readOnly = true)
-    public String exportar() {
-        List<ContaBancaria> contas = contaBancariaRepository.findAll();
-        return csvExporter.exportarContas(contas);
+    public void exportar(Writer writer) {
+        // Desanexa cada linha lida para o contexto de persistência não crescer com o arquivo
+        try (Stream<ContaBancaria> contas = contaBancariaRepository.streamTodasComCliente()) {
+            csvExporter.escreverContas(contas.peek(conta -> {
+                entityManager.detach(conta);
+                entityManager.detach(conta.getCliente());
+            }), writer);
+        }
     }
     
     @Override
     public void alterarLimiteCredito(Long contaId, BigDecimal novoLimite) {
+        contaLockManager.bloquearAteFimDaTransacao(contaId);
         ContaBancaria conta = buscarConta(contaId);
         
         if (conta instanceof ContaCorrente) {
             ContaCorrente contaCorrente = (ContaCorrente) conta;
             contaCorrente.setLimiteCredito(novoLimite);
             contaBancariaRepository.save(contaCorrente);
+            cacheContas.invalidarAposCommit(contaId);
         } else {
             throw new BusinessException("LIMIT_NOT_SUPPORTED", 
                 "Limite de crédito disponível apenas para Conta Corrente");
@@ -193,26 +225,6 @@ public class BancoService implements IBancoService {
     private void registrarTransacao(ContaBancaria origem, ContaBancaria destino, 
                                   TipoTransacao tipo, BigDecimal valor, String descricao) {
         Transacao transacao = new Transacao(origem, destino, tipo, valor, descricao);
-        transacaoRepository.save(transacao);
-    }
-    
-    private String gerarNumeroConta() {
-        String numero;
-        do {
-            long timestamp = System.currentTimeMillis();
-            numero = String.format("%010d", timestamp % 10000000000L);
-        } while (contaBancariaRepository.existsByNumero(numero));
-        
-        return numero;
-    }
-    
-    private void validarCpf(String cpf) {
-        if (cpf == null || cpf.length() != 11 || !cpf.matches("\\d{11}")) {
-            throw new BusinessException("INVALID_CPF", "CPF deve conter exatamente 11 dígitos numéricos");
-        }
-        
-        if (cpf.matches("(\\d)\\1{10}")) {
-            throw new BusinessException("INVALID_CPF", "CPF inválido");
-        }
+        registradorTransacoes.registrar(transacao);
     }
 }
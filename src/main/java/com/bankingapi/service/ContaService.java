@@ -1,15 +1,27 @@
 package com.bankingapi.service;
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Random;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import com.bankingapi.cache.CacheContas;
+import com.bankingapi.cache.IndiceClientes;
 import com.bankingapi.dto.ClienteResponseDTO;
 import com.bankingapi.dto.ContaBancariaRequestDTO;
 import com.bankingapi.dto.ContaBancariaResponseDTO;
+import com.bankingapi.dto.CursorHistorico;
+import com.bankingapi.dto.HistoricoPaginadoDTO;
 import com.bankingapi.dto.TransacaoRequestDTO;
 import com.bankingapi.dto.TransacaoResponseDTO;
 import com.bankingapi.dto.TransferenciaRequestDTO;
@@ -20,40 +32,71 @@ import com.bankingapi.entity.ContaCorrente;
 import com.bankingapi.entity.ContaPoupanca;
 import com.bankingapi.entity.Transacao;
 import com.bankingapi.enums.TipoTransacao;
+import com.bankingapi.eventos.SaldosEventos;
 import com.bankingapi.exception.BusinessException;
 import com.bankingapi.exception.NotFoundException;
-import com.bankingapi.repository.ClienteRepository;
+import com.bankingapi.lock.ContaLockManager;
 import com.bankingapi.repository.ContaBancariaRepository;
-import com.bankingapi.repository.TransacaoRepository;
+import com.bankingapi.repository.ContaExportacao;
+import com.bankingapi.repository.ContaResumo;
+import com.bankingapi.repository.LancamentoContaRepository;
+import com.bankingapi.repository.TransacaoResumo;
 import com.bankingapi.service.interfaces.IContaService;
+import com.bankingapi.utils.CsvExporter;
 
+import io.micrometer.core.annotation.Timed;
+
+@Timed("banking.servico.contas")
 @Service
 @Transactional
 public class ContaService implements IContaService {
     
+    private static final int TAMANHO_BUFFER_CSV = 64 * 1024;
+    
     @Autowired
     private ContaBancariaRepository contaBancariaRepository;
     
     @Autowired
-    private ClienteRepository clienteRepository;
+    private LancamentoContaRepository lancamentoContaRepository;
+    
+    @Autowired
+    private ContaLockManager contaLockManager;
+    
+    @Autowired
+    private GeradorNumeroConta geradorNumeroConta;
+    
+    @Autowired
+    private RegistradorTransacoes registradorTransacoes;
+    
+    @Autowired
+    private SaldosEventos saldosEventos;
+    
+    @Autowired
+    private CsvExporter csvExporter;
     
     @Autowired
-    private TransacaoRepository transacaoRepository;
+    private CacheContas cacheContas;
+    
+    @Autowired
+    private IndiceClientes indiceClientes;
+    
+    @Value("${banking.historico.limite-padrao:50}")
+    private int limitePadraoHistorico;
+    
+    @Value("${banking.historico.limite-maximo:500}")
+    private int limiteMaximoHistorico;
     
     public ContaBancariaResponseDTO criarConta(ContaBancariaRequestDTO request) {
-        Cliente cliente = clienteRepository.findByCpf(request.getCpfCliente())
-                .orElse(null);
-        
-        if (cliente == null) {
-            cliente = new Cliente();
-            cliente.setNome(request.getNomeCliente());
-            cliente.setCpf(request.getCpfCliente());
-            cliente.setDataCriacao(LocalDateTime.now());
-            cliente = clienteRepository.save(cliente);
-        }
+        Cliente cliente = indiceClientes.buscarOuCriar(request.getCpfCliente(), () -> {
+            Cliente novo = new Cliente();
+            novo.setNome(request.getNomeCliente());
+            novo.setCpf(request.getCpfCliente());
+            novo.setDataCriacao(LocalDateTime.now());
+            return novo;
+        });
         
         ContaBancaria conta = criarContaEspecifica(request.getTipoConta(), 
-                                                 gerarNumeroConta(), 
+                                                 geradorNumeroConta.proximoNumero(), 
                                                  cliente, 
                                                  request.getSaldoInicial());
         conta = contaBancariaRepository.save(conta);
@@ -66,32 +109,66 @@ public class ContaService implements IContaService {
         return convertToResponseDTO(conta);
     }
     
+    // Leituras por projeção (ContaResumo): nenhuma entidade entra no contexto de persistência
+    @Transactional(readOnly = true)
     public List<ContaBancariaResponseDTO> listarContas() {
-        return contaBancariaRepository.findByAtivaTrue()
+        List<ContaBancariaResponseDTO> contas = contaBancariaRepository.listarResumosAtivos()
                 .stream()
                 .map(this::convertToResponseDTO)
                 .collect(Collectors.toList());
+        saldosEventos.aplicarSaldosDerivados(contas);
+        return contas;
     }
     
+    // Sem transação própria: um acerto no cache não abre conexão
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ContaBancariaResponseDTO buscarConta(Long id) {
-        ContaBancaria conta = contaBancariaRepository.findByIdAndAtivaTrue(id)
+        return cacheContas.buscar(id, this::carregarConta);
+    }
+    
+    private ContaBancariaResponseDTO carregarConta(Long id) {
+        ContaResumo conta = contaBancariaRepository.buscarResumoAtivo(id)
                 .orElseThrow(() -> new NotFoundException("Conta não encontrada: " + id));
-        return convertToResponseDTO(conta);
+        ContaBancariaResponseDTO dto = convertToResponseDTO(conta);
+        saldosEventos.aplicarSaldosDerivados(List.of(dto));
+        return dto;
     }
     
+    /**
+     * Uma página do histórico, da transação mais recente para a mais antiga. Cada página
+     * lê até {@code limit + 1} lançamentos do razão da conta, uma faixa de índice a partir do
+     * cursor, então o custo não depende da profundidade do cursor. As linhas são projeções
+     * com o número das contas, então a página custa um número fixo de statements: a
+     * checagem da conta e a consulta.
+     */
     @Transactional(readOnly = true)
-    public List<TransacaoResponseDTO> buscarHistorico(Long contaId) {
-        buscarContaPorId(contaId);
+    public HistoricoPaginadoDTO buscarHistorico(Long contaId, String cursor, Integer limit) {
+        if (!contaBancariaRepository.existsByIdAndAtivaTrue(contaId)) {
+            throw new NotFoundException("Conta não encontrada: " + contaId);
+        }
         
-        List<Transacao> transacoes = transacaoRepository.findByContaIdOrderByDataTransacaoDesc(contaId);
+        int tamanho = limit != null ? limit : limitePadraoHistorico;
+        if (tamanho < 1 || tamanho > limiteMaximoHistorico) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + limiteMaximoHistorico);
+        }
+        CursorHistorico posicao = cursor != null ? CursorHistorico.decodificar(cursor) : CursorHistorico.INICIO;
         
-        return transacoes.stream()
-                .map(this::convertToTransacaoResponseDTO)
-                .collect(Collectors.toList());
+        List<TransacaoResumo> transacoes = lancamentoContaRepository.findPagina(
+                contaId, posicao.seq(), PageRequest.of(0, tamanho + 1));
+        String nextCursor = null;
+        if (transacoes.size() > tamanho) {
+            transacoes = transacoes.subList(0, tamanho);
+            nextCursor = new CursorHistorico(transacoes.get(tamanho - 1).seq()).codificar();
+        }
+        
+        return new HistoricoPaginadoDTO(
+                transacoes.stream().map(this::convertToTransacaoResponseDTO).collect(Collectors.toList()),
+                tamanho, nextCursor);
     }
     
     public ContaBancariaResponseDTO depositar(Long contaId, TransacaoRequestDTO request) {
-        ContaBancaria conta = buscarContaPorId(contaId);
+        contaLockManager.bloquearAteFimDaTransacao(contaId);
+        ContaBancaria conta = buscarContaParaMovimentacao(contaId);
         
         conta.depositar(request.getValor());
         conta = contaBancariaRepository.save(conta);
@@ -99,11 +176,14 @@ public class ContaService implements IContaService {
         registrarTransacao(null, conta, TipoTransacao.DEPOSITO, 
             request.getValor(), request.getDescricao());
         
-        return convertToResponseDTO(conta);
+        ContaBancariaResponseDTO dto = convertToResponseDTO(conta);
+        cacheContas.atualizarAposCommit(dto);
+        return dto;
     }
     
     public ContaBancariaResponseDTO sacar(Long contaId, TransacaoRequestDTO request) {
-        ContaBancaria conta = buscarContaPorId(contaId);
+        contaLockManager.bloquearAteFimDaTransacao(contaId);
+        ContaBancaria conta = buscarContaParaMovimentacao(contaId);
         
         conta.sacar(request.getValor());
         conta = contaBancariaRepository.save(conta);
@@ -111,17 +191,20 @@ public class ContaService implements IContaService {
         registrarTransacao(conta, null, TipoTransacao.SAQUE, 
             request.getValor(), request.getDescricao());
         
-        return convertToResponseDTO(conta);
+        ContaBancariaResponseDTO dto = convertToResponseDTO(conta);
+        cacheContas.atualizarAposCommit(dto);
+        return dto;
     }
     
     public TransferenciaResponseDTO transferir(TransferenciaRequestDTO request) {
-        ContaBancaria contaOrigem = buscarContaPorId(request.getContaOrigemId());
-        ContaBancaria contaDestino = buscarContaPorId(request.getContaDestinoId());
-        
         if (request.getContaOrigemId().equals(request.getContaDestinoId())) {
             throw new BusinessException("Conta origem e destino não podem ser iguais");
         }
         
+        contaLockManager.bloquearAteFimDaTransacao(request.getContaOrigemId(), request.getContaDestinoId());
+        ContaBancaria contaOrigem = buscarContaParaMovimentacao(request.getContaOrigemId());
+        ContaBancaria contaDestino = buscarContaParaMovimentacao(request.getContaDestinoId());
+        
         contaOrigem.sacar(request.getValor());
         contaDestino.depositar(request.getValor());
         
@@ -134,6 +217,7 @@ public class ContaService implements IContaService {
         TransferenciaResponseDTO response = new TransferenciaResponseDTO();
         response.setContaOrigem(convertToResponseDTO(contaOrigem));
         response.setContaDestino(convertToResponseDTO(contaDestino));
+        cacheContas.atualizarAposCommit(response.getContaOrigem(), response.getContaDestino());
         response.setValor(request.getValor());
         response.setDescricao(request.getDescricao());
         response.setDataTransferencia(LocalDateTime.now());
@@ -141,30 +225,24 @@ public class ContaService implements IContaService {
         return response;
     }
     
+    @Transactional(readOnly = true)
     public List<TransacaoResponseDTO> listarTransacoes(Long contaId) {
-        return transacaoRepository.findByContaIdOrderByDataTransacaoDesc(contaId)
+        return lancamentoContaRepository.findByContaId(contaId)
                 .stream()
                 .map(this::convertToTransacaoResponseDTO)
                 .collect(Collectors.toList());
     }
     
-    public String exportarContasCSV() {
-        List<ContaBancaria> contas = contaBancariaRepository.findByAtivaTrue();
-        
-        StringBuilder csv = new StringBuilder();
-        csv.append("ID,Numero,Saldo,Cliente,CPF,Data Criacao\n");
-        
-        for (ContaBancaria conta : contas) {
-            csv.append(conta.getId()).append(",")
-               .append(conta.getNumero()).append(",")
-               .append(conta.getSaldo()).append(",")
-               .append(conta.getCliente().getNome()).append(",")
-               .append(conta.getCliente().getCpf()).append(",")
-               .append(conta.getDataCriacao())
-               .append("\n");
+    /**
+     * Escreve o CSV das contas ativas direto na saída, lendo do banco por cursor;
+     * a memória usada não depende da quantidade de contas.
+     */
+    @Transactional(readOnly = true)
+    public void exportarContasCSV(OutputStream saida) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER_CSV);
+        try (Stream<ContaExportacao> contas = contaBancariaRepository.streamContasAtivasParaExportacao()) {
+            csvExporter.escreverContasAtivas(contas, writer);
         }
-        
-        return csv.toString();
     }
     
     private ContaBancaria criarContaEspecifica(String tipoConta, String numero, 
@@ -188,13 +266,11 @@ public class ContaService implements IContaService {
                 .orElseThrow(() -> new NotFoundException("Conta não encontrada: " + id));
     }
     
-    private String gerarNumeroConta() {
-        Random random = new Random();
-        String numero;
-        do {
-            numero = String.format("%08d", random.nextInt(100000000));
-        } while (contaBancariaRepository.findByNumero(numero).isPresent());
-        return numero;
+    // Para movimentações: o lock da conta já deve estar adquirido
+    private ContaBancaria buscarContaParaMovimentacao(Long id) {
+        ContaBancaria conta = buscarContaPorId(id);
+        saldosEventos.sincronizar(conta);
+        return conta;
     }
     
     private void registrarTransacao(ContaBancaria origem, ContaBancaria destino, 
@@ -206,10 +282,10 @@ public class ContaService implements IContaService {
         transacao.setValor(valor);
         transacao.setDescricao(descricao);
         transacao.setDataTransacao(LocalDateTime.now());
-        transacaoRepository.save(transacao);
+        registradorTransacoes.registrar(transacao);
     }
     
-    private ContaBancariaResponseDTO convertToResponseDTO(ContaBancaria conta) {
+    protected ContaBancariaResponseDTO convertToResponseDTO(ContaBancaria conta) {
         ContaBancariaResponseDTO dto = new ContaBancariaResponseDTO();
         dto.setId(conta.getId());
         dto.setNumero(conta.getNumero());
@@ -229,24 +305,20 @@ public class ContaService implements IContaService {
         return dto;
     }
     
-    private TransacaoResponseDTO convertToTransacaoResponseDTO(Transacao transacao) {
-        TransacaoResponseDTO dto = new TransacaoResponseDTO();
-        dto.setId(transacao.getId());
-        dto.setTipo(transacao.getTipo());
-        dto.setValor(transacao.getValor());
-        dto.setDescricao(transacao.getDescricao());
-        dto.setDataTransacao(transacao.getDataTransacao());
-        
-        if (transacao.getContaOrigem() != null) {
-            dto.setContaOrigemId(transacao.getContaOrigem().getId());
-            dto.setNumeroContaOrigem(transacao.getContaOrigem().getNumero());
-        }
-        
-        if (transacao.getContaDestino() != null) {
-            dto.setContaDestinoId(transacao.getContaDestino().getId());
-            dto.setNumeroContaDestino(transacao.getContaDestino().getNumero());
-        }
-        
+    protected ContaBancariaResponseDTO convertToResponseDTO(ContaResumo conta) {
+        ClienteResponseDTO cliente = new ClienteResponseDTO(conta.clienteId(), conta.nomeCliente(),
+                                                            conta.cpfCliente(), conta.dataCriacaoCliente());
+        return new ContaBancariaResponseDTO(conta.id(), conta.numero(), conta.saldo(), conta.ativa(),
+                                            conta.dataCriacao(), cliente);
+    }
+    
+    private TransacaoResponseDTO convertToTransacaoResponseDTO(TransacaoResumo transacao) {
+        TransacaoResponseDTO dto = new TransacaoResponseDTO(transacao.id(), transacao.tipo(), transacao.valor(),
+                                                            transacao.descricao(), transacao.dataTransacao());
+        dto.setContaOrigemId(transacao.contaOrigemId());
+        dto.setNumeroContaOrigem(transacao.numeroContaOrigem());
+        dto.setContaDestinoId(transacao.contaDestinoId());
+        dto.setNumeroContaDestino(transacao.numeroContaDestino());
         return dto;
     }
 }
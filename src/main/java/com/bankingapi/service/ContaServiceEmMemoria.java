@@ -0,0 +1,72 @@
+package com.bankingapi.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bankingapi.dto.ContaBancariaResponseDTO;
+import com.bankingapi.dto.TransacaoRequestDTO;
+import com.bankingapi.dto.TransferenciaRequestDTO;
+import com.bankingapi.dto.TransferenciaResponseDTO;
+import com.bankingapi.engine.MotorSaldos;
+import com.bankingapi.engine.MotorSaldos.ResultadoTransferencia;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Variante do {@link ContaService} ativada por banking.engine.modo=memoria: depósito, saque,
+ * transferência e consulta de conta passam pelo {@link MotorSaldos}, sem transação JPA.
+ * Os demais métodos continuam lendo do banco, que reflete o motor com o atraso da
+ * persistência write-behind.
+ */
+@Timed("banking.servico.contas")
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "banking.engine", name = "modo", havingValue = "memoria")
+public class ContaServiceEmMemoria extends ContaService {
+    
+    @Autowired
+    private MotorSaldos motorSaldos;
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ContaBancariaResponseDTO buscarConta(Long id) {
+        return motorSaldos.consultar(id, this::convertToResponseDTO);
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ContaBancariaResponseDTO depositar(Long contaId, TransacaoRequestDTO request) {
+        return motorSaldos.depositar(contaId, request.getValor(), request.getDescricao(), 
+                                     this::convertToResponseDTO);
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ContaBancariaResponseDTO sacar(Long contaId, TransacaoRequestDTO request) {
+        return motorSaldos.sacar(contaId, request.getValor(), request.getDescricao(), 
+                                 this::convertToResponseDTO);
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TransferenciaResponseDTO transferir(TransferenciaRequestDTO request) {
+        ResultadoTransferencia<ContaBancariaResponseDTO> resultado = motorSaldos.transferir(
+                request.getContaOrigemId(), request.getContaDestinoId(), request.getValor(), 
+                request.getDescricao(), this::convertToResponseDTO);
+        
+        TransferenciaResponseDTO response = new TransferenciaResponseDTO();
+        response.setContaOrigem(resultado.origem());
+        response.setContaDestino(resultado.destino());
+        response.setValor(request.getValor());
+        response.setDescricao(request.getDescricao());
+        response.setDataTransferencia(LocalDateTime.now());
+        
+        return response;
+    }
+}
@@ -0,0 +1,73 @@
+package com.bankingapi.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bankingapi.colunar.EscritorColunar;
+import com.bankingapi.colunar.FormatoColunar;
+import com.bankingapi.enums.TipoTransacao;
+import com.bankingapi.repository.TransacaoExportacao;
+import com.bankingapi.repository.TransacaoRepository;
+import com.bankingapi.utils.Centavos;
+
+/**
+ * Exporta {@code transacoes} no formato colunar de {@link FormatoColunar}, para análises
+ * fora da API. As linhas são lidas por cursor em ordem de id e escritas grupo a grupo, então
+ * a memória usada depende de {@code linhas-por-grupo}, não do tamanho da tabela. Os arquivos
+ * são lidos com {@link com.bankingapi.colunar.LeitorColunar}, que não depende do Spring.
+ * <p>
+ * O código de cada tipo é o ordinal de {@link TipoTransacao}; o arquivo leva os nomes, então
+ * leitores não precisam do enum.
+ */
+@Service
+public class ExportacaoTransacoesService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportacaoTransacoesService.class);
+
+    private static final List<String> TIPOS = Arrays.stream(TipoTransacao.values()).map(Enum::name).toList();
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Value("${banking.exportacao.colunar.linhas-por-grupo:65536}")
+    private int linhasPorGrupo;
+
+    /**
+     * Escreve as transações com id maior que {@code aposId} na saída, sem fechá-la.
+     * Retorna a quantidade de transações exportadas.
+     */
+    @Transactional(readOnly = true)
+    public long exportar(long aposId, OutputStream saida) throws IOException {
+        long inicio = System.nanoTime();
+        BufferedOutputStream buffer = new BufferedOutputStream(saida, 64 * 1024);
+        EscritorColunar escritor = new EscritorColunar(buffer, TIPOS, linhasPorGrupo);
+        try (Stream<TransacaoExportacao> transacoes = transacaoRepository.streamParaExportacao(aposId)) {
+            Iterator<TransacaoExportacao> iterator = transacoes.iterator();
+            while (iterator.hasNext()) {
+                TransacaoExportacao t = iterator.next();
+                escritor.escrever(t.id(), t.dataTransacao(), t.tipo().ordinal(), Centavos.de(t.valor()),
+                        contaOuZero(t.contaOrigemId()), contaOuZero(t.contaDestinoId()), t.descricao());
+            }
+        }
+        long linhas = escritor.finalizar();
+        log.info("Exportação colunar: {} transações, {} bytes em {} ms", linhas, escritor.getBytesEscritos(),
+                (System.nanoTime() - inicio) / 1_000_000);
+        return linhas;
+    }
+
+    private static long contaOuZero(Long contaId) {
+        return contaId != null ? contaId : FormatoColunar.SEM_CONTA;
+    }
+}
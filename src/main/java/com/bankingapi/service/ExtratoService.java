@@ -0,0 +1,333 @@
+package com.bankingapi.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bankingapi.dto.ExtratoDTO;
+import com.bankingapi.dto.GeracaoExtratosDTO;
+import com.bankingapi.dto.LancamentoExtratoDTO;
+import com.bankingapi.dto.TotalExtratoDTO;
+import com.bankingapi.entity.ProgressoExtrato;
+import com.bankingapi.exception.NotFoundException;
+import com.bankingapi.repository.ContaBancariaJdbcRepository;
+import com.bankingapi.repository.ContaBancariaRepository;
+import com.bankingapi.repository.ContaExtrato;
+import com.bankingapi.repository.ContaResumo;
+import com.bankingapi.repository.ExtratoMensalJdbcRepository;
+import com.bankingapi.repository.LancamentoContaJdbcRepository;
+import com.bankingapi.repository.LancamentoExtrato;
+import com.bankingapi.repository.ProgressoExtratoRepository;
+import com.bankingapi.repository.SaldoEm;
+import com.bankingapi.repository.TotalMensal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Extratos mensais montados a partir dos totais mensais por conta e tipo
+ * ({@code extratos_mensais}, mantidos a cada lote do razão) e das linhas do mês no razão,
+ * sem reler o histórico anterior. Conta sem movimento no mês não tem totais: o saldo de
+ * abertura e fechamento é o do último lançamento antes do mês.
+ * <p>
+ * A geração de todos os extratos de uma competência divide a faixa de ids das contas em
+ * partições processadas em paralelo, cada uma gravando um arquivo JSON Lines
+ * ({@code diretorio/yyyy-MM/extratos-NN.jsonl}, um extrato por linha). Cada chunk de contas
+ * é acrescentado ao arquivo e sincronizado com o disco antes de a transação gravar o cursor
+ * e o tamanho do arquivo em {@code progresso_extrato}; uma execução interrompida trunca o
+ * arquivo no tamanho confirmado e retoma do cursor de cada partição.
+ */
+@Service
+public class ExtratoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExtratoService.class);
+    private static final BigDecimal ZERO = BigDecimal.ZERO.setScale(2);
+
+    @Autowired
+    private ContaBancariaRepository contaBancariaRepository;
+
+    @Autowired
+    private ContaBancariaJdbcRepository contaBancariaJdbcRepository;
+
+    @Autowired
+    private ExtratoMensalJdbcRepository extratoMensalJdbcRepository;
+
+    @Autowired
+    private LancamentoContaJdbcRepository lancamentoContaJdbcRepository;
+
+    @Autowired
+    private ProgressoExtratoRepository progressoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${banking.extrato.diretorio:./data/extratos}")
+    private String diretorio;
+
+    @Value("${banking.extrato.threads:0}")
+    private int quantidadeThreads;
+
+    @Value("${banking.extrato.particoes:16}")
+    private int quantidadeParticoes;
+
+    @Value("${banking.extrato.tamanho-chunk:500}")
+    private int tamanhoChunk;
+
+    private final ReentrantLock execucao = new ReentrantLock();
+
+    @Transactional(readOnly = true)
+    public ExtratoDTO extrato(Long contaId, YearMonth competencia) {
+        ContaResumo conta = contaBancariaRepository.buscarResumoAtivo(contaId)
+                .orElseThrow(() -> new NotFoundException("Conta não encontrada: " + contaId));
+        return montar(List.of(new ContaExtrato(conta.id(), conta.numero(), conta.nomeCliente())), competencia).get(0);
+    }
+
+    @Scheduled(cron = "${banking.extrato.cron:0 0 4 1 * *}")
+    public void gerarAgendado() {
+        gerar(YearMonth.now().minusMonths(1), false);
+    }
+
+    /**
+     * Grava os extratos de todas as contas ativas na competência, retomando uma execução
+     * anterior dela se houver. Com {@code refazer}, descarta o progresso e os arquivos anteriores.
+     */
+    public GeracaoExtratosDTO gerar(YearMonth competencia, boolean refazer) {
+        if (!execucao.tryLock()) {
+            throw new IllegalStateException("Geração de extratos já em execução");
+        }
+        try {
+            if (refazer) {
+                descartar(competencia);
+            }
+            return executar(competencia);
+        } finally {
+            execucao.unlock();
+        }
+    }
+
+    private GeracaoExtratosDTO executar(YearMonth competencia) {
+        long inicio = System.nanoTime();
+        List<ProgressoExtrato> pendentes = particoes(competencia).stream()
+                .filter(p -> !p.getConcluida())
+                .toList();
+        Path pasta = pasta(competencia);
+        int threads = quantidadeThreads > 0 ? quantidadeThreads : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> new Thread(r, "geracao-extratos"));
+        long contas = 0;
+        long lancamentos = 0;
+        try {
+            Files.createDirectories(pasta);
+            List<Future<long[]>> resultados = new ArrayList<>();
+            for (ProgressoExtrato particao : pendentes) {
+                resultados.add(executor.submit(() -> processarParticao(competencia, particao.getId(), pasta)));
+            }
+            for (Future<long[]> resultado : resultados) {
+                long[] parcial = resultado.get();
+                contas += parcial[0];
+                lancamentos += parcial[1];
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao criar " + pasta, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Geração de extratos interrompida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException("Falha na geração de extratos", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        GeracaoExtratosDTO resultado = new GeracaoExtratosDTO(competencia, contas, lancamentos, pendentes.size(),
+                threads, pasta.toString(), (System.nanoTime() - inicio) / 1_000_000);
+        log.info("Extratos de {}: {} contas, {} lançamentos, {} partições, {} threads, {} ms ({} contas/s)",
+                 competencia, contas, lancamentos, pendentes.size(), threads, resultado.getDuracaoMs(),
+                 String.format("%.0f", resultado.getContasPorSegundo()));
+        return resultado;
+    }
+
+    // Reaproveita as partições de uma execução anterior da competência; senão divide a faixa de ids atual
+    private List<ProgressoExtrato> particoes(YearMonth competencia) {
+        List<ProgressoExtrato> existentes = progressoRepository.findByCompetenciaOrderByParticao(competencia.atDay(1));
+        if (!existentes.isEmpty()) {
+            return existentes;
+        }
+
+        long[] faixa = contaBancariaJdbcRepository.faixaContasParaExtrato(inicioDoMesSeguinte(competencia));
+        if (faixa == null) {
+            return List.of();
+        }
+        long tamanho = faixa[1] - faixa[0] + 1;
+        int quantidade = (int) Math.min(Math.max(quantidadeParticoes, 1), tamanho);
+        List<ProgressoExtrato> novas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            long primeiro = faixa[0] + tamanho * i / quantidade;
+            long ultimo = faixa[0] + tamanho * (i + 1) / quantidade - 1;
+            novas.add(new ProgressoExtrato(competencia.atDay(1), i, primeiro, ultimo));
+        }
+        return progressoRepository.saveAll(novas);
+    }
+
+    // retorna {contas geradas, lançamentos}
+    private long[] processarParticao(YearMonth competencia, Long progressoId, Path pasta) throws IOException {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ProgressoExtrato inicial = progressoRepository.findById(progressoId).orElseThrow();
+        Path arquivo = pasta.resolve(String.format("extratos-%02d.jsonl", inicial.getParticao()));
+        long[] total = new long[2];
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // Descarta o que foi escrito depois do último chunk confirmado
+            canal.truncate(inicial.getBytesGravados());
+            canal.position(inicial.getBytesGravados());
+            boolean concluida = false;
+            while (!concluida) {
+                long[] chunk = transactionTemplate.execute(status -> processarChunk(competencia, progressoId, canal));
+                total[0] += chunk[0];
+                total[1] += chunk[1];
+                concluida = chunk[2] == 1;
+            }
+        }
+        return total;
+    }
+
+    // retorna {contas geradas, lançamentos, 1 se a partição terminou}
+    private long[] processarChunk(YearMonth competencia, Long progressoId, FileChannel canal) {
+        ProgressoExtrato progresso = progressoRepository.findById(progressoId).orElseThrow();
+        List<ContaExtrato> contas = contaBancariaJdbcRepository.contasParaExtrato(progresso.getCursorId(),
+                progresso.getUltimoId(), inicioDoMesSeguinte(competencia), tamanhoChunk);
+
+        long lancamentos = 0;
+        if (!contas.isEmpty()) {
+            ByteArrayOutputStream saida = new ByteArrayOutputStream();
+            try {
+                for (ExtratoDTO extrato : montar(contas, competencia)) {
+                    objectMapper.writeValue(saida, extrato);
+                    saida.write('\n');
+                    lancamentos += extrato.getLancamentos().size();
+                }
+                ByteBuffer bytes = ByteBuffer.wrap(saida.toByteArray());
+                while (bytes.hasRemaining()) {
+                    canal.write(bytes);
+                }
+                canal.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao gravar extratos da partição " + progresso.getParticao(), e);
+            }
+            progresso.setCursorId(contas.get(contas.size() - 1).id());
+            progresso.setBytesGravados(progresso.getBytesGravados() + saida.size());
+        }
+
+        boolean concluida = contas.size() < tamanhoChunk;
+        progresso.setContasGeradas(progresso.getContasGeradas() + contas.size());
+        progresso.setConcluida(concluida);
+        progresso.setAtualizadoEm(LocalDateTime.now());
+        return new long[] { contas.size(), lancamentos, concluida ? 1 : 0 };
+    }
+
+    // Três consultas por lote de contas: totais do mês, linhas do mês e saldo das contas sem movimento
+    private List<ExtratoDTO> montar(List<ContaExtrato> contas, YearMonth competencia) {
+        LocalDate primeiroDia = competencia.atDay(1);
+        List<Long> ids = contas.stream().map(ContaExtrato::id).toList();
+        Map<Long, List<TotalMensal>> totais = extratoMensalJdbcRepository.totais(ids, primeiroDia).stream()
+                .collect(Collectors.groupingBy(TotalMensal::contaId));
+
+        Map<Long, List<LancamentoExtrato>> lancamentos = totais.isEmpty() ? Map.of()
+                : extratoMensalJdbcRepository.lancamentos(totais.keySet(), primeiroDia).stream()
+                        .collect(Collectors.groupingBy(LancamentoExtrato::contaId));
+
+        // Sem lançamento no mês, qualquer lançamento até o primeiro dia é anterior ao mês
+        List<Long> semMovimento = ids.stream().filter(id -> !totais.containsKey(id)).toList();
+        Map<Long, BigDecimal> saldos = semMovimento.isEmpty() ? Map.of()
+                : lancamentoContaJdbcRepository.saldosEm(semMovimento,
+                        semMovimento.stream().map(id -> primeiroDia.atStartOfDay()).toList()).stream()
+                        .collect(Collectors.toMap(SaldoEm::contaId, SaldoEm::saldo));
+
+        List<ExtratoDTO> extratos = new ArrayList<>(contas.size());
+        for (ContaExtrato conta : contas) {
+            List<TotalMensal> doMes = totais.get(conta.id());
+            extratos.add(doMes == null
+                    ? semMovimento(conta, competencia, saldos.getOrDefault(conta.id(), ZERO))
+                    : extrato(conta, competencia, doMes, lancamentos.getOrDefault(conta.id(), List.of())));
+        }
+        return extratos;
+    }
+
+    private static ExtratoDTO semMovimento(ContaExtrato conta, YearMonth competencia, BigDecimal saldo) {
+        return new ExtratoDTO(conta.id(), conta.numero(), conta.nomeCliente(), competencia,
+                saldo, ZERO, ZERO, saldo, List.of(), List.of());
+    }
+
+    private static ExtratoDTO extrato(ContaExtrato conta, YearMonth competencia, List<TotalMensal> totais,
+                                      List<LancamentoExtrato> lancamentos) {
+        TotalMensal primeiro = totais.stream().min(Comparator.comparingLong(TotalMensal::seqInicial)).orElseThrow();
+        TotalMensal ultimo = totais.stream().max(Comparator.comparingLong(TotalMensal::seqFinal)).orElseThrow();
+        BigDecimal entradas = ZERO;
+        BigDecimal saidas = ZERO;
+        List<TotalExtratoDTO> porTipo = new ArrayList<>(totais.size());
+        for (TotalMensal total : totais.stream().sorted(Comparator.comparing(TotalMensal::tipo)).toList()) {
+            porTipo.add(new TotalExtratoDTO(total.tipo(), total.quantidade(), total.entradas(), total.saidas()));
+            entradas = entradas.add(total.entradas());
+            saidas = saidas.add(total.saidas());
+        }
+        List<LancamentoExtratoDTO> linhas = lancamentos.stream()
+                .map(l -> new LancamentoExtratoDTO(l.seq(), l.transacaoId(), l.dataLancamento(), l.tipo(),
+                        l.descricao(), l.valor(), l.saldoApos()))
+                .toList();
+        return new ExtratoDTO(conta.id(), conta.numero(), conta.nomeCliente(), competencia,
+                primeiro.saldoInicial(), entradas, saidas, ultimo.saldoFinal(), porTipo, linhas);
+    }
+
+    private void descartar(YearMonth competencia) {
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> progressoRepository.deleteByCompetencia(competencia.atDay(1)));
+        Path pasta = pasta(competencia);
+        try (var arquivos = Files.exists(pasta) ? Files.list(pasta) : Stream.<Path>empty()) {
+            for (Path arquivo : arquivos.toList()) {
+                Files.delete(arquivo);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao apagar extratos em " + pasta, e);
+        }
+    }
+
+    private Path pasta(YearMonth competencia) {
+        return Paths.get(diretorio, competencia.toString());
+    }
+
+    private static LocalDateTime inicioDoMesSeguinte(YearMonth competencia) {
+        return competencia.plusMonths(1).atDay(1).atStartOfDay();
+    }
+}
@@ -0,0 +1,144 @@
+package com.bankingapi.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Números de conta no formato {@code NNNNNNNN-D}, com dígito verificador módulo 11.
+ * <p>
+ * Cada leitura da sequence {@value #SEQUENCIA} (criada com {@code INCREMENT BY} igual a
+ * {@code banking.numero-conta.bloco}) reserva um bloco de números para esta instância. Os
+ * números do bloco saem da memória com um {@code getAndIncrement}, sem lock e sem consulta
+ * de existência; só a troca de um bloco esgotado passa por um lock, e uma única thread
+ * reserva o seguinte. Várias instâncias nunca recebem o mesmo bloco; números de um bloco
+ * descartado em um reinício simplesmente não são usados.
+ * <p>
+ * O incremento fica gravado na sequence: ao mudar {@code banking.numero-conta.bloco} em uma
+ * base existente, altere também o {@code INCREMENT BY} dela.
+ */
+@Component
+public class GeradorNumeroConta {
+
+    private static final Logger log = LoggerFactory.getLogger(GeradorNumeroConta.class);
+    private static final String SEQUENCIA = "numeros_conta_seq";
+    private static final long MAXIMO = 99_999_999L;
+    private static final Bloco ESGOTADO = new Bloco(0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${banking.numero-conta.bloco:1000}")
+    private int tamanhoBloco;
+
+    private final AtomicReference<Bloco> blocoAtual = new AtomicReference<>(ESGOTADO);
+    private final ReentrantLock troca = new ReentrantLock();
+    private String proximoValorSql;
+
+    @PostConstruct
+    public void criarSequence() {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        proximoValorSql = dialect.getSequenceSupport().getSequenceNextValString(SEQUENCIA);
+        if (sequenceExiste(dialect)) {
+            log.debug("Sequence {} já existe", SEQUENCIA);
+            return;
+        }
+        for (String sql : dialect.getSequenceSupport().getCreateSequenceStrings(SEQUENCIA, 1, tamanhoBloco)) {
+            jdbcTemplate.execute(sql);
+        }
+    }
+
+    public String proximoNumero() {
+        while (true) {
+            Bloco bloco = blocoAtual.get();
+            long numero = bloco.proximo.getAndIncrement();
+            if (numero < bloco.fim) {
+                return formatar(numero);
+            }
+            trocarBloco(bloco);
+        }
+    }
+
+    public static boolean isValido(String numero) {
+        if (numero == null || !numero.matches("\\d{8}-\\d")) {
+            return false;
+        }
+        return digitoVerificador(numero.substring(0, 8)) == numero.charAt(9) - '0';
+    }
+
+    // Pesos 2..9 da direita para a esquerda; restos 0 e 1 viram dígito 0
+    static int digitoVerificador(String base) {
+        int soma = 0;
+        int peso = 2;
+        for (int i = base.length() - 1; i >= 0; i--) {
+            soma += (base.charAt(i) - '0') * peso;
+            peso = peso == 9 ? 2 : peso + 1;
+        }
+        int digito = 11 - soma % 11;
+        return digito >= 10 ? 0 : digito;
+    }
+
+    private String formatar(long numero) {
+        if (numero > MAXIMO) {
+            throw new IllegalStateException("Faixa de números de conta esgotada");
+        }
+        String base = String.format("%08d", numero);
+        return base + "-" + digitoVerificador(base);
+    }
+
+    // Só uma thread reserva o próximo bloco; as que esperaram no lock encontram o bloco
+    // já trocado e voltam a tirar números dele, sem consumir outra faixa da sequence
+    private void trocarBloco(Bloco esgotado) {
+        troca.lock();
+        try {
+            if (blocoAtual.get() == esgotado) {
+                blocoAtual.set(reservarBloco());
+            }
+        } finally {
+            troca.unlock();
+        }
+    }
+
+    private boolean sequenceExiste(Dialect dialect) {
+        String sql = dialect.getQuerySequencesString();
+        if (sql == null) {
+            return false;
+        }
+        return jdbcTemplate.queryForList(sql).stream()
+                .map(linha -> linha.entrySet().stream()
+                        .filter(coluna -> coluna.getKey().equalsIgnoreCase("sequence_name"))
+                        .map(coluna -> String.valueOf(coluna.getValue()))
+                        .findFirst().orElse(null))
+                .anyMatch(SEQUENCIA::equalsIgnoreCase);
+    }
+
+    private Bloco reservarBloco() {
+        long inicio = jdbcTemplate.queryForObject(proximoValorSql, Long.class);
+        return new Bloco(inicio, inicio + tamanhoBloco);
+    }
+
+    private static final class Bloco {
+        final AtomicLong proximo;
+        final long fim;
+
+        Bloco(long inicio, long fim) {
+            this.proximo = new AtomicLong(inicio);
+            this.fim = fim;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.bankingapi.service;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bankingapi.auditoria.GravadorAuditoria;
+import com.bankingapi.entity.Transacao;
+import com.bankingapi.journal.TransacaoJournal;
+import com.bankingapi.repository.FaixaJournal;
+import com.bankingapi.repository.LancamentoContaJdbcRepository;
+import com.bankingapi.repository.RegistroTransacao;
+import com.bankingapi.repository.TransacaoJdbcRepository;
+import com.bankingapi.repository.TransacaoRepository;
+
+/**
+ * Ponto único de gravação das transações geradas pelas movimentações.
+ * <p>
+ * Por padrão grava a entidade na mesma transação do saldo, junto com os lançamentos das
+ * contas no razão ({@code lancamentos_conta}). Com o journal habilitado, anexa ao
+ * journal antes do commit do saldo e aguarda o group commit ali mesmo: uma falha do
+ * journal desfaz a movimentação. A faixa anexada é confirmada em {@code journal_confirmacoes}
+ * na mesma transação, e a projeção assíncrona só cria em {@code transacoes} as linhas
+ * de faixas confirmadas. Com a
+ * auditoria assíncrona (e sem journal), a linha é gravada em lote pelo
+ * {@link GravadorAuditoria} depois do commit do saldo, e a espera pela gravação fica com
+ * quem chama {@link #aguardandoGravacao(Supplier)}.
+ */
+@Component
+public class RegistradorTransacoes {
+    
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+    
+    @Autowired
+    private TransacaoJdbcRepository transacaoJdbcRepository;
+    
+    @Autowired
+    private LancamentoContaJdbcRepository lancamentoContaJdbcRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired(required = false)
+    private TransacaoJournal transacaoJournal;
+    
+    @Autowired(required = false)
+    private GravadorAuditoria gravadorAuditoria;
+    
+    public void registrar(Transacao transacao) {
+        registrarTodas(List.of(transacao));
+    }
+    
+    public void registrarTodas(List<Transacao> transacoes) {
+        if (transacoes.isEmpty()) {
+            return;
+        }
+        if (transacaoJournal == null && gravadorAuditoria == null) {
+            // O persist já atribui os ids (sequence); a linha em transacoes sai no flush do commit
+            transacaoRepository.saveAll(transacoes);
+            lancamentoContaJdbcRepository.lancar(jdbcTemplate,
+                    transacoes.stream().map(this::paraRegistro).toList(),
+                    transacoes.stream().map(Transacao::getId).toList());
+            return;
+        }
+        registrarRegistros(transacoes.stream().map(this::paraRegistro).toList());
+    }
+    
+    /**
+     * Igual a {@link #registrarTodas(List)} para movimentações em massa feitas via JDBC,
+     * sem entidades: no modo padrão vira um único lote de INSERTs na transação corrente.
+     */
+    public void registrarRegistros(List<RegistroTransacao> registros) {
+        if (registros.isEmpty()) {
+            return;
+        }
+        if (transacaoJournal == null && gravadorAuditoria == null) {
+            transacaoJdbcRepository.inserirEmLote(registros);
+            return;
+        }
+        if (transacaoJournal == null) {
+            gravadorAuditoria.registrarTodos(registros);
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private FaixaJournal faixa;
+                
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    faixa = transacaoJournal.registrarTodos(registros);
+                    transacaoJdbcRepository.confirmarFaixaJournal(faixa);
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    if (faixa != null) {
+                        transacaoJournal.concluir(faixa);
+                    }
+                }
+            });
+        } else {
+            FaixaJournal faixa = transacaoJournal.registrarTodos(registros);
+            try {
+                transacaoJdbcRepository.confirmarFaixaJournal(faixa);
+            } finally {
+                transacaoJournal.concluir(faixa);
+            }
+        }
+    }
+    
+    /**
+     * Executa a operação fora de transação e, com a auditoria assíncrona confirmada, só retorna
+     * depois que as linhas de {@code transacoes} que ela gerou foram gravadas.
+     *
+     * @see GravadorAuditoria#aguardandoGravacao(Supplier)
+     */
+    public <T> T aguardandoGravacao(Supplier<T> operacao) {
+        return gravadorAuditoria != null ? gravadorAuditoria.aguardandoGravacao(operacao) : operacao.get();
+    }
+    
+    private RegistroTransacao paraRegistro(Transacao transacao) {
+        return new RegistroTransacao(
+                transacao.getContaOrigem() != null ? transacao.getContaOrigem().getId() : null,
+                transacao.getContaDestino() != null ? transacao.getContaDestino().getId() : null,
+                transacao.getTipo(),
+                transacao.getValor(),
+                transacao.getDataTransacao(),
+                transacao.getDescricao());
+    }
+}
@@ -0,0 +1,238 @@
+package com.bankingapi.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bankingapi.cache.CacheContas;
+import com.bankingapi.dto.RendimentoPoupancaDTO;
+import com.bankingapi.engine.MotorSaldos;
+import com.bankingapi.entity.ContaBancaria;
+import com.bankingapi.entity.ContaPoupanca;
+import com.bankingapi.entity.ProgressoRendimento;
+import com.bankingapi.entity.Transacao;
+import com.bankingapi.enums.TipoTransacao;
+import com.bankingapi.eventos.SaldosEventos;
+import com.bankingapi.lock.ContaLockManager;
+import com.bankingapi.repository.ContaBancariaJdbcRepository;
+import com.bankingapi.repository.ContaBancariaRepository;
+import com.bankingapi.repository.ProgressoRendimentoRepository;
+import com.bankingapi.utils.Centavos;
+
+/**
+ * Crédito mensal de rendimento das poupanças no dia do aniversário.
+ * <p>
+ * Só as poupanças com aniversário no dia são lidas (índice {@code aniversario_conta, id}).
+ * A faixa de ids delas é dividida em partições processadas em paralelo; cada partição
+ * avança em chunks de ids, cada chunk em uma transação que bloqueia as contas, credita,
+ * registra uma transação {@link TipoTransacao#RENDIMENTO} por conta e grava o cursor da
+ * partição em {@code progresso_rendimento}. Uma execução interrompida retoma do cursor de
+ * cada partição; {@code ultimo_rendimento} impede crédito em dobro mesmo sem o progresso.
+ */
+@Service
+public class RendimentoPoupancaService {
+
+    private static final Logger log = LoggerFactory.getLogger(RendimentoPoupancaService.class);
+    private static final String DESCRICAO = "Rendimento da poupança";
+
+    @Autowired
+    private ContaBancariaRepository contaBancariaRepository;
+
+    @Autowired
+    private ContaBancariaJdbcRepository contaBancariaJdbcRepository;
+
+    @Autowired
+    private ProgressoRendimentoRepository progressoRepository;
+
+    @Autowired
+    private RegistradorTransacoes registradorTransacoes;
+
+    @Autowired
+    private ContaLockManager contaLockManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SaldosEventos saldosEventos;
+
+    @Autowired
+    private CacheContas cacheContas;
+
+    @Autowired(required = false)
+    private MotorSaldos motorSaldos;
+
+    @Value("${banking.rendimento.threads:0}")
+    private int quantidadeThreads;
+
+    @Value("${banking.rendimento.particoes:16}")
+    private int quantidadeParticoes;
+
+    @Value("${banking.rendimento.tamanho-chunk:500}")
+    private int tamanhoChunk;
+
+    private final ReentrantLock execucao = new ReentrantLock();
+
+    @Scheduled(cron = "${banking.rendimento.cron:0 0 2 * * *}")
+    public void creditarAgendado() {
+        if (motorSaldos != null) {
+            log.warn("Rendimento da poupança não é creditado com banking.engine.modo=memoria");
+            return;
+        }
+        creditar(LocalDate.now());
+    }
+
+    /**
+     * Credita o rendimento das poupanças com aniversário em {@code data}, retomando uma
+     * execução anterior do mesmo dia se houver.
+     */
+    public RendimentoPoupancaDTO creditar(LocalDate data) {
+        if (motorSaldos != null) {
+            throw new IllegalStateException("Rendimento da poupança exige banking.engine.modo=jpa");
+        }
+        if (!execucao.tryLock()) {
+            throw new IllegalStateException("Crédito de rendimento já em execução");
+        }
+        try {
+            return executar(data);
+        } finally {
+            execucao.unlock();
+        }
+    }
+
+    private RendimentoPoupancaDTO executar(LocalDate data) {
+        long inicio = System.nanoTime();
+        List<ProgressoRendimento> pendentes = particoes(data).stream()
+                .filter(p -> !p.getConcluida())
+                .toList();
+        int threads = quantidadeThreads > 0 ? quantidadeThreads : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> new Thread(r, "rendimento-poupanca"));
+        long contas = 0;
+        long centavos = 0;
+        try {
+            List<Future<long[]>> resultados = new ArrayList<>();
+            for (ProgressoRendimento particao : pendentes) {
+                resultados.add(executor.submit(() -> processarParticao(data, particao)));
+            }
+            for (Future<long[]> resultado : resultados) {
+                long[] parcial = resultado.get();
+                contas += parcial[0];
+                centavos += parcial[1];
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Crédito de rendimento interrompido", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException("Falha no crédito de rendimento", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        RendimentoPoupancaDTO resultado = new RendimentoPoupancaDTO(data, contas, Centavos.paraBigDecimal(centavos),
+                pendentes.size(), threads, (System.nanoTime() - inicio) / 1_000_000);
+        log.info("Rendimento de {}: {} contas, {} creditados, {} partições, {} threads, {} ms ({} contas/s)",
+                 data, contas, resultado.getValorCreditado(), pendentes.size(), threads,
+                 resultado.getDuracaoMs(), String.format("%.0f", resultado.getContasPorSegundo()));
+        return resultado;
+    }
+
+    // Reaproveita as partições de uma execução anterior do dia; senão divide a faixa de ids atual
+    private List<ProgressoRendimento> particoes(LocalDate data) {
+        List<ProgressoRendimento> existentes = progressoRepository.findByDataReferenciaOrderByParticao(data);
+        if (!existentes.isEmpty()) {
+            return existentes;
+        }
+
+        int[] dias = diasDeAniversario(data);
+        long[] faixa = contaBancariaJdbcRepository.faixaPoupancasNoAniversario(dias[0], dias[1]);
+        if (faixa == null) {
+            return List.of();
+        }
+        long tamanho = faixa[1] - faixa[0] + 1;
+        int quantidade = (int) Math.min(Math.max(quantidadeParticoes, 1), tamanho);
+        List<ProgressoRendimento> novas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            long primeiro = faixa[0] + tamanho * i / quantidade;
+            long ultimo = faixa[0] + tamanho * (i + 1) / quantidade - 1;
+            novas.add(new ProgressoRendimento(data, i, primeiro, ultimo));
+        }
+        return progressoRepository.saveAll(novas);
+    }
+
+    // retorna {contas creditadas, centavos creditados}
+    private long[] processarParticao(LocalDate data, ProgressoRendimento particao) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long[] total = new long[2];
+        boolean concluida = false;
+        while (!concluida) {
+            long[] chunk = transactionTemplate.execute(status -> processarChunk(data, particao.getId()));
+            total[0] += chunk[0];
+            total[1] += chunk[1];
+            concluida = chunk[2] == 1;
+        }
+        return total;
+    }
+
+    // retorna {contas creditadas, centavos creditados, 1 se a partição terminou}
+    private long[] processarChunk(LocalDate data, Long progressoId) {
+        ProgressoRendimento progresso = progressoRepository.findById(progressoId).orElseThrow();
+        int[] dias = diasDeAniversario(data);
+        List<Long> ids = contaBancariaJdbcRepository.poupancasSemRendimento(dias[0], dias[1],
+                progresso.getCursorId(), progresso.getUltimoId(), data.atStartOfDay(), tamanhoChunk);
+
+        long contas = 0;
+        long centavos = 0;
+        if (!ids.isEmpty()) {
+            contaLockManager.bloquearAteFimDaTransacao(ids);
+            List<ContaBancaria> carregadas = contaBancariaRepository.findAllById(ids);
+            saldosEventos.sincronizar(carregadas);
+
+            List<Transacao> transacoes = new ArrayList<>(carregadas.size());
+            for (ContaBancaria conta : carregadas) {
+                if (!(conta instanceof ContaPoupanca poupanca) || !poupanca.getAtiva()
+                        || !poupanca.podeReceberRendimento(data)) {
+                    continue;
+                }
+                BigDecimal rendimento = poupanca.aplicarRendimento();
+                if (rendimento.signum() > 0) {
+                    transacoes.add(new Transacao(null, poupanca, TipoTransacao.RENDIMENTO, rendimento, DESCRICAO));
+                    contas++;
+                    centavos += Centavos.de(rendimento);
+                }
+            }
+            registradorTransacoes.registrarTodas(transacoes);
+            cacheContas.invalidarAposCommit(ids);
+            progresso.setCursorId(ids.get(ids.size() - 1));
+        }
+
+        boolean concluida = ids.size() < tamanhoChunk;
+        progresso.setContasCreditadas(progresso.getContasCreditadas() + contas);
+        progresso.setConcluida(concluida);
+        progresso.setAtualizadoEm(LocalDateTime.now());
+        return new long[] { contas, centavos, concluida ? 1 : 0 };
+    }
+
+    private static int[] diasDeAniversario(LocalDate data) {
+        int dia = data.getDayOfMonth();
+        return new int[] { dia, dia == data.lengthOfMonth() ? 31 : dia };
+    }
+}
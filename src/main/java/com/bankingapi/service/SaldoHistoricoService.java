@@ -0,0 +1,79 @@
+package com.bankingapi.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bankingapi.dto.SaldoHistoricoDTO;
+import com.bankingapi.dto.SaldoHistoricoRequestDTO;
+import com.bankingapi.exception.NotFoundException;
+import com.bankingapi.repository.LancamentoContaJdbcRepository;
+import com.bankingapi.repository.SaldoEm;
+
+/**
+ * Saldo de uma conta em qualquer momento passado, para conciliação e contestações.
+ * <p>
+ * Cada lançamento do razão ({@code lancamentos_conta}) guarda o saldo depois dele, então o
+ * saldo em {@code T} é o do último lançamento até {@code T}: uma busca no índice
+ * {@code (conta_id, data_lancamento, seq)}, sem somar o histórico. A consulta em lote
+ * resolve {@value #PARES_POR_CONSULTA} pares por statement.
+ * <p>
+ * Nos modos com gravação assíncrona (journal, auditoria assíncrona e motor em memória) o
+ * razão fica atrás do saldo corrente pelo mesmo atraso das linhas de {@code transacoes}.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SaldoHistoricoService {
+
+    static final int PARES_POR_CONSULTA = 1000;
+
+    @Autowired
+    private LancamentoContaJdbcRepository lancamentoContaJdbcRepository;
+
+    @Value("${banking.saldo-historico.tamanho-maximo:100000}")
+    private int tamanhoMaximo;
+
+    public SaldoHistoricoDTO saldoEm(Long contaId, LocalDateTime em) {
+        SaldoEm saldo = lancamentoContaJdbcRepository.saldosEm(List.of(contaId), List.of(em)).get(0);
+        if (!saldo.contaExiste()) {
+            throw new NotFoundException("Conta não encontrada: " + contaId);
+        }
+        return paraDTO(saldo);
+    }
+
+    public List<SaldoHistoricoDTO> saldosEm(List<SaldoHistoricoRequestDTO> consultas) {
+        if (consultas == null || consultas.isEmpty()) {
+            throw new IllegalArgumentException("Lista de consultas vazia");
+        }
+        if (consultas.size() > tamanhoMaximo) {
+            throw new IllegalArgumentException("Lote acima do tamanho máximo de " + tamanhoMaximo + " consultas");
+        }
+
+        List<SaldoHistoricoDTO> resultado = new ArrayList<>(consultas.size());
+        for (int inicio = 0; inicio < consultas.size(); inicio += PARES_POR_CONSULTA) {
+            List<SaldoHistoricoRequestDTO> faixa = consultas.subList(inicio,
+                    Math.min(inicio + PARES_POR_CONSULTA, consultas.size()));
+            List<Long> contaIds = new ArrayList<>(faixa.size());
+            List<LocalDateTime> momentos = new ArrayList<>(faixa.size());
+            for (SaldoHistoricoRequestDTO consulta : faixa) {
+                if (consulta == null || consulta.getContaId() == null || consulta.getEm() == null) {
+                    throw new IllegalArgumentException("Consulta " + (inicio + contaIds.size()) + " sem contaId ou em");
+                }
+                contaIds.add(consulta.getContaId());
+                momentos.add(consulta.getEm());
+            }
+            lancamentoContaJdbcRepository.saldosEm(contaIds, momentos).forEach(s -> resultado.add(paraDTO(s)));
+        }
+        return resultado;
+    }
+
+    private static SaldoHistoricoDTO paraDTO(SaldoEm saldo) {
+        return new SaldoHistoricoDTO(saldo.contaId(), saldo.em(), saldo.contaExiste(), saldo.saldo(),
+                                     saldo.seq(), saldo.dataLancamento());
+    }
+}
@@ -0,0 +1,164 @@
+package com.bankingapi.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bankingapi.cache.CacheContas;
+import com.bankingapi.dto.TarifaManutencaoDTO;
+import com.bankingapi.engine.MotorSaldos;
+import com.bankingapi.enums.TipoTransacao;
+import com.bankingapi.eventos.SaldosEventos;
+import com.bankingapi.lock.ContaLockManager;
+import com.bankingapi.repository.ContaBancariaJdbcRepository;
+import com.bankingapi.repository.RegistroTransacao;
+import com.bankingapi.repository.TarifaPendente;
+import com.bankingapi.utils.Centavos;
+
+/**
+ * Cobrança mensal da tarifa de manutenção das contas correntes, sem carregar entidades.
+ * <p>
+ * As contas são percorridas por id em chunks, cada chunk em uma transação: bloqueia as
+ * contas, relê saldo e tarifa, debita as que têm saldo para a tarifa em um lote de UPDATEs
+ * e registra as transações {@link TipoTransacao#TARIFA} em um lote de INSERTs.
+ * {@code ultima_tarifa} marca a competência cobrada, então repetir a cobrança do mês só
+ * alcança as contas que faltaram. Contas sem saldo ficam pendentes para a próxima execução.
+ * <p>
+ * A simulação responde com uma única consulta agregada, sem bloquear nem alterar contas.
+ */
+@Service
+public class TarifaManutencaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(TarifaManutencaoService.class);
+
+    @Autowired
+    private ContaBancariaJdbcRepository contaBancariaJdbcRepository;
+
+    @Autowired
+    private RegistradorTransacoes registradorTransacoes;
+
+    @Autowired
+    private ContaLockManager contaLockManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SaldosEventos saldosEventos;
+
+    @Autowired
+    private CacheContas cacheContas;
+
+    @Autowired(required = false)
+    private MotorSaldos motorSaldos;
+
+    @Value("${banking.tarifa.tamanho-chunk:1000}")
+    private int tamanhoChunk;
+
+    private final ReentrantLock execucao = new ReentrantLock();
+
+    @Scheduled(cron = "${banking.tarifa.cron:0 0 3 1 * *}")
+    public void cobrarAgendado() {
+        if (motorSaldos != null || saldosEventos.isAtivo()) {
+            log.warn("Tarifa de manutenção não é cobrada com banking.engine.modo=memoria ou banking.saldos.modo=eventos");
+            return;
+        }
+        cobrar(YearMonth.now(), false);
+    }
+
+    public TarifaManutencaoDTO cobrar(YearMonth competencia, boolean simulacao) {
+        if (simulacao) {
+            return simular(competencia);
+        }
+        // Os saldos são alterados direto na tabela: no motor em memória seriam sobrescritos, e nos
+        // saldos por eventos as transações gravadas via JDBC não seguem a ordem de ids dos checkpoints
+        if (motorSaldos != null || saldosEventos.isAtivo()) {
+            throw new IllegalStateException(
+                "Cobrança de tarifas exige banking.engine.modo=jpa e banking.saldos.modo=estado");
+        }
+        if (!execucao.tryLock()) {
+            throw new IllegalStateException("Cobrança de tarifas já em execução");
+        }
+        try {
+            return executar(competencia);
+        } finally {
+            execucao.unlock();
+        }
+    }
+
+    private TarifaManutencaoDTO simular(YearMonth competencia) {
+        long inicio = System.nanoTime();
+        long[] resumo = contaBancariaJdbcRepository.resumoTarifas(competencia.atDay(1));
+        return new TarifaManutencaoDTO(competencia, true, resumo[1], Centavos.paraBigDecimal(resumo[2]),
+                resumo[0] - resumo[1], (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private TarifaManutencaoDTO executar(YearMonth competencia) {
+        long inicio = System.nanoTime();
+        LocalDate primeiroDia = competencia.atDay(1);
+        String descricao = "Tarifa de manutenção " + competencia;
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // {último id, contas cobradas, centavos cobrados, contas sem saldo}
+        long[] total = new long[4];
+        int lidas;
+        do {
+            long[] chunk = transactionTemplate.execute(status -> cobrarChunk(primeiroDia, total[0], descricao));
+            lidas = (int) chunk[0];
+            total[0] = chunk[1];
+            total[1] += chunk[2];
+            total[2] += chunk[3];
+            total[3] += chunk[4];
+        } while (lidas == tamanhoChunk);
+
+        TarifaManutencaoDTO resultado = new TarifaManutencaoDTO(competencia, false, total[1],
+                Centavos.paraBigDecimal(total[2]), total[3], (System.nanoTime() - inicio) / 1_000_000);
+        log.info("Tarifa de manutenção {}: {} contas, {} cobrados, {} sem saldo, {} ms ({} contas/s)",
+                 competencia, total[1], resultado.getValorCobrado(), total[3], resultado.getDuracaoMs(),
+                 String.format("%.0f", resultado.getContasPorSegundo()));
+        return resultado;
+    }
+
+    // retorna {ids lidos, último id, contas cobradas, centavos cobrados, contas sem saldo}
+    private long[] cobrarChunk(LocalDate competencia, long aposId, String descricao) {
+        List<Long> ids = contaBancariaJdbcRepository.correntesSemTarifa(competencia, aposId, tamanhoChunk);
+        if (ids.isEmpty()) {
+            return new long[] { 0, aposId, 0, 0, 0 };
+        }
+
+        contaLockManager.bloquearAteFimDaTransacao(ids);
+        List<TarifaPendente> cobradas = new ArrayList<>(ids.size());
+        long centavos = 0;
+        long semSaldo = 0;
+        for (TarifaPendente tarifa : contaBancariaJdbcRepository.tarifasPendentes(ids, competencia)) {
+            if (tarifa.temSaldo()) {
+                cobradas.add(tarifa);
+                centavos += tarifa.taxaCentavos();
+            } else {
+                semSaldo++;
+            }
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        List<RegistroTransacao> transacoes = cobradas.stream()
+                .map(t -> new RegistroTransacao(t.contaId(), null, TipoTransacao.TARIFA,
+                        Centavos.paraBigDecimal(t.taxaCentavos()), agora, descricao))
+                .toList();
+        contaBancariaJdbcRepository.debitarTarifasEmLote(cobradas, competencia);
+        registradorTransacoes.registrarRegistros(transacoes);
+        cacheContas.invalidarAposCommit(cobradas.stream().map(TarifaPendente::contaId).toList());
+        return new long[] { ids.size(), ids.get(ids.size() - 1), cobradas.size(), centavos, semSaldo };
+    }
+}
@@ -0,0 +1,227 @@
+package com.bankingapi.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bankingapi.cache.CacheContas;
+import com.bankingapi.dto.ResultadoTransferenciaLoteDTO;
+import com.bankingapi.dto.TransferenciaLoteResponseDTO;
+import com.bankingapi.dto.TransferenciaRequestDTO;
+import com.bankingapi.engine.MotorSaldos;
+import com.bankingapi.entity.ContaBancaria;
+import com.bankingapi.entity.Transacao;
+import com.bankingapi.enums.TipoTransacao;
+import com.bankingapi.eventos.SaldosEventos;
+import com.bankingapi.exception.BusinessException;
+import com.bankingapi.exception.NotFoundException;
+import com.bankingapi.lock.ContaLockManager;
+import com.bankingapi.repository.ContaBancariaRepository;
+
+/**
+ * Aplica lotes de transferências em chunks, cada chunk em uma transação própria.
+ * <p>
+ * As contas do chunk são bloqueadas e carregadas de uma vez; cada item é validado antes
+ * de alterar qualquer saldo, então uma transferência rejeitada não desfaz as demais.
+ * Os UPDATEs de saldo e os INSERTs de transação saem em lotes JDBC no commit
+ * (hibernate.jdbc.batch_size). Se o commit de um chunk falhar, só os itens dele são rejeitados.
+ */
+@Service
+public class TransferenciaLoteService {
+    
+    @Autowired
+    private ContaBancariaRepository contaBancariaRepository;
+    
+    @Autowired
+    private RegistradorTransacoes registradorTransacoes;
+    
+    @Autowired
+    private ContaLockManager contaLockManager;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private SaldosEventos saldosEventos;
+    
+    @Autowired
+    private CacheContas cacheContas;
+    
+    @Autowired(required = false)
+    private MotorSaldos motorSaldos;
+    
+    @Value("${banking.lote.tamanho-chunk:500}")
+    private int tamanhoChunk;
+    
+    @Value("${banking.lote.tamanho-maximo:100000}")
+    private int tamanhoMaximo;
+    
+    public TransferenciaLoteResponseDTO transferirEmLote(List<TransferenciaRequestDTO> transferencias) {
+        if (transferencias == null || transferencias.isEmpty()) {
+            throw new BusinessException("EMPTY_BATCH", "Lote de transferências vazio");
+        }
+        if (transferencias.size() > tamanhoMaximo) {
+            throw new BusinessException("BATCH_TOO_LARGE", 
+                "Lote excede o máximo de " + tamanhoMaximo + " transferências");
+        }
+        
+        long inicio = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<ResultadoTransferenciaLoteDTO> resultados = new ArrayList<>(transferencias.size());
+        
+        for (int inicioChunk = 0; inicioChunk < transferencias.size(); inicioChunk += tamanhoChunk) {
+            int fimChunk = Math.min(inicioChunk + tamanhoChunk, transferencias.size());
+            if (motorSaldos != null) {
+                resultados.addAll(processarNoMotor(transferencias, inicioChunk, fimChunk));
+            } else {
+                resultados.addAll(processarChunk(transactionTemplate, transferencias, inicioChunk, fimChunk));
+            }
+        }
+        
+        return new TransferenciaLoteResponseDTO(resultados, (System.nanoTime() - inicio) / 1_000_000);
+    }
+    
+    private List<ResultadoTransferenciaLoteDTO> processarChunk(TransactionTemplate transactionTemplate,
+                                                               List<TransferenciaRequestDTO> transferencias,
+                                                               int inicio, int fim) {
+        try {
+            return transactionTemplate.execute(status -> aplicarChunk(transferencias, inicio, fim));
+        } catch (RuntimeException e) {
+            List<ResultadoTransferenciaLoteDTO> falhas = new ArrayList<>(fim - inicio);
+            for (int i = inicio; i < fim; i++) {
+                falhas.add(rejeitada(i, transferencias.get(i), "BATCH_CHUNK_FAILED", 
+                    "Falha ao gravar o bloco da transferência: " + e.getMessage()));
+            }
+            return falhas;
+        }
+    }
+    
+    private List<ResultadoTransferenciaLoteDTO> aplicarChunk(List<TransferenciaRequestDTO> transferencias, 
+                                                             int inicio, int fim) {
+        Set<Long> ids = new TreeSet<>();
+        for (int i = inicio; i < fim; i++) {
+            TransferenciaRequestDTO transferencia = transferencias.get(i);
+            if (transferencia != null) {
+                if (transferencia.getContaOrigemId() != null) {
+                    ids.add(transferencia.getContaOrigemId());
+                }
+                if (transferencia.getContaDestinoId() != null) {
+                    ids.add(transferencia.getContaDestinoId());
+                }
+            }
+        }
+        
+        contaLockManager.bloquearAteFimDaTransacao(ids);
+        Map<Long, ContaBancaria> contas = new HashMap<>();
+        for (ContaBancaria conta : contaBancariaRepository.findAllById(ids)) {
+            if (conta.getAtiva()) {
+                contas.put(conta.getId(), conta);
+            }
+        }
+        saldosEventos.sincronizar(contas.values());
+        
+        List<Transacao> transacoes = new ArrayList<>(fim - inicio);
+        List<ResultadoTransferenciaLoteDTO> resultados = new ArrayList<>(fim - inicio);
+        for (int i = inicio; i < fim; i++) {
+            resultados.add(aplicar(i, transferencias.get(i), contas, transacoes));
+        }
+        
+        registradorTransacoes.registrarTodas(transacoes);
+        cacheContas.invalidarAposCommit(contas.keySet());
+        return resultados;
+    }
+    
+    private ResultadoTransferenciaLoteDTO aplicar(int indice, TransferenciaRequestDTO transferencia,
+                                                  Map<Long, ContaBancaria> contas, List<Transacao> transacoes) {
+        ResultadoTransferenciaLoteDTO invalida = validar(indice, transferencia);
+        if (invalida != null) {
+            return invalida;
+        }
+        
+        ContaBancaria origem = contas.get(transferencia.getContaOrigemId());
+        if (origem == null) {
+            return rejeitada(indice, transferencia, "RESOURCE_NOT_FOUND", 
+                "Conta não encontrada: " + transferencia.getContaOrigemId());
+        }
+        ContaBancaria destino = contas.get(transferencia.getContaDestinoId());
+        if (destino == null) {
+            return rejeitada(indice, transferencia, "RESOURCE_NOT_FOUND", 
+                "Conta não encontrada: " + transferencia.getContaDestinoId());
+        }
+        
+        try {
+            origem.sacar(transferencia.getValor());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return rejeitada(indice, transferencia, "INVALID_ARGUMENT", e.getMessage());
+        }
+        destino.depositar(transferencia.getValor());
+        
+        transacoes.add(new Transacao(origem, destino, TipoTransacao.TRANSFERENCIA, 
+                                     transferencia.getValor(), transferencia.getDescricao()));
+        return efetuada(indice, transferencia);
+    }
+    
+    private List<ResultadoTransferenciaLoteDTO> processarNoMotor(List<TransferenciaRequestDTO> transferencias,
+                                                                 int inicio, int fim) {
+        List<ResultadoTransferenciaLoteDTO> resultados = new ArrayList<>(fim - inicio);
+        for (int i = inicio; i < fim; i++) {
+            TransferenciaRequestDTO transferencia = transferencias.get(i);
+            ResultadoTransferenciaLoteDTO invalida = validar(i, transferencia);
+            if (invalida != null) {
+                resultados.add(invalida);
+                continue;
+            }
+            
+            try {
+                motorSaldos.transferir(transferencia.getContaOrigemId(), transferencia.getContaDestinoId(),
+                        transferencia.getValor(), transferencia.getDescricao(), conta -> null);
+                resultados.add(efetuada(i, transferencia));
+            } catch (NotFoundException e) {
+                resultados.add(rejeitada(i, transferencia, "RESOURCE_NOT_FOUND", e.getMessage()));
+            } catch (BusinessException e) {
+                resultados.add(rejeitada(i, transferencia, 
+                    e.getCode() != null ? e.getCode() : "BUSINESS_ERROR", e.getMessage()));
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                resultados.add(rejeitada(i, transferencia, "INVALID_ARGUMENT", e.getMessage()));
+            }
+        }
+        return resultados;
+    }
+    
+    private ResultadoTransferenciaLoteDTO validar(int indice, TransferenciaRequestDTO transferencia) {
+        if (transferencia == null || transferencia.getContaOrigemId() == null 
+                || transferencia.getContaDestinoId() == null || transferencia.getValor() == null) {
+            return rejeitada(indice, transferencia, "VALIDATION_ERROR", 
+                "Conta origem, conta destino e valor são obrigatórios");
+        }
+        if (transferencia.getValor().compareTo(BigDecimal.ZERO) <= 0) {
+            return rejeitada(indice, transferencia, "INVALID_ARGUMENT", "Valor deve ser positivo");
+        }
+        if (transferencia.getContaOrigemId().equals(transferencia.getContaDestinoId())) {
+            return rejeitada(indice, transferencia, "SAME_ACCOUNT", 
+                "Conta origem e destino não podem ser iguais");
+        }
+        return null;
+    }
+    
+    private ResultadoTransferenciaLoteDTO efetuada(int indice, TransferenciaRequestDTO transferencia) {
+        return new ResultadoTransferenciaLoteDTO(indice, transferencia, 
+                ResultadoTransferenciaLoteDTO.EFETUADA, null, null);
+    }
+    
+    private ResultadoTransferenciaLoteDTO rejeitada(int indice, TransferenciaRequestDTO transferencia,
+                                                    String codigo, String mensagem) {
+        return new ResultadoTransferenciaLoteDTO(indice, transferencia, 
+                ResultadoTransferenciaLoteDTO.REJEITADA, codigo, mensagem);
+    }
+}
@@ -2,6 +2,7 @@ package com.bankingapi.service.interfaces;
 
 import com.bankingapi.dto.*;
 import com.bankingapi.entity.*;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -16,7 +17,7 @@ public interface IBancoService {
     void transferir(TransferenciaDTO dto);
     
     List<Transacao> buscarHistorico(Long contaId);
-    String exportar();
+    void exportar(Writer writer);
     
     void alterarLimiteCredito(Long contaId, BigDecimal novoLimite);
     BigDecimal consultarSaldoComLimite(Long contaId);
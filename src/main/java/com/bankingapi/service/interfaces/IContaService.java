@@ -1,6 +1,7 @@
 package com.bankingapi.service.interfaces;
 
 import com.bankingapi.dto.*;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface IContaService {
@@ -12,5 +13,5 @@ public interface IContaService {
     ContaBancariaResponseDTO sacar(Long contaId, TransacaoRequestDTO request);
     TransferenciaResponseDTO transferir(TransferenciaRequestDTO request);
     List<TransacaoResponseDTO> listarTransacoes(Long contaId);
-    String exportarContasCSV();
+    void exportarContasCSV(OutputStream saida);
 }
@@ -0,0 +1,56 @@
+package com.bankingapi.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Valores monetários como {@code long} em centavos, usados na lógica de saldo das contas
+ * para evitar um {@code BigDecimal} novo a cada operação.
+ * <p>
+ * A conversão com {@code BigDecimal} acontece só nas bordas (JPA, DTOs/JSON) e não perde
+ * informação: {@link #de(BigDecimal)} recusa frações de centavo e {@link #paraBigDecimal(long)}
+ * devolve sempre escala 2. Soma e subtração estouram com {@link IllegalArgumentException}
+ * em vez de dar a volta.
+ */
+public final class Centavos {
+
+    private Centavos() {
+    }
+
+    public static long de(BigDecimal valor) {
+        BigDecimal centavos = valor.movePointRight(2);
+        try {
+            return centavos.longValueExact();
+        } catch (ArithmeticException e) {
+            if (centavos.stripTrailingZeros().scale() > 0) {
+                throw new IllegalArgumentException("Valor deve ter no máximo duas casas decimais: " + valor);
+            }
+            throw new IllegalArgumentException("Valor excede o limite suportado: " + valor);
+        }
+    }
+
+    /** Para valores calculados, como rendimento: arredonda como a coluna DECIMAL(19,2) (meio centavo para cima). */
+    public static long arredondado(BigDecimal valor) {
+        return de(valor.setScale(2, RoundingMode.HALF_UP));
+    }
+
+    public static BigDecimal paraBigDecimal(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    public static long somar(long a, long b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Valor excede o limite suportado");
+        }
+    }
+
+    public static long subtrair(long a, long b) {
+        try {
+            return Math.subtractExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Valor excede o limite suportado");
+        }
+    }
+}
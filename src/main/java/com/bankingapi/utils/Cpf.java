@@ -0,0 +1,39 @@
+package com.bankingapi.utils;
+
+import com.bankingapi.exception.BusinessException;
+
+/**
+ * Regras de CPF da abertura de conta: 11 dígitos numéricos, sem todos os dígitos iguais.
+ * Os dígitos verificadores não são conferidos.
+ */
+public final class Cpf {
+
+    private Cpf() {
+    }
+
+    public static void validar(String cpf) {
+        String problema = problema(cpf);
+        if (problema != null) {
+            throw new BusinessException("INVALID_CPF", problema);
+        }
+    }
+
+    /**
+     * Motivo da recusa do CPF, ou {@code null} se ele é aceito. Para validar em massa sem
+     * criar uma exceção por linha recusada.
+     */
+    public static String problema(String cpf) {
+        if (cpf == null || cpf.length() != 11) {
+            return "CPF deve conter exatamente 11 dígitos numéricos";
+        }
+        boolean repetido = true;
+        for (int i = 0; i < 11; i++) {
+            char c = cpf.charAt(i);
+            if (c < '0' || c > '9') {
+                return "CPF deve conter exatamente 11 dígitos numéricos";
+            }
+            repetido &= c == cpf.charAt(0);
+        }
+        return repetido ? "CPF inválido" : null;
+    }
+}
@@ -1,12 +1,18 @@
 package com.bankingapi.utils;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Component;
 
 import com.bankingapi.entity.ContaBancaria;
+import com.bankingapi.repository.ContaExportacao;
 
 @Component
 public class CsvExporter {
@@ -15,26 +21,61 @@ public class CsvExporter {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
     
     public String exportarContas(List<ContaBancaria> contas) {
-        StringBuilder csv = new StringBuilder();
-        
-        csv.append("ID").append(CSV_SEPARATOR)
-           .append("Numero").append(CSV_SEPARATOR)
-           .append("Cliente").append(CSV_SEPARATOR)
-           .append("CPF").append(CSV_SEPARATOR)
-           .append("Saldo").append(CSV_SEPARATOR)
-           .append("Ativa").append(CSV_SEPARATOR)
-           .append("Data Criacao")
-           .append("\n");
-        
-        String dadosCsv = contas.stream()
-            .map(this::contaParaCsv)
-            .collect(Collectors.joining("\n"));
-        
-        csv.append(dadosCsv);
-        
+        StringWriter csv = new StringWriter();
+        escreverContas(contas.stream(), csv);
         return csv.toString();
     }
     
+    /**
+     * Escreve as contas no writer à medida que o stream é consumido, sem acumular o arquivo.
+     */
+    public void escreverContas(Stream<ContaBancaria> contas, Writer writer) {
+        try {
+            writer.write(String.join(CSV_SEPARATOR, "ID", "Numero", "Cliente", "CPF", "Saldo", "Ativa", "Data Criacao"));
+            writer.write("\n");
+            
+            Iterator<ContaBancaria> iterator = contas.iterator();
+            while (iterator.hasNext()) {
+                writer.write(contaParaCsv(iterator.next()));
+                if (iterator.hasNext()) {
+                    writer.write("\n");
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao escrever CSV de contas", e);
+        }
+    }
+    
+    /**
+     * Formato do endpoint de exportação: contas ativas, uma por linha.
+     */
+    public void escreverContasAtivas(Stream<ContaExportacao> contas, Writer writer) {
+        try {
+            writer.write("ID,Numero,Saldo,Cliente,CPF,Data Criacao\n");
+            
+            Iterator<ContaExportacao> iterator = contas.iterator();
+            while (iterator.hasNext()) {
+                ContaExportacao conta = iterator.next();
+                writer.write(String.valueOf(conta.id()));
+                writer.write(CSV_SEPARATOR);
+                writer.write(escapeCsv(conta.numero()));
+                writer.write(CSV_SEPARATOR);
+                writer.write(String.valueOf(conta.saldo()));
+                writer.write(CSV_SEPARATOR);
+                writer.write(escapeCsv(conta.nomeCliente()));
+                writer.write(CSV_SEPARATOR);
+                writer.write(escapeCsv(conta.cpfCliente()));
+                writer.write(CSV_SEPARATOR);
+                writer.write(String.valueOf(conta.dataCriacao()));
+                writer.write("\n");
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao escrever CSV de contas", e);
+        }
+    }
+    
     private String contaParaCsv(ContaBancaria conta) {
         return String.format("%d%s%s%s%s%s%s%s%.2f%s%s%s%s",
                 conta.getId(), CSV_SEPARATOR,
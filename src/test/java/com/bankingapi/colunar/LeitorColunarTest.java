@@ -0,0 +1,215 @@
+package com.bankingapi.colunar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Ida e volta do formato {@code .bktx}: o que o {@link EscritorColunar} grava é o que o
+ * {@link LeitorColunar} devolve, com as estatísticas do rodapé batendo com os dados de cada grupo.
+ */
+class LeitorColunarTest {
+
+    private static final List<String> TIPOS = List.of("DEPOSITO", "SAQUE", "TRANSFERENCIA", "PIX");
+    private static final int DEPOSITO = 0, SAQUE = 1, TRANSFERENCIA = 2, PIX = 3;
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 3, 1, 10, 0, 0, 123_456_000);
+
+    private record Linha(long id, LocalDateTime data, int tipo, long valor, long origem, long destino, String descricao) {}
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void leDeVoltaTodasAsLinhasEmGruposComOUltimoMenor() throws IOException {
+        // Ids e datas fora de ordem geram deltas negativos; valores negativos, contas e descrições ausentes
+        List<Linha> linhas = List.of(
+                new Linha(100, INICIO, DEPOSITO, 1_000_00, FormatoColunar.SEM_CONTA, 7, "Depósito inicial"),
+                new Linha(40, INICIO.minusDays(3), SAQUE, 250, 7, FormatoColunar.SEM_CONTA, null),
+                new Linha(41, INICIO.minusDays(3).plusNanos(1_000), TRANSFERENCIA, 5_00, 7, 8, "Aluguel"),
+                new Linha(Long.MAX_VALUE, INICIO.plusYears(1), TRANSFERENCIA, -3_00, 8, 7, "Estorno"),
+                new Linha(1, INICIO.minusYears(30), DEPOSITO, 0, FormatoColunar.SEM_CONTA, 9, "Aluguel"),
+                new Linha(2, INICIO, SAQUE, -1, 9, FormatoColunar.SEM_CONTA, ""),
+                new Linha(3, INICIO, DEPOSITO, Long.MAX_VALUE / 4, FormatoColunar.SEM_CONTA, 9, "Aluguel"),
+                new Linha(4, INICIO.plusSeconds(1), SAQUE, 1, 9, FormatoColunar.SEM_CONTA, "ção ✓"),
+                new Linha(999_999_999_999L, INICIO.plusSeconds(2), DEPOSITO, 10, FormatoColunar.SEM_CONTA, 10, null),
+                new Linha(5, INICIO.plusSeconds(3), TRANSFERENCIA, 20, 10, 9, "Aluguel"));
+        Path arquivo = escrever(TIPOS, 4, linhas);
+
+        try (LeitorColunar leitor = LeitorColunar.abrir(arquivo)) {
+            assertThat(leitor.tipos()).isEqualTo(TIPOS);
+            assertThat(leitor.linhasPorGrupo()).isEqualTo(4);
+            assertThat(leitor.linhas()).isEqualTo(linhas.size());
+            assertThat(leitor.grupos()).extracting(GrupoLinhas::linhas).containsExactly(4, 4, 2);
+            assertThat(lerTudo(leitor)).isEqualTo(linhas);
+
+            for (GrupoLinhas grupo : leitor.grupos()) {
+                List<Linha> doGrupo = linhas.subList(grupo.indice() * 4, grupo.indice() * 4 + grupo.linhas());
+                assertThat(grupo.idMinimo()).isEqualTo(doGrupo.stream().mapToLong(Linha::id).min().getAsLong());
+                assertThat(grupo.idMaximo()).isEqualTo(doGrupo.stream().mapToLong(Linha::id).max().getAsLong());
+                assertThat(grupo.valorMinimo()).isEqualTo(doGrupo.stream().mapToLong(Linha::valor).min().getAsLong());
+                assertThat(grupo.valorMaximo()).isEqualTo(doGrupo.stream().mapToLong(Linha::valor).max().getAsLong());
+                assertThat(FormatoColunar.deMicros(grupo.dataMinima()))
+                        .isEqualTo(doGrupo.stream().map(Linha::data).min(LocalDateTime::compareTo).get());
+                assertThat(FormatoColunar.deMicros(grupo.dataMaxima()))
+                        .isEqualTo(doGrupo.stream().map(Linha::data).max(LocalDateTime::compareTo).get());
+            }
+        }
+    }
+
+    @Test
+    void pulaGruposPelasEstatisticasDoRodape() throws IOException {
+        // Grupo 0: depósitos de janeiro; grupo 1: PIX de fevereiro; grupo 2 (curto): saques de março
+        List<Linha> linhas = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            linhas.add(new Linha(i + 1, LocalDateTime.of(2024, 1, 10 + i, 0, 0), DEPOSITO, 100, 0, 1, null));
+        }
+        for (int i = 0; i < 3; i++) {
+            linhas.add(new Linha(i + 4, LocalDateTime.of(2024, 2, 10 + i, 0, 0), PIX, 1_000 + i, 1, 2, "Pix"));
+        }
+        linhas.add(new Linha(7, LocalDateTime.of(2024, 3, 10, 0, 0), SAQUE, 50, 2, 0, null));
+        Path arquivo = escrever(TIPOS, 3, linhas);
+
+        try (LeitorColunar leitor = LeitorColunar.abrir(arquivo)) {
+            int pix = leitor.codigoTipo("PIX");
+            assertThat(leitor.codigoTipo("BOLETO")).isEqualTo(-1);
+            assertThat(leitor.grupos()).filteredOn(grupo -> grupo.contemTipo(pix))
+                    .extracting(GrupoLinhas::indice).containsExactly(1);
+            assertThat(leitor.grupos()).filteredOn(grupo -> grupo.contemTipo(SAQUE))
+                    .extracting(GrupoLinhas::indice).containsExactly(2);
+            assertThat(leitor.grupos()).filteredOn(grupo -> grupo.intersectaDatas(
+                    LocalDateTime.of(2024, 2, 11, 0, 0), LocalDateTime.of(2024, 3, 10, 0, 0)))
+                    .extracting(GrupoLinhas::indice).containsExactly(1);
+            assertThat(leitor.grupos()).filteredOn(grupo -> grupo.intersectaDatas(
+                    LocalDateTime.of(2024, 3, 10, 0, 0), LocalDateTime.of(2024, 4, 1, 0, 0)))
+                    .extracting(GrupoLinhas::indice).containsExactly(2);
+
+            long totalPulando = 0;
+            for (GrupoLinhas grupo : leitor.grupos()) {
+                if (!grupo.contemTipo(pix)) {
+                    continue;
+                }
+                VarreduraColunar varredura = leitor.varrer(grupo);
+                while (varredura.proxima()) {
+                    if (varredura.codigoTipo() == pix) {
+                        totalPulando += varredura.valorCentavos();
+                    }
+                }
+            }
+            assertThat(totalPulando).isEqualTo(3_003);
+        }
+    }
+
+    @Test
+    void colunasLidasSoEmAlgumasLinhasContinuamAlinhadas() throws IOException {
+        List<Linha> linhas = IntStream.range(0, 10)
+                .mapToObj(i -> new Linha(10 - i, INICIO.minusMinutes(i), i % 2 == 0 ? PIX : SAQUE, -i * 1_000L,
+                        i % 3 == 0 ? 0 : i, i, i % 4 == 0 ? null : "Linha " + i))
+                .toList();
+        Path arquivo = escrever(TIPOS, 10, linhas);
+
+        try (LeitorColunar leitor = LeitorColunar.abrir(arquivo)) {
+            VarreduraColunar varredura = leitor.varrer(leitor.grupos().get(0));
+            int linha = 0;
+            while (varredura.proxima()) {
+                if (linha % 3 == 2) {
+                    Linha esperada = linhas.get(linha);
+                    assertThat(varredura.id()).isEqualTo(esperada.id());
+                    assertThat(varredura.data()).isEqualTo(esperada.data());
+                    assertThat(varredura.valorCentavos()).isEqualTo(esperada.valor());
+                    assertThat(varredura.contaOrigemId()).isEqualTo(esperada.origem());
+                    assertThat(varredura.descricao()).isEqualTo(esperada.descricao());
+                }
+                linha++;
+            }
+            assertThat(linha).isEqualTo(10);
+        }
+    }
+
+    @Test
+    void mascaraDeTiposComportaSessentaEQuatroCodigos() throws IOException {
+        List<String> tipos = IntStream.range(0, FormatoColunar.MAXIMO_TIPOS).mapToObj(i -> "T" + i).toList();
+        List<Linha> linhas = List.of(
+                new Linha(1, INICIO, 63, 1, 0, 1, null),
+                new Linha(2, INICIO, 62, 2, 0, 1, null),
+                new Linha(3, INICIO, 0, 3, 0, 1, null));
+        Path arquivo = escrever(tipos, 2, linhas);
+
+        try (LeitorColunar leitor = LeitorColunar.abrir(arquivo)) {
+            assertThat(leitor.tipos()).hasSize(FormatoColunar.MAXIMO_TIPOS);
+            GrupoLinhas primeiro = leitor.grupos().get(0);
+            assertThat(primeiro.contemTipo(63)).isTrue();
+            assertThat(primeiro.contemTipo(62)).isTrue();
+            assertThat(primeiro.contemTipo(0)).isFalse();
+            assertThat(leitor.grupos().get(1).mascaraTipos()).isEqualTo(1L);
+            assertThat(lerTudo(leitor)).isEqualTo(linhas);
+            VarreduraColunar varredura = leitor.varrer(primeiro);
+            varredura.proxima();
+            assertThat(varredura.tipo()).isEqualTo("T63");
+        }
+
+        List<String> demais = IntStream.rangeClosed(0, FormatoColunar.MAXIMO_TIPOS).mapToObj(i -> "T" + i).toList();
+        assertThatThrownBy(() -> new EscritorColunar(OutputStream.nullOutputStream(), demais, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        EscritorColunar escritor = new EscritorColunar(OutputStream.nullOutputStream(), TIPOS, 10);
+        assertThatThrownBy(() -> escritor.escrever(1, INICIO, TIPOS.size(), 1, 0, 1, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void arquivoSemLinhasTemCabecalhoERodapeVazio() throws IOException {
+        Path arquivo = escrever(TIPOS, 8, List.of());
+
+        try (LeitorColunar leitor = LeitorColunar.abrir(arquivo)) {
+            assertThat(leitor.tipos()).isEqualTo(TIPOS);
+            assertThat(leitor.grupos()).isEmpty();
+            assertThat(leitor.linhas()).isZero();
+        }
+    }
+
+    @Test
+    void recusaArquivoQueNaoEColunar() throws IOException {
+        Path arquivo = diretorio.resolve("outro.bktx");
+        Files.write(arquivo, new byte[64]);
+
+        assertThatThrownBy(() -> LeitorColunar.abrir(arquivo)).isInstanceOf(IOException.class);
+    }
+
+    private Path escrever(List<String> tipos, int linhasPorGrupo, List<Linha> linhas) throws IOException {
+        Path arquivo = diretorio.resolve("transacoes.bktx");
+        try (OutputStream saida = Files.newOutputStream(arquivo)) {
+            EscritorColunar escritor = new EscritorColunar(saida, tipos, linhasPorGrupo);
+            for (Linha linha : linhas) {
+                escritor.escrever(linha.id(), linha.data(), linha.tipo(), linha.valor(),
+                        linha.origem(), linha.destino(), linha.descricao());
+            }
+            assertThat(escritor.finalizar()).isEqualTo(linhas.size());
+            assertThat(escritor.getBytesEscritos()).isEqualTo(Files.size(arquivo));
+        }
+        return arquivo;
+    }
+
+    private List<Linha> lerTudo(LeitorColunar leitor) throws IOException {
+        List<Linha> lidas = new ArrayList<>();
+        for (GrupoLinhas grupo : leitor.grupos()) {
+            VarreduraColunar varredura = leitor.varrer(grupo);
+            assertThat(varredura.linhas()).isEqualTo(grupo.linhas());
+            while (varredura.proxima()) {
+                lidas.add(new Linha(varredura.id(), varredura.data(), varredura.codigoTipo(), varredura.valorCentavos(),
+                        varredura.contaOrigemId(), varredura.contaDestinoId(), varredura.descricao()));
+            }
+            assertThat(varredura.proxima()).isFalse();
+        }
+        return lidas;
+    }
+}
@@ -0,0 +1,114 @@
+package com.bankingapi.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.bankingapi.dto.ContaBancariaRequestDTO;
+import com.bankingapi.dto.TransacaoRequestDTO;
+import com.bankingapi.metricas.ContagemConsultas;
+import com.bankingapi.service.ContaService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Histórico e extrato executam uma quantidade fixa de statements, qualquer que seja o número de
+ * transações da conta: a contagem com poucas e com muitas transações tem de ser a mesma e caber
+ * no {@code @MaximoConsultas} do endpoint. Com {@code falhar-acima-do-maximo} ligado, o próprio
+ * filtro também falha a requisição que passar do limite.
+ */
+@SpringBootTest(properties = "banking.consultas.falhar-acima-do-maximo=true")
+@AutoConfigureMockMvc
+class ContaControllerConsultasTest {
+
+    private static final int POUCAS = 5;
+    private static final int MUITAS = 300;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static int contas;
+
+    private Long contaId;
+
+    @BeforeEach
+    void criarConta() {
+        contas++;
+        String cpf = String.format("%011d", 90_000_000_000L + contas);
+        contaId = contaService.criarConta(
+                new ContaBancariaRequestDTO("Cliente " + contas, cpf, new BigDecimal("1000.00"))).getId();
+    }
+
+    @Test
+    void historicoNaoCresceComAsTransacoes() throws Exception {
+        String url = "/api/contas/" + contaId + "/historico?limit=50";
+        depositar(POUCAS);
+        requisitar(url);
+        long comPoucas = contar(url);
+
+        depositar(MUITAS - POUCAS);
+        long comMuitas = contar(url);
+        String cursor = json(requisitar(url)).get("nextCursor").asText();
+        long segundaPagina = contar(url + "&cursor=" + cursor);
+
+        assertThat(comPoucas).isPositive();
+        assertThat(comMuitas).isEqualTo(comPoucas).isLessThanOrEqualTo(2);
+        assertThat(segundaPagina).isEqualTo(comPoucas);
+    }
+
+    @Test
+    void extratoNaoCresceComAsTransacoes() throws Exception {
+        String url = "/api/contas/" + contaId + "/extrato?competencia=" + YearMonth.now();
+        depositar(POUCAS);
+        requisitar(url);
+        long comPoucas = contar(url);
+
+        depositar(MUITAS - POUCAS);
+        long comMuitas = contar(url);
+
+        assertThat(comPoucas).isPositive();
+        assertThat(comMuitas).isEqualTo(comPoucas).isLessThanOrEqualTo(3);
+        assertThat(json(requisitar(url)).get("totais")).isNotEmpty();
+    }
+
+    private void depositar(int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            contaService.depositar(contaId, new TransacaoRequestDTO(BigDecimal.ONE, "Depósito " + i));
+        }
+    }
+
+    private long contar(String url) {
+        return ContagemConsultas.contar(() -> {
+            try {
+                requisitar(url);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private MvcResult requisitar(String url) throws Exception {
+        return mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn();
+    }
+
+    private JsonNode json(MvcResult resultado) throws Exception {
+        return objectMapper.readTree(resultado.getResponse().getContentAsString());
+    }
+}
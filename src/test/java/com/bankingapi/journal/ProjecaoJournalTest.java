@@ -0,0 +1,225 @@
+package com.bankingapi.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bankingapi.dto.ContaBancariaRequestDTO;
+import com.bankingapi.enums.TipoTransacao;
+import com.bankingapi.repository.FaixaJournal;
+import com.bankingapi.repository.RegistroTransacao;
+import com.bankingapi.repository.TransacaoJdbcRepository;
+import com.bankingapi.service.ContaService;
+import com.bankingapi.service.RegistradorTransacoes;
+
+/**
+ * Recuperação do journal: só faixas em {@code journal_confirmacoes} chegam a {@code transacoes},
+ * o replay completo é repetível, e um registro rasgado na cauda de um segmento encerra o journal
+ * na reabertura, descartando o que vier depois dele.
+ * <p>
+ * A thread de projeção é parada antes de cada teste; a projeção roda só via
+ * {@link ProjecaoJournal#reconstruir(boolean)}, o mesmo caminho do {@code --journal-replay}.
+ * O teste da cauda rasgada reabre o diretório em outra instância do journal, que passa a ser
+ * a única a escrever nele; por isso roda por último.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:journaltest",
+        "banking.journal.habilitado=true",
+        "banking.journal.tamanho-segmento-mb=1"
+})
+@DirtiesContext
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ProjecaoJournalTest {
+
+    private static final Path DIRETORIO = criarDiretorio();
+
+    private static final String PROJETADAS = "SELECT journal_seq, descricao FROM transacoes "
+            + "WHERE journal_seq > ? ORDER BY journal_seq";
+
+    @DynamicPropertySource
+    static void journal(DynamicPropertyRegistry registry) {
+        registry.add("banking.journal.diretorio", DIRETORIO::toString);
+    }
+
+    @Autowired
+    private TransacaoJournal journal;
+
+    @Autowired
+    private ProjecaoJournal projecaoJournal;
+
+    @Autowired
+    private RegistradorTransacoes registradorTransacoes;
+
+    @Autowired
+    private TransacaoJdbcRepository transacaoJdbcRepository;
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static int contas;
+
+    private Long contaId;
+
+    @BeforeEach
+    void pararProjecaoECriarConta() throws InterruptedException {
+        projecaoJournal.parar();
+        contas++;
+        contaId = contaService.criarConta(new ContaBancariaRequestDTO(
+                "Cliente " + contas, String.format("%011d", 80_000_000_000L + contas), BigDecimal.ZERO)).getId();
+    }
+
+    @Test
+    @Order(1)
+    void projetaSoFaixasConfirmadasEOReplayCompletoSeRepete() {
+        long antes = journal.getUltimaDuravel();
+        registrar(true, "A1", "A2");
+        registrar(false, "B1");
+        registrar(true, "C1", "C2");
+        assertThat(journal.getUltimaDuravel()).isEqualTo(antes + 5);
+
+        projecaoJournal.reconstruir(false);
+        assertThat(projetadas(antes)).containsExactly(
+                Map.entry(antes + 1, "A1"), Map.entry(antes + 2, "A2"),
+                Map.entry(antes + 4, "C1"), Map.entry(antes + 5, "C2"));
+
+        List<Map<String, Object>> projecao = linhasDoJournal();
+        projecaoJournal.reconstruir(true);
+        assertThat(linhasDoJournal()).isEqualTo(projecao);
+        projecaoJournal.reconstruir(true);
+        assertThat(linhasDoJournal()).isEqualTo(projecao);
+        assertThat(projecaoJournal.reconstruir(false)).isZero();
+        assertThat(linhasDoJournal()).isEqualTo(projecao);
+    }
+
+    @Test
+    @Order(2)
+    void registroRasgadoNaCaudaEncerraOJournalNaReabertura() throws Exception {
+        long antes = journal.getUltimaDuravel();
+        registrar(true, "D1", "D2");
+        registrar(false, "E1", "E2");
+
+        // Só a primeira metade de E1 chegou ao disco; E2, depois dele, é íntegro mas inalcançável
+        rasgar(antes + 3);
+
+        TransacaoJournal reaberto = reabrir();
+        try {
+            assertThat(reaberto.getUltimaDuravel()).isEqualTo(antes + 2);
+            assertThat(reaberto.lerDuraveis(antes + 3, 10)).isEmpty();
+
+            ReflectionTestUtils.setField(projecaoJournal, "journal", reaberto);
+            projecaoJournal.reconstruir(true);
+            assertThat(projetadas(antes)).containsExactly(Map.entry(antes + 1, "D1"), Map.entry(antes + 2, "D2"));
+
+            // A próxima escrita ocupa a posição do registro rasgado
+            FaixaJournal faixa = reaberto.registrarTodos(List.of(deposito("F1")));
+            transacaoJdbcRepository.confirmarFaixaJournal(faixa);
+            reaberto.concluir(faixa);
+            assertThat(faixa.primeira()).isEqualTo(antes + 3);
+
+            projecaoJournal.reconstruir(false);
+            assertThat(projetadas(antes)).containsExactly(
+                    Map.entry(antes + 1, "D1"), Map.entry(antes + 2, "D2"), Map.entry(antes + 3, "F1"));
+            List<Map<String, Object>> projecao = linhasDoJournal();
+            projecaoJournal.reconstruir(true);
+            assertThat(linhasDoJournal()).isEqualTo(projecao);
+        } finally {
+            ReflectionTestUtils.setField(projecaoJournal, "journal", journal);
+            reaberto.fechar();
+        }
+    }
+
+    // Sem confirmar, o commit falha depois que o journal já recebeu a faixa
+    private void registrar(boolean confirmar, String... descricoes) {
+        List<RegistroTransacao> registros = Arrays.stream(descricoes).map(this::deposito).toList();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                registradorTransacoes.registrarRegistros(registros);
+                if (!confirmar) {
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void beforeCommit(boolean readOnly) {
+                            throw new IllegalStateException("Commit recusado");
+                        }
+                    });
+                }
+            });
+        } catch (IllegalStateException e) {
+            if (confirmar) {
+                throw e;
+            }
+        }
+    }
+
+    private RegistroTransacao deposito(String descricao) {
+        return new RegistroTransacao(null, contaId, TipoTransacao.DEPOSITO, BigDecimal.ONE, LocalDateTime.now(), descricao);
+    }
+
+    private void rasgar(long sequencia) throws IOException {
+        Path segmento = SegmentoJournal.arquivo(DIRETORIO, 0, "dat");
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.WRITE)) {
+            ByteBuffer zeros = ByteBuffer.allocate(RegistroJournal.TAMANHO / 2);
+            canal.write(zeros, (sequencia - 1) * RegistroJournal.TAMANHO + RegistroJournal.TAMANHO / 2);
+            canal.force(false);
+        }
+    }
+
+    private TransacaoJournal reabrir() throws IOException {
+        TransacaoJournal reaberto = new TransacaoJournal();
+        ReflectionTestUtils.setField(reaberto, "diretorio", DIRETORIO.toString());
+        ReflectionTestUtils.setField(reaberto, "tamanhoSegmentoMb", 1);
+        ReflectionTestUtils.setField(reaberto, "groupCommitMillis", 2L);
+        reaberto.abrir();
+        return reaberto;
+    }
+
+    private List<Map.Entry<Long, String>> projetadas(long depoisDe) {
+        return jdbcTemplate.query(PROJETADAS, (rs, i) -> Map.entry(rs.getLong(1), rs.getString(2)), depoisDe);
+    }
+
+    private List<Map<String, Object>> linhasDoJournal() {
+        return jdbcTemplate.queryForList("SELECT journal_seq, conta_origem_id, conta_destino_id, tipo, valor, "
+                + "data_transacao, descricao FROM transacoes WHERE journal_seq IS NOT NULL ORDER BY journal_seq");
+    }
+
+    private static Path criarDiretorio() {
+        try {
+            return Files.createTempDirectory("journal-test");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}